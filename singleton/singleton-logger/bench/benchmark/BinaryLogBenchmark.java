@@ -0,0 +1,97 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.Logger;
+import util.LoggerHelper;
+import util.logging.BinaryLogAppender;
+import util.logging.JsonLogAppender;
+import util.logging.LogAppender;
+import util.logging.RollingFileAppender;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Costo por evento de {@code LoggerHelper.createStudent} a través del Logger (modo síncrono, sin consola)
+ * escribiendo texto con {@link RollingFileAppender}, registros binarios con {@link BinaryLogAppender}
+ * o líneas JSON con {@link JsonLogAppender}.
+ * Al final de cada iteración se imprime la cantidad de bytes escritos por evento.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryLogBenchmark {
+
+    @Param({"text", "binary", "json"})
+    private String format;
+
+    private Logger logger;
+    private Path directory;
+    private LogAppender appender;
+    private long events;
+
+    private String firstName = "María José";
+    private String lastName = "Peña";
+    private String email = "maria.pena@example.com";
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        logger = Logger.getInstance();
+        logger.setConsoleOutput(false);
+        directory = Files.createTempDirectory("logger-bench");
+        if ("binary".equals(format)) {
+            appender = BinaryLogAppender.builder().directory(directory).baseName("bench").build();
+        } else if ("json".equals(format)) {
+            appender = JsonLogAppender.builder().file(directory.resolve("bench.jsonl")).build();
+        } else {
+            appender = RollingFileAppender.builder()
+                    .directory(directory)
+                    .baseName("bench")
+                    .maxFileSize(Long.MAX_VALUE)
+                    .compress(false)
+                    .build();
+        }
+        logger.addAppender(appender);
+        events = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        logger.removeAppender(appender);
+        appender.close();
+        long bytes = 0;
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                bytes += Files.size(path);
+            }
+        }
+        System.out.printf("%n%s: %.1f bytes/event%n", format, events == 0 ? 0.0 : (double) bytes / events);
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void createStudent() {
+        LoggerHelper.createStudent(firstName, lastName, email);
+        events++;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BinaryLogBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
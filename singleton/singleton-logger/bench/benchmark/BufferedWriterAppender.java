@@ -0,0 +1,51 @@
+package benchmark;
+
+import util.logging.LogAppender;
+import util.logging.LogEvent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Appender de referencia basado en {@link BufferedWriter}, usado como línea base
+ * para comparar contra {@link util.logging.MappedFileAppender}.
+ */
+public final class BufferedWriterAppender implements LogAppender {
+
+    private final BufferedWriter writer;
+
+    public BufferedWriterAppender(Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void append(LogEvent event, CharSequence line) {
+        try {
+            writer.append(line).append('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
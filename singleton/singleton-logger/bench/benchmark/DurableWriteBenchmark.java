@@ -0,0 +1,141 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.Logger;
+import util.LoggerHelper;
+import util.logging.DurableLogAppender;
+import util.logging.LogAppender;
+import util.logging.LogEvent;
+import util.logging.Utf8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Throughput de escrituras confirmadas en disco ({@code LoggerHelper.errorCreationFailed}, que espera
+ * {@link Logger#awaitDurable()}): un fsync por registro contra {@link DurableLogAppender}, que agrupa
+ * los fsync de todos los hilos que esperan a la vez. Usar {@code -t} para elegir la cantidad de hilos;
+ * {@link #main} recorre de 1 a 64. Al final de cada prueba se imprime el tamaño medio de los grupos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class DurableWriteBenchmark {
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+
+    @Param({"perRecord", "groupCommit"})
+    private String mode;
+
+    private Logger logger;
+    private Path directory;
+    private LogAppender appender;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        NullConsole.install();
+        logger = Logger.getInstance();
+        logger.setConsoleOutput(false);
+        directory = Files.createTempDirectory("logger-bench");
+        Path file = directory.resolve("audit.log");
+        if ("groupCommit".equals(mode)) {
+            appender = DurableLogAppender.builder().file(file).build();
+        } else {
+            appender = new FsyncPerRecordAppender(file);
+        }
+        logger.addAppender(appender);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        logger.removeAppender(appender);
+        appender.close();
+        logger.setConsoleOutput(true);
+        NullConsole.restore();
+        if (appender instanceof DurableLogAppender) {
+            DurableLogAppender durable = (DurableLogAppender) appender;
+            System.out.printf("%ngroupCommit: %d fsyncs, %.1f records per fsync%n", durable.getSyncCount(),
+                    durable.getSyncCount() == 0 ? 0.0 : (double) durable.getCommittedRequests() / durable.getSyncCount());
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void durableError() {
+        LoggerHelper.errorCreationFailed("Student", "duplicate email");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(DurableWriteBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+    /**
+     * Línea base: escribe y hace fsync en cada registro, bajo el monitor del appender.
+     */
+    static final class FsyncPerRecordAppender implements LogAppender {
+
+        private final FileChannel channel;
+        private byte[] scratch = new byte[512];
+
+        FsyncPerRecordAppender(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+
+        @Override
+        public synchronized void append(LogEvent event, CharSequence line) {
+            try {
+                int required = Utf8.maxEncodedLength(line) + 1;
+                if (scratch.length < required) {
+                    scratch = new byte[required * 2];
+                }
+                int length = Utf8.encode(line, scratch, 0, scratch.length);
+                scratch[length++] = '\n';
+                channel.write(ByteBuffer.wrap(scratch, 0, length));
+                channel.force(false);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public boolean isDurable() {
+            return true;
+        }
+
+        @Override
+        public boolean awaitDurable() {
+            return true;
+        }
+
+        @Override
+        public synchronized void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("FsyncPerRecordAppender: error closing: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package benchmark;
+
+import domain.entity.Student;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.Logger;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino completo de alta de una entidad: {@code new Student(...)} obtiene su id de
+ * {@code IdGenerator} y registra la operación con {@code LoggerHelper} (Logger síncrono,
+ * consola descartada).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCreationBenchmark {
+
+    private String firstName = "María José";
+    private String lastName = "Peña";
+    private String email = "maria.pena@example.com";
+    private String personalId = "ID-123456";
+    private LocalDate enrollmentDate = LocalDate.of(2024, 3, 1);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NullConsole.install();
+        Logger.getInstance();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        NullConsole.restore();
+    }
+
+    @Benchmark
+    public Student newStudent() {
+        return new Student(firstName, lastName, email, personalId, enrollmentDate);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EntityCreationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
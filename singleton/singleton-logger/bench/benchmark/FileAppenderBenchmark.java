@@ -0,0 +1,75 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.logging.LogAppender;
+import util.logging.LogEvent;
+import util.logging.MappedFileAppender;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Throughput de escritura por registro: {@link MappedFileAppender} contra un appender
+ * basado en {@link java.io.BufferedWriter}. Cada iteración escribe en un directorio temporal
+ * nuevo que se borra al terminar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileAppenderBenchmark {
+
+    private static final String LINE =
+            "[2024-05-10 14:32:07] [INFO] Student created: María José Peña (Email: maria.pena@example.com)";
+
+    @Param({"mapped", "buffered"})
+    private String appenderType;
+
+    private Path directory;
+    private LogAppender appender;
+    private final LogEvent event = new LogEvent();
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("logger-bench");
+        if ("mapped".equals(appenderType)) {
+            appender = MappedFileAppender.builder()
+                    .directory(directory)
+                    .baseName("bench")
+                    .segmentSize(256 * 1024 * 1024)
+                    .build();
+        } else {
+            appender = new BufferedWriterAppender(directory.resolve("bench.log"));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        appender.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void append() {
+        appender.append(event, LINE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FileAppenderBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
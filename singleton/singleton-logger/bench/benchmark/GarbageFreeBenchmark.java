@@ -0,0 +1,92 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.Logger;
+import util.LoggerHelper;
+import util.logging.RollingFileAppender;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Asignación por llamada del Logger en modo síncrono, escribiendo en consola (descartada) y en un
+ * {@link RollingFileAppender}, con y sin {@link Logger#setGarbageFree(boolean)}.
+ * Ejecutar con {@code -prof gc}: en modo sin basura {@code gc.alloc.rate.norm} debe ser ~0 B/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GarbageFreeBenchmark {
+
+    @Param({"false", "true"})
+    private boolean garbageFree;
+
+    private Logger logger;
+    private Path directory;
+    private RollingFileAppender appender;
+
+    private String firstName = "María José";
+    private String lastName = "Peña";
+    private String email = "maria.pena@example.com";
+    private Integer credits = 6;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        NullConsole.install();
+        logger = Logger.getInstance();
+        logger.setGarbageFree(garbageFree);
+        directory = Files.createTempDirectory("logger-bench");
+        appender = RollingFileAppender.builder()
+                .directory(directory)
+                .baseName("bench")
+                .maxFileSize(Long.MAX_VALUE)
+                .compress(false)
+                .build();
+        logger.addAppender(appender);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        logger.removeAppender(appender);
+        appender.close();
+        logger.setGarbageFree(false);
+        NullConsole.restore();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void createStudent() {
+        LoggerHelper.createStudent(firstName, lastName, email);
+    }
+
+    @Benchmark
+    public void literal() {
+        logger.info("Subject catalog reloaded");
+    }
+
+    @Benchmark
+    public void integerArgument() {
+        logger.warn("Invalid credits for {}: {}", firstName, credits);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GarbageFreeBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,52 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de {@link Logger#getInstance()} con la instancia ya creada, con uno o muchos hilos
+ * compitiendo por el acceso. Usar {@code -t} para elegir la cantidad de hilos; {@link #main}
+ * recorre 1, 4, 16 y 64.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetInstanceBenchmark {
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NullConsole.install();
+        Logger.getInstance();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        NullConsole.restore();
+    }
+
+    @Benchmark
+    public Logger getInstance() {
+        return Logger.getInstance();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(GetInstanceBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
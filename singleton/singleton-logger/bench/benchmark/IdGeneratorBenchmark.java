@@ -0,0 +1,99 @@
+package benchmark;
+
+import domain.entity.Student;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.IdGenerator;
+import util.IdGenerator.AllocationMode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput de {@link IdGenerator#generateId} con todos los hilos pidiendo IDs del mismo tipo
+ * ({@link Student}), como en una importación masiva. {@code mode}:
+ * <ul>
+ *     <li>{@code legacy}: la implementación anterior, {@code computeIfAbsent(getSimpleName())} e
+ *     {@code incrementAndGet} en cada llamada, copiada acá como referencia</li>
+ *     <li>{@code shared}: {@link AllocationMode#SHARED_COUNTER}</li>
+ *     <li>{@code blocks}: {@link AllocationMode#THREAD_LOCAL_BLOCKS}</li>
+ *     <li>{@code timeOrdered}: IDs ordenados por tiempo ({@link IdGenerator#useTimeOrderedIds}); el
+ *     registro no se puede deshacer, pero cada parámetro corre en su propio fork</li>
+ *     <li>{@code persisted}: contador compartido con {@link IdGenerator#enablePersistence}, un
+ *     {@code force()} cada {@value IdGenerator#DEFAULT_LEASE_SIZE} IDs</li>
+ * </ul>
+ * Usar {@code -t} para elegir la cantidad de hilos; {@link #main} recorre 1, 4, 16, 32 y 64.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private static final int[] THREADS = {1, 4, 16, 32, 64};
+
+    private static final ConcurrentHashMap<String, AtomicLong> legacyCounters = new ConcurrentHashMap<>();
+
+    @Param({"legacy", "shared", "blocks", "timeOrdered", "persisted"})
+    public String mode;
+
+    private boolean legacy;
+    private Path highWaterMarks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        legacy = "legacy".equals(mode);
+        IdGenerator.setAllocationMode("blocks".equals(mode)
+                ? AllocationMode.THREAD_LOCAL_BLOCKS
+                : AllocationMode.SHARED_COUNTER);
+        if ("timeOrdered".equals(mode)) {
+            IdGenerator.useTimeOrderedIds(Student.class);
+        }
+        if ("persisted".equals(mode)) {
+            highWaterMarks = Files.createTempDirectory("logger-bench").resolve("ids.hwm");
+            IdGenerator.enablePersistence(highWaterMarks);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        IdGenerator.setAllocationMode(AllocationMode.SHARED_COUNTER);
+        if (highWaterMarks != null) {
+            highWaterMarks.toFile().delete();
+            highWaterMarks.getParent().toFile().delete();
+        }
+    }
+
+    @Benchmark
+    public long generateId() {
+        if (legacy) {
+            return legacyGenerateId(Student.class);
+        }
+        return IdGenerator.generateId(Student.class);
+    }
+
+    private static long legacyGenerateId(Class<?> entityClass) {
+        return legacyCounters
+                .computeIfAbsent(entityClass.getSimpleName(), k -> new AtomicLong(0))
+                .incrementAndGet();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(IdGeneratorBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
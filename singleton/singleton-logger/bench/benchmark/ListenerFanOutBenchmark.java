@@ -0,0 +1,73 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.Logger;
+import util.Logger.LogListener;
+import util.logging.ListenerSubscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo para quien loguea de notificar a 0, 1 o 10 listeners (con su cola y política por defecto).
+ * Los listeners no hacen nada; al final se imprime cuántos mensajes descartaron sus colas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerFanOutBenchmark {
+
+    @Param({"0", "1", "10"})
+    private int listenerCount;
+
+    private Logger logger;
+    private final List<LogListener> listeners = new ArrayList<>();
+    private final List<ListenerSubscription> subscriptions = new ArrayList<>();
+
+    private String name = "María José Peña";
+    private String email = "maria.pena@example.com";
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NullConsole.install();
+        logger = Logger.getInstance();
+        for (int i = 0; i < listenerCount; i++) {
+            LogListener listener = (message, level) -> { };
+            listeners.add(listener);
+            subscriptions.add(logger.addLogListener(listener));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long dropped = 0;
+        for (ListenerSubscription subscription : subscriptions) {
+            dropped += subscription.getDropped();
+        }
+        for (LogListener listener : listeners) {
+            logger.removeLogListener(listener);
+        }
+        NullConsole.restore();
+        System.out.printf("%n%d listeners: %d messages dropped%n", listenerCount, dropped);
+    }
+
+    @Benchmark
+    public void info() {
+        logger.info("Student created: {} (Email: {})", name, email);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ListenerFanOutBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
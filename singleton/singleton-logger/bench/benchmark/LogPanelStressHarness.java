@@ -0,0 +1,134 @@
+package benchmark;
+
+import ui.panels.LogPanel;
+import util.Logger.LogLevel;
+
+import javax.swing.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inunda un {@link LogPanel} con 10k, 100k y 1M mensajes y mide la latencia del EDT:
+ * cada milisegundo se encola una sonda con {@code invokeLater} y se registra cuánto tarda
+ * en ejecutarse. Los mensajes se entregan con {@code onLog} desde un hilo aparte, igual que
+ * lo hace el hilo del listener del Logger.
+ * <p>
+ * No es un benchmark JMH: se ejecuta con
+ * {@code java -cp target/benchmarks.jar benchmark.LogPanelStressHarness} (funciona en modo headless).
+ */
+public final class LogPanelStressHarness {
+
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+    private static final LogLevel[] LEVELS = {LogLevel.INFO, LogLevel.INFO, LogLevel.INFO, LogLevel.WARN, LogLevel.ERROR};
+
+    private LogPanelStressHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        PrintStream report = System.out;
+        // El panel se registra en el Logger: silenciar la consola para no medir la escritura
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(discard);
+        System.setErr(discard);
+        try {
+            report.printf("%10s %10s %12s %12s %12s %10s %10s %10s%n",
+                    "messages", "total ms", "EDT p50 ms", "EDT p99 ms", "EDT max ms", "records", "skipped", "heap MB");
+            for (int size : SIZES) {
+                run(size, report);
+            }
+        } finally {
+            System.setOut(report);
+            System.setErr(report);
+        }
+        System.exit(0);
+    }
+
+    private static void run(int messages, PrintStream report) throws Exception {
+        LogPanel[] holder = new LogPanel[1];
+        SwingUtilities.invokeAndWait(() -> holder[0] = new LogPanel());
+        LogPanel panel = holder[0];
+
+        Prober prober = new Prober();
+        prober.start();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            panel.onLog("[2024-01-01 00:00:00] Student created: Student " + i, LEVELS[i % LEVELS.length]);
+        }
+        // Esperar a que el timer aplique los lotes pendientes
+        int expected = Math.min(messages, LogPanel.DEFAULT_CAPACITY);
+        int[] lines = new int[1];
+        do {
+            Thread.sleep(5);
+            SwingUtilities.invokeAndWait(() -> lines[0] = panel.getRecordCount());
+        } while (lines[0] < expected);
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        prober.stop();
+
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heapMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+
+        report.printf("%10d %10d %12.2f %12.2f %12.2f %10d %10d %10d%n",
+                messages, totalMillis, prober.percentileMillis(0.5), prober.percentileMillis(0.99), prober.percentileMillis(1.0),
+                lines[0], panel.getSkippedLines(), heapMb);
+        // Sin esto el timer del panel sigue corriendo y lo mantiene alcanzable en las corridas siguientes
+        SwingUtilities.invokeAndWait(panel::dispose);
+    }
+
+    /**
+     * Encola una sonda en el EDT cada milisegundo y guarda el retraso hasta que se ejecuta.
+     */
+    private static final class Prober implements Runnable {
+        private final Thread thread = new Thread(this, "edt-prober");
+        private volatile boolean running = true;
+        private long[] samples = new long[1024];
+        private int count;
+
+        void start() {
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void stop() throws InterruptedException {
+            running = false;
+            thread.join();
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                long posted = System.nanoTime();
+                try {
+                    SwingUtilities.invokeAndWait(() -> record(System.nanoTime() - posted));
+                } catch (Exception e) {
+                    return;
+                }
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private void record(long nanos) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+        }
+
+        double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
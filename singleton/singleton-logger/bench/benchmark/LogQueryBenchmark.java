@@ -0,0 +1,102 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.Logger.LogLevel;
+import util.logging.BinaryLogAppender;
+import util.logging.LogCategory;
+import util.logging.LogEvent;
+import util.logging.LogQuery;
+import util.logging.LogQueryEngine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * "Qué pasó con el estudiante X ayer entre las 14 y las 15" sobre un día de logs binarios
+ * (1M eventos de 5000 estudiantes), con el índice de bloques ({@code indexed}) y leyendo todos
+ * los eventos ({@code fullScan}, archivos escritos sin índice).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogQueryBenchmark {
+
+    private static final int EVENTS = 1_000_000;
+    private static final int STUDENTS = 5000;
+    private static final Instant DAY = Instant.parse("2026-10-17T00:00:00Z");
+
+    @Param({"indexed", "fullScan"})
+    private String mode;
+
+    private Path directory;
+    private LogQueryEngine engine;
+    private LogQuery query;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("logger-bench");
+        BinaryLogAppender appender = BinaryLogAppender.builder()
+                .directory(directory)
+                .baseName("app")
+                .maxFileSize(16L * 1024 * 1024)
+                .indexed("indexed".equals(mode))
+                .build();
+        Random random = new Random(42);
+        LogEvent event = new LogEvent();
+        long start = DAY.toEpochMilli();
+        for (int i = 0; i < EVENTS; i++) {
+            String email = "student" + random.nextInt(STUDENTS) + "@example.com";
+            event.setPattern(i % 10 == 0 ? LogLevel.WARN : LogLevel.INFO, LogCategory.STUDENT,
+                    start + TimeUnit.DAYS.toMillis(1) * i / EVENTS, "Student updated: {} - {}", 2, email, "changes " + i, null);
+            event.setEntity("Student", email, "update");
+            appender.append(event, null);
+            event.clear();
+        }
+        appender.close();
+        engine = new LogQueryEngine(directory, "app");
+        query = LogQuery.builder()
+                .from(DAY.plus(14, ChronoUnit.HOURS))
+                .to(DAY.plus(15, ChronoUnit.HOURS))
+                .entityId("student42@example.com")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int studentBetween14And15() throws IOException {
+        LogQueryEngine.Results results = engine.query(query);
+        int matches = 0;
+        while (results.hasNext()) {
+            results.next();
+            matches++;
+        }
+        return matches;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LogQueryBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
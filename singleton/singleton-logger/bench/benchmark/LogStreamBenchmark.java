@@ -0,0 +1,102 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.Logger;
+import util.logging.LogStreamServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo para quien loguea de servir el flujo en vivo con {@link LogStreamServer} a 0, 1, 16 o 64 clientes
+ * TCP que leen todo ({@code draining}) o que nunca leen ({@code stalled}, se los desconecta al llenarse
+ * su buffer). Al final se imprime cuántos clientes se desconectaron por lentos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogStreamBenchmark {
+
+    @Param({"0", "1", "16", "64"})
+    private int clientCount;
+
+    @Param({"draining", "stalled"})
+    private String clients;
+
+    private Logger logger;
+    private LogStreamServer server;
+    private final List<Socket> sockets = new ArrayList<>();
+    private final List<Thread> readers = new ArrayList<>();
+
+    private String name = "María José Peña";
+    private String email = "maria.pena@example.com";
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        logger = Logger.getInstance();
+        logger.setConsoleOutput(false);
+        server = LogStreamServer.builder().port(0).build();
+        logger.addAppender(server);
+        InetSocketAddress address = (InetSocketAddress) server.getAddress();
+        for (int i = 0; i < clientCount; i++) {
+            Socket socket = new Socket(address.getAddress(), address.getPort());
+            sockets.add(socket);
+            if ("draining".equals(clients)) {
+                Thread reader = new Thread(() -> drain(socket), "stream-reader-" + i);
+                reader.setDaemon(true);
+                reader.start();
+                readers.add(reader);
+            }
+        }
+        while (server.getClientCount() < clientCount) {
+            Thread.sleep(1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%n%d %s clients: %d disconnected as slow%n", clientCount, clients,
+                server.getSlowClientsDisconnected());
+        logger.removeAppender(server);
+        server.close();
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        logger.setConsoleOutput(true);
+    }
+
+    @Benchmark
+    public void info() {
+        logger.info("Student created: {} (Email: {})", name, email);
+    }
+
+    private static void drain(Socket socket) {
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = socket.getInputStream()) {
+            while (in.read(buffer) >= 0) {
+                // Descarta lo recibido
+            }
+        } catch (IOException e) {
+            // Socket cerrado al terminar
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LogStreamBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
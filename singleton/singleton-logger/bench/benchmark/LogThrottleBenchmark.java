@@ -0,0 +1,67 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.LoggerHelper;
+import util.logging.LogThrottle;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de {@link LogThrottle} durante una ráfaga: casi todos los eventos se rechazan, que es el caso
+ * que debe escalar con la cantidad de hilos. {@code helperFlood} mide la advertencia completa de
+ * {@link LoggerHelper} con la consola descartada. Usar {@code -t} para elegir la cantidad de hilos;
+ * {@link #main} recorre de 1 a 64.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogThrottleBenchmark {
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+
+    private LogThrottle throttle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NullConsole.install();
+        throttle = LogThrottle.builder("benchmark").ratePerSecond(100).burst(100).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        throttle.close();
+        NullConsole.restore();
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        return throttle.tryAcquire();
+    }
+
+    @Benchmark
+    public boolean tryAcquireKeyed() {
+        return throttle.tryAcquire("email");
+    }
+
+    @Benchmark
+    public void helperFlood() {
+        LoggerHelper.warnInvalidValue("Student", "email", "not-an-email");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(LogThrottleBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.Logger;
+import util.LoggerHelper;
+import util.logging.OverflowPolicy;
+import util.logging.WaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la tasa de asignación en el hilo llamador entre los mensajes concatenados
+ * (implementación anterior de LoggerHelper) y los mensajes parametrizados diferidos.
+ * <p>
+ * El Logger corre en modo asíncrono con política DROP, de modo que el costo medido es
+ * principalmente el del llamador. Ejecutar con {@code -prof gc} y comparar {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggerHelperAllocationBenchmark {
+
+    private Logger logger;
+
+    private String firstName = "María José";
+    private String lastName = "Peña";
+    private String email = "maria.pena@example.com";
+    private String newLastName = "Gómez";
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NullConsole.install();
+        logger = Logger.getInstance();
+        logger.enableAsync(1024, WaitStrategy.YIELD, OverflowPolicy.DROP);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        logger.disableAsync();
+        NullConsole.restore();
+    }
+
+    @Benchmark
+    public void createStudentConcatenated() {
+        logger.info("Student created: " + firstName + " " + lastName + " (Email: " + email + ")");
+    }
+
+    @Benchmark
+    public void createStudentParameterized() {
+        LoggerHelper.createStudent(firstName, lastName, email);
+    }
+
+    @Benchmark
+    public void renameStudentConcatenated() {
+        String oldName = firstName + " " + lastName;
+        String newName = firstName + " " + newLastName;
+        logger.info("Student updated: " + oldName + " - " + newName);
+    }
+
+    @Benchmark
+    public void renameStudentParameterized() {
+        LoggerHelper.renameStudent(email, firstName, lastName, firstName, newLastName);
+    }
+
+    @Benchmark
+    public void createStudentSupplier() {
+        logger.info(() -> "Student created: " + firstName + " " + lastName + " (Email: " + email + ")");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LoggerHelperAllocationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,83 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.Logger;
+import util.logging.OverflowPolicy;
+import util.logging.WaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de {@code info}, {@code warn} y {@code error} con la consola descartada. En modo
+ * síncrono mide el camino completo; en modo asíncrono (política DROP) mide el costo para quien
+ * loguea y al final imprime cuántos eventos se descartaron. Con BLOCK los hilos bloqueados en el
+ * ring buffer distorsionan el cálculo de JMH. Usar {@code -t} para elegir la cantidad de hilos;
+ * {@link #main} recorre de 1 a 64.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerLevelBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    @Param({"sync", "async"})
+    private String mode;
+
+    private Logger logger;
+
+    private String name = "María José Peña";
+    private String email = "maria.pena@example.com";
+    private int credits = 6;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NullConsole.install();
+        logger = Logger.getInstance();
+        if ("async".equals(mode)) {
+            logger.enableAsync(8192, WaitStrategy.YIELD, OverflowPolicy.DROP);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long dropped = logger.getDroppedEvents();
+        logger.disableAsync();
+        NullConsole.restore();
+        if ("async".equals(mode)) {
+            System.out.printf("%nasync: %d events dropped%n", dropped);
+        }
+    }
+
+    @Benchmark
+    public void info() {
+        logger.info("Student created: {} (Email: {})", name, email);
+    }
+
+    @Benchmark
+    public void warn() {
+        logger.warn("Invalid credits for {}: {}", name, credits);
+    }
+
+    @Benchmark
+    public void error() {
+        logger.error("Validation failed for {}: {}", name, email);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(LoggerLevelBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Redirige {@code System.out} y {@code System.err} a un stream que descarta todo, para que los
+ * benchmarks midan el formateo y la escritura del Logger sin depender de la terminal.
+ */
+final class NullConsole {
+
+    private static PrintStream originalOut;
+    private static PrintStream originalErr;
+
+    private NullConsole() {
+    }
+
+    static synchronized void install() {
+        if (originalOut != null) {
+            return;
+        }
+        originalOut = System.out;
+        originalErr = System.err;
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(discard);
+        System.setErr(discard);
+    }
+
+    static synchronized void restore() {
+        if (originalOut == null) {
+            return;
+        }
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+        originalOut = null;
+        originalErr = null;
+    }
+}
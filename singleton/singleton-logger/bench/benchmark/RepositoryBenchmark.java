@@ -0,0 +1,128 @@
+package benchmark;
+
+import domain.entity.Student;
+import domain.entity.UniqueKeyListener;
+import domain.repository.EntityRepository;
+import domain.repository.Repositories;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.Logger;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsquedas y chequeos de unicidad sobre {@code students} estudiantes (1M por defecto):
+ * {@link EntityRepository} contra el recorrido lineal de un {@code ArrayList}, que es lo que hacían
+ * los paneles. Las claves buscadas se eligen al azar de antemano.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RepositoryBenchmark {
+
+    private static final int KEYS = 1024;
+
+    @Param({"1000000"})
+    public int students;
+
+    private EntityRepository<Student> repository;
+    private List<Student> list;
+    private long[] ids;
+    private String[] emails;
+    private int next;
+    private Student renamed;
+    private boolean toggle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NullConsole.install();
+        Logger.getInstance();
+        repository = Repositories.students();
+        list = new ArrayList<>(students);
+        LocalDate enrollmentDate = LocalDate.of(2024, 3, 1);
+        for (int i = 0; i < students; i++) {
+            Student student = new Student("Nombre", "Apellido", email(i), String.format("P%07d", i), enrollmentDate);
+            repository.add(student);
+            list.add(student);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        ids = new long[KEYS];
+        emails = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            Student student = list.get(random.nextInt(students));
+            ids[i] = student.getId();
+            emails[i] = student.getEmail();
+        }
+        renamed = list.get(students / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        NullConsole.restore();
+    }
+
+    private static String email(int i) {
+        return "student" + i + "@example.com";
+    }
+
+    private int nextKey() {
+        next = (next + 1) & (KEYS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Student findById() {
+        return repository.findById(ids[nextKey()]);
+    }
+
+    @Benchmark
+    public Student findByEmail() {
+        return repository.findBy(UniqueKeyListener.EMAIL, emails[nextKey()]);
+    }
+
+    /**
+     * El chequeo de un alta nueva: el email no existe.
+     */
+    @Benchmark
+    public boolean emailAvailable() {
+        return !repository.contains(UniqueKeyListener.EMAIL, "new" + nextKey() + "@example.com");
+    }
+
+    /**
+     * {@code updateEmail} con reindexado, alternando entre dos emails libres.
+     */
+    @Benchmark
+    public Student updateEmail() {
+        toggle = !toggle;
+        renamed.updateEmail(toggle ? "renamed@example.com" : "renamed2@example.com");
+        return renamed;
+    }
+
+    @Benchmark
+    public Student linearFindByEmail() {
+        String email = emails[nextKey()];
+        for (Student student : list) {
+            if (student.getEmail().equals(email)) {
+                return student;
+            }
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RepositoryBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,165 @@
+package benchmark;
+
+import domain.entity.Student;
+import domain.repository.EntityRepository;
+import domain.repository.Repositories;
+import util.Logger;
+
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Compara {@link EntityRepository#search} contra el recorrido completo con {@code contains()} sobre una
+ * secuencia aleatoria de altas, bajas, cambios de nombre, email e ID personal y consultas. Las bajas
+ * frecuentes fuerzan varias reconstrucciones del índice de trigramas.
+ * <p>
+ * No es un benchmark JMH: se ejecuta con
+ * {@code java -cp target/benchmarks.jar benchmark.RepositorySearchHarness [operaciones] [semilla]}
+ * y termina con código 1 si algún resultado difiere.
+ */
+public final class RepositorySearchHarness {
+
+    private static final String[] FIRST_NAMES = {
+            "María", "José", "Ana", "Luis", "Carmen", "Jorge", "Lucía", "Pedro", "Sofía", "Diego"
+    };
+    private static final String[] LAST_NAMES = {
+            "Peña", "Gómez", "Díaz", "Ruiz", "López", "Martín", "Sánchez", "Romero", "Torres", "Navarro"
+    };
+    private static final String QUERY_ALPHABET = "aeiouñáéíóprstlmnz0123456789.@";
+    private static final int MAX_LIVE = 2_000;
+    private static final int MAX_REPORTED = 10;
+
+    private final SplittableRandom random;
+    private final EntityRepository<Student> repository = Repositories.students();
+    private final List<Student> live = new ArrayList<>();
+    private final LocalDate enrollmentDate = LocalDate.of(2024, 3, 1);
+    private int nextKey;
+    private long queries;
+    private long mismatches;
+
+    private RepositorySearchHarness(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        PrintStream report = System.out;
+        NullConsole.install();
+        RepositorySearchHarness harness;
+        try {
+            Logger.getInstance();
+            harness = new RepositorySearchHarness(seed);
+            harness.run(operations, report);
+        } finally {
+            NullConsole.restore();
+        }
+        report.printf("%d operations, %d queries, %d mismatches (seed %d)%n",
+                operations, harness.queries, harness.mismatches, seed);
+        System.exit(harness.mismatches == 0 ? 0 : 1);
+    }
+
+    private void run(int operations, PrintStream report) {
+        for (int i = 0; i < operations; i++) {
+            int op = random.nextInt(100);
+            if (live.isEmpty() || (op < 35 && live.size() < MAX_LIVE)) {
+                add();
+            } else if (op < 50) {
+                Student student = live.remove(random.nextInt(live.size()));
+                repository.remove(student);
+                student.delete();
+            } else if (op < 60) {
+                rename(live.get(random.nextInt(live.size())));
+            } else if (op < 67) {
+                live.get(random.nextInt(live.size())).updateEmail(newEmail());
+            } else if (op < 72) {
+                live.get(random.nextInt(live.size())).updatePersonalId(newPersonalId());
+            } else {
+                check(nextQuery(), report);
+            }
+        }
+    }
+
+    private void add() {
+        int first = random.nextInt(FIRST_NAMES.length);
+        int last = random.nextInt(LAST_NAMES.length);
+        Student student = new Student(FIRST_NAMES[first], LAST_NAMES[last], newEmail(), newPersonalId(), enrollmentDate);
+        repository.add(student);
+        live.add(student);
+    }
+
+    private void rename(Student student) {
+        if (random.nextBoolean()) {
+            student.updateFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+        } else {
+            student.updateLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        }
+    }
+
+    private String newEmail() {
+        String user = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)].toLowerCase(Locale.ROOT);
+        return user + "." + nextKey++ + "@example.com";
+    }
+
+    private String newPersonalId() {
+        return String.format("P%07d", nextKey++);
+    }
+
+    /**
+     * Subcadenas de campos existentes (con otra capitalización), textos al azar y consultas cortas
+     * que no usan el índice.
+     */
+    private String nextQuery() {
+        int kind = random.nextInt(10);
+        if (kind < 6 && !live.isEmpty()) {
+            Student student = live.get(random.nextInt(live.size()));
+            String[] fields = {student.getFullName(), student.getEmail(), student.getPersonalId()};
+            String field = fields[random.nextInt(fields.length)];
+            int length = 1 + random.nextInt(Math.min(10, field.length()));
+            int start = random.nextInt(field.length() - length + 1);
+            String query = field.substring(start, start + length);
+            return random.nextBoolean() ? query.toUpperCase(Locale.ROOT) : query;
+        }
+        if (kind < 9) {
+            StringBuilder query = new StringBuilder();
+            int length = 1 + random.nextInt(5);
+            for (int i = 0; i < length; i++) {
+                query.append(QUERY_ALPHABET.charAt(random.nextInt(QUERY_ALPHABET.length())));
+            }
+            return query.toString();
+        }
+        return "";
+    }
+
+    private void check(String query, PrintStream report) {
+        queries++;
+        List<Student> actual = repository.search(query);
+        List<Student> expected = bruteForce(query);
+        if (!actual.equals(expected)) {
+            mismatches++;
+            if (mismatches <= MAX_REPORTED) {
+                report.printf("Mismatch for '%s': search returned %d, scan returned %d%n",
+                        query, actual.size(), expected.size());
+            }
+        }
+    }
+
+    private List<Student> bruteForce(String query) {
+        String searchTerm = query.toLowerCase(Locale.ROOT);
+        List<Student> matches = new ArrayList<>();
+        for (Student student : live) {
+            if (student.getFullName().toLowerCase(Locale.ROOT).contains(searchTerm)
+                    || student.getEmail().toLowerCase(Locale.ROOT).contains(searchTerm)
+                    || student.getPersonalId().toLowerCase(Locale.ROOT).contains(searchTerm)) {
+                matches.add(student);
+            }
+        }
+        matches.sort(Comparator.comparingLong(Student::getId));
+        return matches;
+    }
+}
@@ -0,0 +1,286 @@
+package benchmark;
+
+import domain.entity.Student;
+import domain.entity.UniqueKeyListener;
+import domain.repository.EntityRepository;
+import domain.repository.Repositories;
+import util.Logger;
+
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Comprueba los índices únicos de {@link EntityRepository} contra un modelo con {@link HashMap}:
+ * <ul>
+ *     <li>Secuencia aleatoria de altas, bajas y cambios de email e ID personal, con valores de un conjunto
+ *     chico (y el email con otra capitalización) para que haya muchos duplicados. Un alta o cambio se
+ *     rechaza exactamente cuando el valor es de otra entidad, y un rechazo no cambia nada.</li>
+ *     <li>Una entidad dada de baja se puede modificar sin afectar al repositorio.</li>
+ *     <li>Varios hilos que dan de alta o cambian a la vez al mismo email: gana exactamente uno.</li>
+ * </ul>
+ * No es un benchmark JMH: se ejecuta con
+ * {@code java -cp target/benchmarks.jar benchmark.RepositoryUniqueIndexHarness [operaciones] [semilla]}
+ * y termina con código 1 si algo no coincide.
+ */
+public final class RepositoryUniqueIndexHarness {
+
+    private static final int POOL = 300;
+    private static final int RACE_ROUNDS = 500;
+    private static final int RACE_THREADS = 8;
+    private static final int MAX_REPORTED = 10;
+
+    private final SplittableRandom random;
+    private final EntityRepository<Student> repository = Repositories.students();
+    private final Map<String, Student> byEmail = new HashMap<>();
+    private final Map<String, Student> byPersonalId = new HashMap<>();
+    private final List<Student> live = new ArrayList<>();
+    private final List<Student> removed = new ArrayList<>();
+    private final LocalDate enrollmentDate = LocalDate.of(2024, 3, 1);
+    private final PrintStream report;
+    private long rejections;
+    private long failures;
+
+    private RepositoryUniqueIndexHarness(long seed, PrintStream report) {
+        this.random = new SplittableRandom(seed);
+        this.report = report;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        PrintStream report = System.out;
+        NullConsole.install();
+        RepositoryUniqueIndexHarness harness = new RepositoryUniqueIndexHarness(seed, report);
+        try {
+            Logger.getInstance();
+            harness.runSequential(operations);
+            harness.runRaces();
+        } finally {
+            NullConsole.restore();
+        }
+        report.printf("%d operations (%d rejected as duplicates), %d races, %d failures (seed %d)%n",
+                operations, harness.rejections, RACE_ROUNDS * 2, harness.failures, seed);
+        System.exit(harness.failures == 0 ? 0 : 1);
+    }
+
+    private void runSequential(int operations) {
+        for (int i = 0; i < operations; i++) {
+            int op = random.nextInt(100);
+            if (live.isEmpty() || op < 35) {
+                add();
+            } else if (op < 50) {
+                remove();
+            } else if (op < 70) {
+                changeEmail(live.get(random.nextInt(live.size())));
+            } else if (op < 85) {
+                changePersonalId(live.get(random.nextInt(live.size())));
+            } else if (op < 90 && !removed.isEmpty()) {
+                changeRemoved(removed.get(random.nextInt(removed.size())));
+            } else {
+                verifyLookups();
+            }
+        }
+        verifyAll();
+    }
+
+    private void add() {
+        String email = randomEmail();
+        String personalId = randomPersonalId();
+        Student student = new Student("Nombre", "Apellido", email, personalId, enrollmentDate);
+        boolean duplicate = byEmail.containsKey(emailKey(email)) || byPersonalId.containsKey(personalId);
+        int size = repository.size();
+        try {
+            repository.add(student);
+            expect(!duplicate, "add accepted duplicate " + email + " / " + personalId);
+            byEmail.put(emailKey(email), student);
+            byPersonalId.put(personalId, student);
+            live.add(student);
+        } catch (IllegalArgumentException e) {
+            rejections++;
+            expect(duplicate, "add rejected unique " + email + " / " + personalId + ": " + e.getMessage());
+            expect(repository.size() == size, "rejected add changed the size");
+            expect(repository.findById(student.getId()) == null, "rejected add left the entity indexed");
+        }
+    }
+
+    private void remove() {
+        Student student = live.remove(random.nextInt(live.size()));
+        expect(repository.remove(student), "remove returned false for a live entity");
+        expect(!repository.remove(student), "second remove returned true");
+        byEmail.remove(emailKey(student.getEmail()));
+        byPersonalId.remove(student.getPersonalId());
+        removed.add(student);
+    }
+
+    private void changeEmail(Student student) {
+        String oldEmail = student.getEmail();
+        String newEmail = randomEmail();
+        Student owner = byEmail.get(emailKey(newEmail));
+        boolean duplicate = owner != null && owner != student;
+        try {
+            student.updateEmail(newEmail);
+            expect(!duplicate, "updateEmail accepted duplicate " + newEmail);
+            byEmail.remove(emailKey(oldEmail));
+            byEmail.put(emailKey(newEmail), student);
+        } catch (IllegalArgumentException e) {
+            rejections++;
+            expect(duplicate, "updateEmail rejected unique " + newEmail + ": " + e.getMessage());
+            expect(student.getEmail().equals(oldEmail), "rejected updateEmail changed the email");
+        }
+    }
+
+    private void changePersonalId(Student student) {
+        String oldPersonalId = student.getPersonalId();
+        String newPersonalId = randomPersonalId();
+        Student owner = byPersonalId.get(newPersonalId);
+        boolean duplicate = owner != null && owner != student;
+        try {
+            student.updatePersonalId(newPersonalId);
+            expect(!duplicate, "updatePersonalId accepted duplicate " + newPersonalId);
+            byPersonalId.remove(oldPersonalId);
+            byPersonalId.put(newPersonalId, student);
+        } catch (IllegalArgumentException e) {
+            rejections++;
+            expect(duplicate, "updatePersonalId rejected unique " + newPersonalId + ": " + e.getMessage());
+            expect(student.getPersonalId().equals(oldPersonalId), "rejected updatePersonalId changed the ID");
+        }
+    }
+
+    /**
+     * Fuera del repositorio cualquier valor es válido, y el cambio no debe tocar los índices.
+     */
+    private void changeRemoved(Student student) {
+        try {
+            student.updateEmail(randomEmail());
+            student.updatePersonalId(randomPersonalId());
+        } catch (IllegalArgumentException e) {
+            expect(false, "removed entity still checked against the repository: " + e.getMessage());
+        }
+        verifyLookups();
+    }
+
+    private void verifyLookups() {
+        for (int i = 0; i < 8; i++) {
+            String email = randomEmail();
+            Student expected = byEmail.get(emailKey(email));
+            expect(repository.findBy(UniqueKeyListener.EMAIL, email) == expected, "findBy email " + email);
+            expect(repository.contains(UniqueKeyListener.EMAIL, email) == (expected != null), "contains email " + email);
+            String personalId = randomPersonalId();
+            expected = byPersonalId.get(personalId);
+            expect(repository.findBy(UniqueKeyListener.PERSONAL_ID, personalId) == expected,
+                    "findBy personal ID " + personalId);
+        }
+    }
+
+    private void verifyAll() {
+        expect(repository.size() == live.size(), "size " + repository.size() + " != " + live.size());
+        for (Map.Entry<String, Student> entry : byEmail.entrySet()) {
+            expect(repository.findBy(UniqueKeyListener.EMAIL, entry.getKey()) == entry.getValue(),
+                    "final findBy email " + entry.getKey());
+        }
+        for (Map.Entry<String, Student> entry : byPersonalId.entrySet()) {
+            expect(repository.findBy(UniqueKeyListener.PERSONAL_ID, entry.getKey()) == entry.getValue(),
+                    "final findBy personal ID " + entry.getKey());
+        }
+        for (Student student : live) {
+            expect(repository.findById(student.getId()) == student, "final findById " + student.getId());
+        }
+    }
+
+    /**
+     * Altas simultáneas con el mismo email, y cambios simultáneos de entidades distintas al mismo email.
+     */
+    private void runRaces() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(RACE_THREADS);
+        try {
+            for (int round = 0; round < RACE_ROUNDS; round++) {
+                EntityRepository<Student> shared = Repositories.students();
+                String email = "race" + round + "@example.com";
+                List<Student> candidates = new ArrayList<>();
+                for (int t = 0; t < RACE_THREADS; t++) {
+                    candidates.add(new Student("Nombre", "Apellido", email.toUpperCase(Locale.ROOT).substring(0, t)
+                            + email.substring(t), String.format("R%05d%02d", round, t), enrollmentDate));
+                }
+                int added = race(executor, t -> shared.add(candidates.get(t)));
+                expect(added == 1, "concurrent add of " + email + ": " + added + " succeeded");
+
+                EntityRepository<Student> renames = Repositories.students();
+                List<Student> entities = new ArrayList<>();
+                for (int t = 0; t < RACE_THREADS; t++) {
+                    Student student = new Student("Nombre", "Apellido", "own" + t + "." + email,
+                            String.format("S%05d%02d", round, t), enrollmentDate);
+                    renames.add(student);
+                    entities.add(student);
+                }
+                int changed = race(executor, t -> entities.get(t).updateEmail(email));
+                expect(changed == 1, "concurrent updateEmail to " + email + ": " + changed + " succeeded");
+                expect(renames.findBy(UniqueKeyListener.EMAIL, email) != null, "race winner not indexed");
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private interface RaceAction {
+        void run(int thread);
+    }
+
+    private static int race(ExecutorService executor, RaceAction action) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < RACE_THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    action.run(thread);
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // Duplicado: lo esperado para todos menos uno
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return succeeded.get();
+    }
+
+    private String randomEmail() {
+        String email = "user" + random.nextInt(POOL) + "@example.com";
+        return random.nextInt(4) == 0 ? email.toUpperCase(Locale.ROOT) : email;
+    }
+
+    private String randomPersonalId() {
+        return String.format("P%06d", random.nextInt(POOL));
+    }
+
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private void expect(boolean condition, String message) {
+        if (!condition) {
+            failures++;
+            if (failures <= MAX_REPORTED) {
+                report.println("FAILED: " + message);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package benchmark;
+
+import domain.entity.Student;
+import domain.repository.EntityRepository;
+import domain.repository.Repositories;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.Logger;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda por subcadena sobre {@code students} estudiantes (1M por defecto): el índice de trigramas de
+ * {@link EntityRepository#search} contra el recorrido con {@code toLowerCase().contains()} de cada campo
+ * que hacían los paneles. {@code query}:
+ * <ul>
+ *     <li>{@code 12345}: dígitos de email e ID personal, pocas coincidencias</li>
+ *     <li>{@code maria.pena4}: principio de email, cientos de coincidencias</li>
+ *     <li>{@code Peña}: apellido, ~1/16 de los estudiantes; el costo lo domina verificar los candidatos</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+            "María", "José", "Ana", "Luis", "Carmen", "Jorge", "Lucía", "Pedro",
+            "Sofía", "Diego", "Elena", "Pablo", "Laura", "Andrés", "Marta", "Tomás"
+    };
+    private static final String[] LAST_NAMES = {
+            "Peña", "Gómez", "Díaz", "Ruiz", "López", "Martín", "Sánchez", "Romero",
+            "Torres", "Navarro", "Castro", "Ortega", "Molina", "Vargas", "Rojas", "Medina"
+    };
+
+    @Param({"1000000"})
+    public int students;
+
+    @Param({"12345", "maria.pena4", "Peña"})
+    public String query;
+
+    private EntityRepository<Student> repository;
+    private List<Student> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NullConsole.install();
+        Logger.getInstance();
+        repository = Repositories.students();
+        list = new ArrayList<>(students);
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate enrollmentDate = LocalDate.of(2024, 3, 1);
+        for (int i = 0; i < students; i++) {
+            int first = random.nextInt(FIRST_NAMES.length);
+            int last = random.nextInt(LAST_NAMES.length);
+            String email = ascii(FIRST_NAMES[first]) + "." + ascii(LAST_NAMES[last]) + i + "@example.com";
+            Student student = new Student(FIRST_NAMES[first], LAST_NAMES[last], email,
+                    String.format("P%07d", i), enrollmentDate);
+            repository.add(student);
+            list.add(student);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        NullConsole.restore();
+    }
+
+    private static String ascii(String name) {
+        return name.toLowerCase(Locale.ROOT)
+                .replace('á', 'a').replace('é', 'e').replace('í', 'i')
+                .replace('ó', 'o').replace('ú', 'u').replace('ñ', 'n');
+    }
+
+    @Benchmark
+    public List<Student> indexed() {
+        return repository.search(query);
+    }
+
+    @Benchmark
+    public List<Student> linearScan() {
+        String searchTerm = query.toLowerCase();
+        List<Student> matches = new ArrayList<>();
+        for (Student student : list) {
+            if (student.getFullName().toLowerCase().contains(searchTerm) ||
+                    student.getEmail().toLowerCase().contains(searchTerm) ||
+                    student.getPersonalId().toLowerCase().contains(searchTerm)) {
+                matches.add(student);
+            }
+        }
+        return matches;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,79 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo desde que se lanza la JVM hasta la primera línea de log: cada operación arranca
+ * {@link StartupProbe} en un proceso nuevo y espera a leer su línea. {@code baseline} solo hace
+ * {@code System.out.println}, así la diferencia con {@code logger} y {@code loggerHelper} es el costo
+ * de arranque del Logger. {@link #main} compara el resultado de {@code logger} con
+ * {@link #STARTUP_BUDGET_MILLIS} y termina con error si se pasa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmark {
+
+    /** Presupuesto de arranque del Logger: de lanzar la JVM a su primera línea. */
+    static final double STARTUP_BUDGET_MILLIS = 350;
+
+    @Param({"baseline", "logger", "loggerHelper"})
+    private String mode;
+
+    private ProcessBuilder command;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        command = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                StartupProbe.class.getName(), mode)
+                .redirectErrorStream(true);
+    }
+
+    @Benchmark
+    public String firstLogLine() throws IOException, InterruptedException {
+        Process process = command.start();
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (line.contains(StartupProbe.READY)) {
+                    return line;
+                }
+            }
+            throw new IllegalStateException("Probe exited without logging, exit code " + process.waitFor());
+        } finally {
+            process.waitFor();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(StartupBenchmark.class.getSimpleName())
+                .build();
+        for (RunResult result : new Runner(options).run()) {
+            if (!"logger".equals(result.getParams().getParam("mode"))) {
+                continue;
+            }
+            double millis = result.getPrimaryResult().getScore();
+            System.out.printf("%nLogger startup: %.1f ms (budget %.0f ms)%n", millis, STARTUP_BUDGET_MILLIS);
+            if (millis > STARTUP_BUDGET_MILLIS) {
+                System.exit(1);
+            }
+        }
+    }
+}
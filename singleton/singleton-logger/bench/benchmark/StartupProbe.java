@@ -0,0 +1,29 @@
+package benchmark;
+
+import util.Logger;
+import util.LoggerHelper;
+
+/**
+ * Programa que lanza {@link StartupBenchmark} en una JVM nueva: escribe una sola línea y termina.
+ */
+final class StartupProbe {
+
+    static final String READY = "startup probe ready";
+
+    private StartupProbe() {
+    }
+
+    public static void main(String[] args) {
+        switch (args.length > 0 ? args[0] : "logger") {
+            case "baseline":
+                System.out.println(READY);
+                break;
+            case "loggerHelper":
+                LoggerHelper.createStudent(READY, "Peña", "maria.pena@example.com");
+                break;
+            default:
+                Logger.getInstance().info("{}", READY);
+                break;
+        }
+    }
+}
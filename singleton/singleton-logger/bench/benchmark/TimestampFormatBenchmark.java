@@ -0,0 +1,67 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.logging.TimestampCache;
+import util.logging.TimestampFormatter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de formatear el timestamp de cada línea: siempre el mismo segundo (ráfaga) o
+ * avanzando un milisegundo por llamada (cambia de segundo cada 1000 llamadas), con
+ * {@link TimestampFormatter} y con el {@link TimestampCache} del modo sin basura.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimestampFormatBenchmark {
+
+    private long fixedTimestamp;
+    private long advancingTimestamp;
+    private final TimestampCache cache = new TimestampCache();
+    private final StringBuilder builder = new StringBuilder(32);
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        fixedTimestamp = System.currentTimeMillis();
+        advancingTimestamp = fixedTimestamp;
+    }
+
+    @Benchmark
+    public String sameSecond() {
+        return TimestampFormatter.format(fixedTimestamp);
+    }
+
+    @Benchmark
+    public String advancing() {
+        return TimestampFormatter.format(advancingTimestamp++);
+    }
+
+    @Benchmark
+    public int cachedSameSecond() {
+        builder.setLength(0);
+        cache.formatTo(fixedTimestamp, builder);
+        return builder.length();
+    }
+
+    @Benchmark
+    public int cachedAdvancing() {
+        builder.setLength(0);
+        cache.formatTo(advancingTimestamp++, builder);
+        return builder.length();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TimestampFormatBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
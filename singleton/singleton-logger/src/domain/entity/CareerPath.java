@@ -31,6 +31,10 @@ public class CareerPath {
     @Getter(lombok.AccessLevel.NONE) // Custom getter for defensive copy
     private ArrayList<Subject> subjects;
 
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private UniqueKeyListener keyListener;
+
     // CREATE
     public CareerPath(String name, String code) {
         this.id = IdGenerator.generateId(this.getClass());
@@ -49,13 +53,20 @@ public class CareerPath {
     public void updateName(String newName) {
         String oldName = this.name;
         this.setName(newName);
-        LoggerHelper.updateCareerPath(oldName, this.name);
+        if (keyListener != null) {
+            keyListener.fieldChanged(this, UniqueKeyListener.NAME);
+        }
+        LoggerHelper.renameCareerPath(this.code, oldName, this.name);
     }
 
     public void updateCode(String newCode) {
         String oldCode = this.code;
-        this.setCode(newCode);
-        LoggerHelper.updateCareerPath(this.name + " (code)", oldCode + " -> " + newCode);
+        if (keyListener == null) {
+            this.setCode(newCode);
+        } else {
+            keyListener.changeKey(this, UniqueKeyListener.CODE, newCode, () -> setCode(newCode));
+        }
+        LoggerHelper.updateCareerPathField(oldCode, this.name, "code", oldCode, newCode);
     }
 
     // Gestión de materias
@@ -64,7 +75,7 @@ public class CareerPath {
             throw new IllegalArgumentException("Subject cannot be null");
         }
         subjects.add(subject);
-        LoggerHelper.updateCareerPath(this.name, "Added subject: " + subject.getName());
+        LoggerHelper.addCareerPathSubject(this.code, this.name, subject.getName());
     }
 
     public void removeSubject(Subject subject) {
@@ -72,8 +83,18 @@ public class CareerPath {
             throw new IllegalArgumentException("Subject cannot be null");
         }
         if (subjects.remove(subject)) {
-            LoggerHelper.updateCareerPath(this.name, "Removed subject: " + subject.getName());
+            LoggerHelper.removeCareerPathSubject(this.code, this.name, subject.getName());
+        }
+    }
+
+    /**
+     * Registra el listener del código; null lo quita. Lo usa el repositorio que indexa la entidad.
+     */
+    public void setKeyListener(UniqueKeyListener keyListener) {
+        if (keyListener != null && this.keyListener != null && this.keyListener != keyListener) {
+            throw new IllegalArgumentException("Career path is already indexed by another repository");
         }
+        this.keyListener = keyListener;
     }
 
     // DELETE
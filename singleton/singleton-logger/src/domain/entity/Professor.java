@@ -31,25 +31,26 @@ public class Professor extends User {
     public void updateName(String newName) {
         String oldName = this.name;
         this.setName(newName);
-        LoggerHelper.updateProfessor(oldName, this.name);
+        this.fieldChanged(UniqueKeyListener.NAME);
+        LoggerHelper.renameProfessor(this.getEmail(), oldName, this.name);
     }
 
     public void updateEmail(String newEmail) {
         String oldEmail = this.getEmail();
-        this.setEmail(newEmail);
-        LoggerHelper.updateProfessor(this.name + " (email)", oldEmail + " -> " + newEmail);
+        this.changeEmail(newEmail);
+        LoggerHelper.updateProfessorField(oldEmail, this.name, "email", oldEmail, newEmail);
     }
 
     public void updatePersonalId(String newPersonalId) {
         String oldPersonalId = this.getPersonalId();
-        this.setPersonalId(newPersonalId);
-        LoggerHelper.updateProfessor(this.name + " (personal ID)", oldPersonalId + " -> " + newPersonalId);
+        this.changePersonalId(newPersonalId);
+        LoggerHelper.updateProfessorField(this.getEmail(), this.name, "personal ID", oldPersonalId, newPersonalId);
     }
 
     public void updateEnrollmentDate(LocalDate newEnrollmentDate) {
         LocalDate oldDate = this.getEnrollmentDate();
         this.setEnrollmentDate(newEnrollmentDate);
-        LoggerHelper.updateProfessor(this.name + " (enrollment date)", oldDate + " -> " + newEnrollmentDate);
+        LoggerHelper.updateProfessorField(this.getEmail(), this.name, "enrollment date", oldDate, newEnrollmentDate);
     }
 
     // DELETE
@@ -30,7 +30,7 @@ public class Student extends User {
         super(personalId, email, enrollmentDate);
         this.setFirstName(firstName);
         this.setLastName(lastName);
-        LoggerHelper.createStudent(this.firstName + " " + this.lastName, this.getEmail());
+        LoggerHelper.createStudent(this.firstName, this.lastName, this.getEmail());
     }
 
     // READ
@@ -40,38 +40,40 @@ public class Student extends User {
 
     // UPDATE
     public void updateFirstName(String newFirstName) {
-        String oldName = this.getFullName();
+        String oldFirstName = this.firstName;
         this.setFirstName(newFirstName);
-        LoggerHelper.updateStudent(oldName, this.getFullName());
+        this.fieldChanged(UniqueKeyListener.NAME);
+        LoggerHelper.renameStudent(this.getEmail(), oldFirstName, this.lastName, this.firstName, this.lastName);
     }
 
     public void updateLastName(String newLastName) {
-        String oldName = this.getFullName();
+        String oldLastName = this.lastName;
         this.setLastName(newLastName);
-        LoggerHelper.updateStudent(oldName, this.getFullName());
+        this.fieldChanged(UniqueKeyListener.NAME);
+        LoggerHelper.renameStudent(this.getEmail(), this.firstName, oldLastName, this.firstName, this.lastName);
     }
 
     public void updateEmail(String newEmail) {
         String oldEmail = this.getEmail();
-        this.setEmail(newEmail);
-        LoggerHelper.updateStudent(this.getFullName() + " (email)", oldEmail + " -> " + newEmail);
+        this.changeEmail(newEmail);
+        LoggerHelper.updateStudentField(oldEmail, this.firstName, this.lastName, "email", oldEmail, newEmail);
     }
 
     public void updatePersonalId(String newPersonalId) {
         String oldPersonalId = this.getPersonalId();
-        this.setPersonalId(newPersonalId);
-        LoggerHelper.updateStudent(this.getFullName() + " (personal ID)", oldPersonalId + " -> " + newPersonalId);
+        this.changePersonalId(newPersonalId);
+        LoggerHelper.updateStudentField(this.getEmail(), this.firstName, this.lastName, "personal ID", oldPersonalId, newPersonalId);
     }
 
     public void updateEnrollmentDate(LocalDate newEnrollmentDate) {
         LocalDate oldDate = this.getEnrollmentDate();
         this.setEnrollmentDate(newEnrollmentDate);
-        LoggerHelper.updateStudent(this.getFullName() + " (enrollment date)", oldDate + " -> " + newEnrollmentDate);
+        LoggerHelper.updateStudentField(this.getEmail(), this.firstName, this.lastName, "enrollment date", oldDate, newEnrollmentDate);
     }
 
     // DELETE
     public void delete() {
-        LoggerHelper.deleteStudent(this.getFullName(), this.getEmail());
+        LoggerHelper.deleteStudent(this.firstName, this.lastName, this.getEmail());
     }
 
     // Métodos privados de asignación
@@ -32,6 +32,10 @@ public class Subject {
     @Max(value = 20, message = "{subject.credits.max}")
     private int credits;
 
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    private UniqueKeyListener keyListener;
+
     // CREATE
     public Subject(String name, String code, int credits) {
         this.id = IdGenerator.generateId(this.getClass());
@@ -45,20 +49,36 @@ public class Subject {
     public void updateName(String newName) {
         String oldName = this.name;
         this.setName(newName);
-        LoggerHelper.updateSubject(oldName, this.name);
+        if (keyListener != null) {
+            keyListener.fieldChanged(this, UniqueKeyListener.NAME);
+        }
+        LoggerHelper.renameSubject(this.code, oldName, this.name);
     }
 
     public void updateCode(String newCode) {
         String oldCode = this.code;
-        this.setCode(newCode);
-        LoggerHelper.updateSubject(this.name + " (code)", oldCode + " -> " + newCode);
+        if (keyListener == null) {
+            this.setCode(newCode);
+        } else {
+            keyListener.changeKey(this, UniqueKeyListener.CODE, newCode, () -> setCode(newCode));
+        }
+        LoggerHelper.updateSubjectField(oldCode, this.name, "code", oldCode, newCode);
     }
 
     public void updateCredits(int newCredits) {
         int oldCredits = this.credits;
         this.setCredits(newCredits);
-        LoggerHelper.updateSubject(this.name + " (credits)", 
-            oldCredits + " -> " + newCredits);
+        LoggerHelper.updateSubjectField(this.code, this.name, "credits", oldCredits, newCredits);
+    }
+
+    /**
+     * Registra el listener del código; null lo quita. Lo usa el repositorio que indexa la entidad.
+     */
+    public void setKeyListener(UniqueKeyListener keyListener) {
+        if (keyListener != null && this.keyListener != null && this.keyListener != keyListener) {
+            throw new IllegalArgumentException("Subject is already indexed by another repository");
+        }
+        this.keyListener = keyListener;
     }
 
     // DELETE
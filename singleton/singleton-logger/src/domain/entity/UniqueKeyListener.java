@@ -0,0 +1,33 @@
+package domain.entity;
+
+/**
+ * Recibe los cambios de los campos únicos de una entidad (email, ID personal, código) antes de que
+ * ocurran, para que un repositorio mantenga sus índices al día y rechace valores repetidos, y los
+ * cambios de los demás campos indexados (nombre) después de que ocurren.
+ * La entidad tiene a lo sumo uno; sin él, los cambios se aplican directamente.
+ */
+public interface UniqueKeyListener {
+
+    /** Email de {@link User}. */
+    String EMAIL = "email";
+    /** ID personal de {@link User}. */
+    String PERSONAL_ID = "personalId";
+    /** Código de {@link Subject} y de {@link CareerPath}. */
+    String CODE = "code";
+    /** Nombre de las cuatro entidades (en Student, nombre o apellido). */
+    String NAME = "name";
+
+    /**
+     * Se llama antes de cambiar {@code field} a {@code newValue}; {@code apply} hace el cambio en la
+     * entidad y el listener lo ejecuta cuando el nuevo valor está libre.
+     *
+     * @throws IllegalArgumentException si otra entidad ya usa el nuevo valor (el cambio no se aplica)
+     */
+    void changeKey(Object entity, String field, String newValue, Runnable apply);
+
+    /**
+     * Se llama después de cambiar un campo que no es único, para reindexar las búsquedas de texto.
+     */
+    default void fieldChanged(Object entity, String field) {
+    }
+}
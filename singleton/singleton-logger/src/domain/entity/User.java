@@ -29,6 +29,9 @@ public abstract class User {
     @PastOrPresent(message = "{user.enrollmentDate.past}")
     private LocalDate enrollmentDate;
 
+    @Getter(lombok.AccessLevel.NONE)
+    private UniqueKeyListener keyListener;
+
     // Constructor protegido para ser usado por subclases
     protected User(String personalId, String email, LocalDate enrollmentDate) {
         this.id = IdGenerator.generateId(this.getClass());
@@ -37,6 +40,41 @@ public abstract class User {
         this.setEnrollmentDate(enrollmentDate);
     }
 
+    /**
+     * Registra el listener de los campos únicos (email e ID personal); null lo quita.
+     * Lo usa el repositorio que indexa la entidad.
+     */
+    public void setKeyListener(UniqueKeyListener keyListener) {
+        if (keyListener != null && this.keyListener != null && this.keyListener != keyListener) {
+            throw new IllegalArgumentException("User is already indexed by another repository");
+        }
+        this.keyListener = keyListener;
+    }
+
+    // Cambios de campos únicos: pasan por el listener para mantener los índices
+    protected void changeEmail(String newEmail) {
+        changeKey(UniqueKeyListener.EMAIL, newEmail, () -> setEmail(newEmail));
+    }
+
+    protected void changePersonalId(String newPersonalId) {
+        changeKey(UniqueKeyListener.PERSONAL_ID, newPersonalId, () -> setPersonalId(newPersonalId));
+    }
+
+    // Avisa al listener del cambio de un campo no único (el nombre, en las subclases)
+    protected void fieldChanged(String field) {
+        if (keyListener != null) {
+            keyListener.fieldChanged(this, field);
+        }
+    }
+
+    private void changeKey(String field, String newValue, Runnable apply) {
+        if (keyListener == null) {
+            apply.run();
+        } else {
+            keyListener.changeKey(this, field, newValue, apply);
+        }
+    }
+
     // Métodos protegidos para actualización desde subclases
     protected void setEmail(String email) {
         this.email = email;
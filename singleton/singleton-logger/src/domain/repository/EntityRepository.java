@@ -0,0 +1,315 @@
+package domain.repository;
+
+import domain.entity.UniqueKeyListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Repositorio en memoria de entidades con índice primario por ID e índices hash únicos por campo.
+ * Las búsquedas por ID y por campo único son O(1); {@link #findAll()} devuelve las entidades en orden de alta.
+ * <p>
+ * El alta verifica el ID y todos los campos únicos y agrega la entidad en una sola operación atómica.
+ * Mientras la entidad está en el repositorio, sus cambios de campos únicos ({@code updateEmail},
+ * {@code updateCode}, ...) pasan por {@link UniqueKeyListener}: si el nuevo valor ya es de otra entidad
+ * el cambio se rechaza con {@link IllegalArgumentException}, y si no, se aplica y se reindexa bajo el
+ * mismo lock. Ver {@link Repositories} para los repositorios de cada entidad.
+ * <p>
+ * Los campos declarados con {@link Builder#searchable} se indexan por trigramas para
+ * {@link #search(String)}; el índice se actualiza en el alta, la baja y cada cambio de esos campos.
+ */
+public final class EntityRepository<T> {
+
+    private final String entityName;
+    private final ToLongFunction<T> idOf;
+    private final BiConsumer<T, UniqueKeyListener> attach;
+    private final Map<String, UniqueIndex<T>> uniqueIndexes;
+    private final TrigramIndex<T> searchIndex;
+    private final Map<Long, T> byId = new LinkedHashMap<>();
+    private final UniqueKeyListener keyListener = new UniqueKeyListener() {
+        @Override
+        public void changeKey(Object entity, String field, String newValue, Runnable apply) {
+            EntityRepository.this.changeKey(entity, field, newValue, apply);
+        }
+
+        @Override
+        public void fieldChanged(Object entity, String field) {
+            EntityRepository.this.fieldChanged(entity);
+        }
+    };
+
+    private EntityRepository(Builder<T> builder) {
+        this.entityName = builder.entityName;
+        this.idOf = builder.idOf;
+        this.attach = builder.attach;
+        this.uniqueIndexes = Collections.unmodifiableMap(new LinkedHashMap<>(builder.uniqueIndexes));
+        this.searchIndex = builder.searchable.isEmpty()
+                ? null
+                : new TrigramIndex<>(new ArrayList<>(builder.searchable));
+    }
+
+    /**
+     * @param entityName nombre para los mensajes de error, por ejemplo {@code "Student"}
+     * @param idOf       ID de la entidad
+     * @param attach     registra (o quita, con null) el {@link UniqueKeyListener} de la entidad
+     */
+    public static <T> Builder<T> builder(String entityName, ToLongFunction<T> idOf,
+                                         BiConsumer<T, UniqueKeyListener> attach) {
+        return new Builder<>(entityName, idOf, attach);
+    }
+
+    /**
+     * Agrega la entidad.
+     *
+     * @throws IllegalArgumentException si ya hay una entidad con el mismo ID o con el mismo valor en algún
+     *                                  campo único; en ese caso el repositorio no cambia
+     */
+    public synchronized void add(T entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException(entityName + " cannot be null");
+        }
+        long id = idOf.applyAsLong(entity);
+        if (byId.containsKey(id)) {
+            throw new IllegalArgumentException(entityName + " with id " + id + " is already registered");
+        }
+        for (UniqueIndex<T> index : uniqueIndexes.values()) {
+            String key = index.keyOf(entity);
+            if (key != null && index.entries.containsKey(key)) {
+                throw duplicate(index, index.field.apply(entity));
+            }
+        }
+        attach.accept(entity, keyListener);
+        byId.put(id, entity);
+        for (UniqueIndex<T> index : uniqueIndexes.values()) {
+            String key = index.keyOf(entity);
+            if (key != null) {
+                index.entries.put(key, entity);
+            }
+        }
+        if (searchIndex != null) {
+            searchIndex.add(entity);
+        }
+    }
+
+    /**
+     * Quita la entidad. Devuelve false si no estaba.
+     */
+    public synchronized boolean remove(T entity) {
+        if (entity == null || byId.get(idOf.applyAsLong(entity)) != entity) {
+            return false;
+        }
+        byId.remove(idOf.applyAsLong(entity));
+        for (UniqueIndex<T> index : uniqueIndexes.values()) {
+            String key = index.keyOf(entity);
+            if (key != null) {
+                index.entries.remove(key, entity);
+            }
+        }
+        if (searchIndex != null) {
+            searchIndex.remove(entity);
+        }
+        attach.accept(entity, null);
+        return true;
+    }
+
+    /**
+     * La entidad con ese ID, o null si no existe.
+     */
+    public synchronized T findById(long id) {
+        return byId.get(id);
+    }
+
+    /**
+     * La entidad con ese valor en un campo único (por ejemplo {@link UniqueKeyListener#EMAIL}), o null.
+     */
+    public synchronized T findBy(String field, String value) {
+        UniqueIndex<T> index = index(field);
+        String key = index.normalize(value);
+        return key != null ? index.entries.get(key) : null;
+    }
+
+    /**
+     * Si alguna entidad usa ese valor en un campo único.
+     */
+    public boolean contains(String field, String value) {
+        return findBy(field, value) != null;
+    }
+
+    /**
+     * Copia de las entidades en orden de alta.
+     */
+    public synchronized List<T> findAll() {
+        return new ArrayList<>(byId.values());
+    }
+
+    /**
+     * Entidades con algún campo buscable que contiene {@code text}, sin distinguir mayúsculas, ordenadas
+     * por ID. Un texto vacío devuelve todas.
+     *
+     * @throws IllegalStateException si el repositorio no tiene campos buscables
+     */
+    public synchronized List<T> search(String text) {
+        if (searchIndex == null) {
+            throw new IllegalStateException(entityName + " repository has no searchable fields");
+        }
+        if (text == null || text.isEmpty()) {
+            return findAll();
+        }
+        List<T> matches = searchIndex.search(text);
+        matches.sort(Comparator.comparingLong(idOf));
+        return matches;
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    private synchronized void changeKey(Object entity, String field, String newValue, Runnable apply) {
+        @SuppressWarnings("unchecked")
+        T typed = (T) entity;
+        if (byId.get(idOf.applyAsLong(typed)) != entity) {
+            apply.run();
+            return;
+        }
+        UniqueIndex<T> index = uniqueIndexes.get(field);
+        if (index == null) {
+            apply.run();
+            reindexSearch(typed);
+            return;
+        }
+        String newKey = index.normalize(newValue);
+        if (newKey != null) {
+            T owner = index.entries.get(newKey);
+            if (owner != null && owner != entity) {
+                throw duplicate(index, newValue);
+            }
+        }
+        String oldKey = index.keyOf(typed);
+        apply.run();
+        if (oldKey != null) {
+            index.entries.remove(oldKey, typed);
+        }
+        String key = index.keyOf(typed);
+        if (key != null) {
+            index.entries.put(key, typed);
+        }
+        reindexSearch(typed);
+    }
+
+    private synchronized void fieldChanged(Object entity) {
+        @SuppressWarnings("unchecked")
+        T typed = (T) entity;
+        if (byId.get(idOf.applyAsLong(typed)) == entity) {
+            reindexSearch(typed);
+        }
+    }
+
+    private void reindexSearch(T entity) {
+        if (searchIndex != null) {
+            searchIndex.update(entity);
+        }
+    }
+
+    private UniqueIndex<T> index(String field) {
+        UniqueIndex<T> index = uniqueIndexes.get(field);
+        if (index == null) {
+            throw new IllegalArgumentException(entityName + " has no unique index on " + field);
+        }
+        return index;
+    }
+
+    private IllegalArgumentException duplicate(UniqueIndex<T> index, String value) {
+        return new IllegalArgumentException(entityName + " with " + index.name + " '" + value
+                + "' is already registered");
+    }
+
+    /**
+     * Índice hash único de un campo. La clave es el valor normalizado (por ejemplo el email en minúsculas).
+     */
+    private static final class UniqueIndex<T> {
+        final String name;
+        final Function<T, String> field;
+        final UnaryOperator<String> normalizer;
+        final Map<String, T> entries = new HashMap<>();
+
+        UniqueIndex(String name, Function<T, String> field, UnaryOperator<String> normalizer) {
+            this.name = name;
+            this.field = field;
+            this.normalizer = normalizer;
+        }
+
+        String keyOf(T entity) {
+            return normalize(field.apply(entity));
+        }
+
+        String normalize(String value) {
+            return value != null ? normalizer.apply(value) : null;
+        }
+    }
+
+    /**
+     * Builder para declarar los índices únicos del repositorio.
+     */
+    public static final class Builder<T> {
+        private final String entityName;
+        private final ToLongFunction<T> idOf;
+        private final BiConsumer<T, UniqueKeyListener> attach;
+        private final Map<String, UniqueIndex<T>> uniqueIndexes = new LinkedHashMap<>();
+        private final List<Function<T, String>> searchable = new ArrayList<>();
+
+        private Builder(String entityName, ToLongFunction<T> idOf, BiConsumer<T, UniqueKeyListener> attach) {
+            if (entityName == null || idOf == null || attach == null) {
+                throw new IllegalArgumentException("Entity name, id and listener registration are required");
+            }
+            this.entityName = entityName;
+            this.idOf = idOf;
+            this.attach = attach;
+        }
+
+        /**
+         * Índice único sobre un campo, con la clave tal como la devuelve {@code field}.
+         */
+        public Builder<T> unique(String name, Function<T, String> field) {
+            return unique(name, field, UnaryOperator.identity());
+        }
+
+        /**
+         * Índice único sobre un campo. {@code normalizer} define cuándo dos valores son el mismo
+         * (por ejemplo, emails sin distinguir mayúsculas).
+         */
+        public Builder<T> unique(String name, Function<T, String> field, UnaryOperator<String> normalizer) {
+            if (name == null || field == null || normalizer == null) {
+                throw new IllegalArgumentException("Index name, field and normalizer cannot be null");
+            }
+            if (uniqueIndexes.containsKey(name)) {
+                throw new IllegalArgumentException("Duplicate index: " + name);
+            }
+            uniqueIndexes.put(name, new UniqueIndex<>(name, field, normalizer));
+            return this;
+        }
+
+        /**
+         * Campo de texto que {@link EntityRepository#search(String)} busca por subcadena.
+         */
+        public Builder<T> searchable(Function<T, String> field) {
+            if (field == null) {
+                throw new IllegalArgumentException("Searchable field cannot be null");
+            }
+            searchable.add(field);
+            return this;
+        }
+
+        public EntityRepository<T> build() {
+            return new EntityRepository<>(this);
+        }
+    }
+}
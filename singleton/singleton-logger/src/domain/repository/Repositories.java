@@ -0,0 +1,69 @@
+package domain.repository;
+
+import domain.entity.CareerPath;
+import domain.entity.Professor;
+import domain.entity.Student;
+import domain.entity.Subject;
+import domain.entity.UniqueKeyListener;
+import domain.entity.User;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Repositorios de las entidades del registro académico, con sus índices únicos:
+ * <ul>
+ *     <li>{@link Student} y {@link Professor}: email (sin distinguir mayúsculas) e ID personal</li>
+ *     <li>{@link Subject} y {@link CareerPath}: código (las entidades lo guardan en mayúsculas)</li>
+ * </ul>
+ * Los campos buscables son los mismos que recorrían las búsquedas de los paneles: nombre, email e
+ * ID personal para personas; nombre y código para materias y carreras.
+ */
+public final class Repositories {
+
+    private Repositories() {
+        // Clase de utilidad: evita instanciación
+    }
+
+    public static EntityRepository<Student> students() {
+        return users("Student", Student::getFullName);
+    }
+
+    public static EntityRepository<Professor> professors() {
+        return users("Professor", Professor::getName);
+    }
+
+    public static EntityRepository<Subject> subjects() {
+        return EntityRepository.<Subject>builder("Subject", Subject::getId, Subject::setKeyListener)
+                .unique(UniqueKeyListener.CODE, Subject::getCode, Repositories::upperCase)
+                .searchable(Subject::getName)
+                .searchable(Subject::getCode)
+                .build();
+    }
+
+    public static EntityRepository<CareerPath> careerPaths() {
+        return EntityRepository.<CareerPath>builder("Career path", CareerPath::getId, CareerPath::setKeyListener)
+                .unique(UniqueKeyListener.CODE, CareerPath::getCode, Repositories::upperCase)
+                .searchable(CareerPath::getName)
+                .searchable(CareerPath::getCode)
+                .build();
+    }
+
+    private static <U extends User> EntityRepository<U> users(String entityName, Function<U, String> name) {
+        return EntityRepository.<U>builder(entityName, User::getId, User::setKeyListener)
+                .unique(UniqueKeyListener.EMAIL, User::getEmail, Repositories::lowerCase)
+                .unique(UniqueKeyListener.PERSONAL_ID, User::getPersonalId)
+                .searchable(name)
+                .searchable(User::getEmail)
+                .searchable(User::getPersonalId)
+                .build();
+    }
+
+    private static String lowerCase(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String upperCase(String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+}
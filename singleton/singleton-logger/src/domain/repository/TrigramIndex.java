@@ -0,0 +1,193 @@
+package domain.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Índice invertido de trigramas para búsquedas por subcadena, sin distinguir mayúsculas, sobre los
+ * campos de texto de las entidades. Cada entidad recibe un ordinal creciente y cada trigrama de cada
+ * campo tiene la lista ordenada de ordinales que lo contienen. Una búsqueda intersecta las listas de los
+ * trigramas del texto buscado, empezando por la más corta, y verifica los candidatos con
+ * {@link String#contains}: el resultado es el mismo que recorrer todo, tocando solo los candidatos.
+ * <p>
+ * Quitar una entidad solo marca su ordinal como muerto (las listas se filtran al buscar); reindexarla
+ * la quita y la vuelve a agregar con un ordinal nuevo, así las listas se mantienen ordenadas con solo
+ * agregar al final. Cuando hay más ordinales muertos que vivos el índice se reconstruye.
+ * <p>
+ * No es thread-safe: lo usa {@link EntityRepository} bajo su monitor.
+ */
+final class TrigramIndex<T> {
+
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    private final List<Function<T, String>> fields;
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<T, Integer> ordinals = new IdentityHashMap<>();
+    private Object[] documents = new Object[1024];
+    private int nextOrdinal;
+    private int dead;
+
+    TrigramIndex(List<Function<T, String>> fields) {
+        this.fields = fields;
+    }
+
+    void add(T entity) {
+        if (nextOrdinal == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        int ordinal = nextOrdinal++;
+        documents[ordinal] = entity;
+        ordinals.put(entity, ordinal);
+        for (Function<T, String> field : fields) {
+            String text = field.apply(entity);
+            if (text == null) {
+                continue;
+            }
+            text = text.toLowerCase(Locale.ROOT);
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                postings.computeIfAbsent(trigram(text, i), k -> new Postings()).add(ordinal);
+            }
+        }
+    }
+
+    void remove(T entity) {
+        Integer ordinal = ordinals.remove(entity);
+        if (ordinal == null) {
+            return;
+        }
+        documents[ordinal] = null;
+        dead++;
+        if (dead >= MIN_DEAD_TO_COMPACT && dead > ordinals.size()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Vuelve a indexar la entidad después de un cambio en alguno de sus campos.
+     */
+    void update(T entity) {
+        if (ordinals.containsKey(entity)) {
+            remove(entity);
+            add(entity);
+        }
+    }
+
+    /**
+     * Entidades con algún campo que contiene {@code text} (sin distinguir mayúsculas), en el orden en que
+     * fueron indexadas. Un texto de menos de tres caracteres no tiene trigramas y se busca recorriendo todo.
+     */
+    @SuppressWarnings("unchecked")
+    List<T> search(String text) {
+        String query = text.toLowerCase(Locale.ROOT);
+        List<T> matches = new ArrayList<>();
+        if (query.length() < 3) {
+            for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+                T entity = (T) documents[ordinal];
+                if (entity != null && matches(entity, query)) {
+                    matches.add(entity);
+                }
+            }
+            return matches;
+        }
+        int[] candidates = candidates(query);
+        for (int ordinal : candidates) {
+            T entity = (T) documents[ordinal];
+            if (entity != null && matches(entity, query)) {
+                matches.add(entity);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Intersección de las listas de los trigramas de la consulta, de la más corta a la más larga.
+     */
+    private int[] candidates(String query) {
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            Postings list = postings.get(trigram(query, i));
+            if (list == null) {
+                return new int[0];
+            }
+            if (!lists.contains(list)) {
+                lists.add(list);
+            }
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        Postings shortest = lists.get(0);
+        int[] result = Arrays.copyOf(shortest.values, shortest.size);
+        int size = result.length;
+        for (int l = 1; l < lists.size() && size > 0; l++) {
+            Postings list = lists.get(l);
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < size; i++) {
+                int found = Arrays.binarySearch(list.values, from, list.size, result[i]);
+                if (found >= 0) {
+                    result[kept++] = result[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private boolean matches(T entity, String query) {
+        for (Function<T, String> field : fields) {
+            String text = field.apply(entity);
+            if (text != null && text.toLowerCase(Locale.ROOT).contains(query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuild() {
+        Object[] previous = documents;
+        int count = nextOrdinal;
+        postings.clear();
+        ordinals.clear();
+        documents = new Object[Math.max(1024, Integer.highestOneBit(Math.max(1, count - dead)) * 2)];
+        nextOrdinal = 0;
+        dead = 0;
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            if (previous[ordinal] != null) {
+                add((T) previous[ordinal]);
+            }
+        }
+    }
+
+    private static long trigram(String text, int start) {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+
+    /**
+     * Lista ordenada de ordinales de un trigrama. Los ordinales se agregan siempre crecientes.
+     */
+    private static final class Postings {
+        int[] values = new int[4];
+        int size;
+
+        void add(int ordinal) {
+            // El mismo trigrama puede aparecer varias veces en una entidad
+            if (size > 0 && values[size - 1] == ordinal) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = ordinal;
+        }
+    }
+}
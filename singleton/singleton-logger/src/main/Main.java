@@ -1,8 +1,14 @@
 package main;
 
+import domain.entity.CareerPath;
+import domain.entity.Subject;
+import domain.entity.User;
 import ui.MainFrame;
+import util.IdGenerator;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Clase principal para lanzar la aplicación GUI del sistema de registro académico.
@@ -10,6 +16,23 @@ import javax.swing.*;
  */
 public class Main {
     public static void main(String[] args) {
+        // Con un nodo configurado (varias instancias), IDs ordenados por tiempo y únicos entre nodos
+        if (System.getProperty(IdGenerator.NODE_ID_PROPERTY) != null) {
+            IdGenerator.useTimeOrderedIds(User.class);
+            IdGenerator.useTimeOrderedIds(Subject.class);
+            IdGenerator.useTimeOrderedIds(CareerPath.class);
+        }
+        // Contadores persistidos entre reinicios
+        String highWaterMarks = System.getProperty(IdGenerator.HIGH_WATER_MARKS_PROPERTY);
+        if (highWaterMarks != null) {
+            try {
+                IdGenerator.enablePersistence(Path.of(highWaterMarks));
+            } catch (IOException e) {
+                System.err.println("Could not open id high-water marks " + highWaterMarks + ": " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
         // Ejecutar la GUI en el Event Dispatch Thread
         SwingUtilities.invokeLater(() -> {
             MainFrame frame = new MainFrame();
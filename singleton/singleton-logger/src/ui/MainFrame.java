@@ -5,6 +5,7 @@ import ui.panels.SubjectPanel;
 import ui.panels.ProfessorPanel;
 import ui.panels.CareerPathPanel;
 import ui.panels.LogPanel;
+import util.Logger;
 
 import javax.swing.*;
 import java.awt.*;
@@ -31,7 +32,7 @@ public class MainFrame extends JFrame {
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
-            e.printStackTrace();
+            Logger.getInstance().warn("Could not apply system look and feel", e);
         }
         
         initComponents();
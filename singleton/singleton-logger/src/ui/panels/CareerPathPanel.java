@@ -1,11 +1,14 @@
 package ui.panels;
 
 import domain.entity.CareerPath;
+import domain.entity.UniqueKeyListener;
+import domain.repository.EntityRepository;
+import domain.repository.Repositories;
+import util.LoggerHelper;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -13,7 +16,7 @@ import java.util.List;
  */
 public class CareerPathPanel extends JPanel {
     
-    private List<CareerPath> careerPaths = new ArrayList<>();
+    private final EntityRepository<CareerPath> careerPaths = Repositories.careerPaths();
     private DefaultTableModel tableModel;
     private JTable table;
     
@@ -151,10 +154,19 @@ public class CareerPathPanel extends JPanel {
                 JOptionPane.ERROR_MESSAGE);
             return;
         }
+        if (rejectDuplicate(UniqueKeyListener.CODE, "código", code, code)) {
+            return;
+        }
         
         try {
             CareerPath careerPath = new CareerPath(name, code);
-            careerPaths.add(careerPath);
+            try {
+                careerPaths.add(careerPath);
+            } catch (IllegalArgumentException e) {
+                // Otro alta tomó el valor entre la comprobación y el add
+                LoggerHelper.errorCreationFailed("CareerPath", e.getMessage());
+                throw e;
+            }
             refreshTable();
             nameField.setText("");
             codeField.setText("");
@@ -171,6 +183,22 @@ public class CareerPathPanel extends JPanel {
         }
     }
     
+    /**
+     * Rechaza el alta si el valor ya está en uso en un campo único. Se comprueba antes de construir la
+     * entidad porque su constructor ya registra el alta en el log.
+     */
+    private boolean rejectDuplicate(String field, String label, String value, String identifier) {
+        if (!careerPaths.contains(field, value)) {
+            return false;
+        }
+        LoggerHelper.warnDuplicateOperation("CareerPath", identifier, "create");
+        JOptionPane.showMessageDialog(this, 
+            "Error al crear carrera: ya existe una carrera con " + label + " '" + value + "'", 
+            "Error", 
+            JOptionPane.ERROR_MESSAGE);
+        return true;
+    }
+    
     private void updateCareerPath() {
         int selectedRow = table.getSelectedRow();
         if (selectedRow == -1) {
@@ -181,7 +209,8 @@ public class CareerPathPanel extends JPanel {
             return;
         }
         
-        CareerPath careerPath = careerPaths.get(selectedRow);
+        // Por el ID de la fila: la tabla puede estar filtrada por una búsqueda
+        CareerPath careerPath = careerPaths.findById((Long) tableModel.getValueAt(selectedRow, 0));
         String newName = JOptionPane.showInputDialog(this, 
             "Ingresa el nuevo nombre para la carrera:", 
             careerPath.getName());
@@ -214,7 +243,8 @@ public class CareerPathPanel extends JPanel {
             return;
         }
         
-        CareerPath careerPath = careerPaths.get(selectedRow);
+        // Por el ID de la fila: la tabla puede estar filtrada por una búsqueda
+        CareerPath careerPath = careerPaths.findById((Long) tableModel.getValueAt(selectedRow, 0));
         int confirm = JOptionPane.showConfirmDialog(this, 
             "¿Estás seguro de eliminar la carrera: " + careerPath.getName() + "?", 
             "Confirmar Eliminación", 
@@ -222,7 +252,7 @@ public class CareerPathPanel extends JPanel {
         
         if (confirm == JOptionPane.YES_OPTION) {
             careerPath.delete();
-            careerPaths.remove(selectedRow);
+            careerPaths.remove(careerPath);
             refreshTable();
             
             JOptionPane.showMessageDialog(this, 
@@ -233,7 +263,7 @@ public class CareerPathPanel extends JPanel {
     }
     
     private void searchCareerPaths() {
-        String searchTerm = searchField.getText().trim().toLowerCase();
+        String searchTerm = searchField.getText().trim();
         
         if (searchTerm.isEmpty()) {
             refreshTable();
@@ -241,22 +271,20 @@ public class CareerPathPanel extends JPanel {
         }
         
         tableModel.setRowCount(0);
-        for (CareerPath cp : careerPaths) {
-            if (cp.getName().toLowerCase().contains(searchTerm) ||
-                cp.getCode().toLowerCase().contains(searchTerm)) {
-                tableModel.addRow(new Object[]{
-                    cp.getId(), 
-                    cp.getName(), 
-                    cp.getCode(), 
-                    cp.getSubjects().size()
-                });
-            }
+        // Índice de trigramas del repositorio: solo verifica los candidatos
+        for (CareerPath cp : careerPaths.search(searchTerm)) {
+            tableModel.addRow(new Object[]{
+                cp.getId(), 
+                cp.getName(), 
+                cp.getCode(), 
+                cp.getSubjects().size()
+            });
         }
     }
     
     private void refreshTable() {
         tableModel.setRowCount(0);
-        for (CareerPath cp : careerPaths) {
+        for (CareerPath cp : careerPaths.findAll()) {
             tableModel.addRow(new Object[]{
                 cp.getId(), 
                 cp.getName(), 
@@ -267,7 +295,7 @@ public class CareerPathPanel extends JPanel {
     }
     
     public List<CareerPath> getCareerPaths() {
-        return careerPaths;
+        return careerPaths.findAll();
     }
 }
 
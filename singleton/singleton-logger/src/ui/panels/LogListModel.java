@@ -0,0 +1,172 @@
+package ui.panels;
+
+import util.Logger.LogLevel;
+
+import javax.swing.*;
+import java.util.Arrays;
+
+/**
+ * Modelo de lista respaldado por un ring buffer de capacidad fija: al llenarse, cada registro
+ * nuevo reemplaza al más antiguo, por lo que la memoria no crece con el tiempo de ejecución.
+ * <p>
+ * El filtro (nivel mínimo y texto) no copia registros: se mantiene un segundo anillo, de la misma
+ * capacidad, con las secuencias de los registros que coinciden. La lista solo pide los registros
+ * visibles. Todos los métodos deben llamarse desde el EDT.
+ */
+class LogListModel extends AbstractListModel<String> {
+    
+    private final int capacity;
+    private final String[] messages;
+    private final LogLevel[] levels;
+    /** Secuencia que recibirá el próximo registro. */
+    private long nextSequence;
+    
+    /** Secuencias de los registros que pasan el filtro, en orden. */
+    private final long[] matches;
+    private int matchHead;
+    private int matchCount;
+    
+    private LogLevel minimumLevel = LogLevel.TRACE;
+    private String filterText = "";
+    
+    LogListModel(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.messages = new String[capacity];
+        this.levels = new LogLevel[capacity];
+        this.matches = new long[capacity];
+    }
+    
+    @Override
+    public int getSize() {
+        return matchCount;
+    }
+    
+    @Override
+    public String getElementAt(int index) {
+        return messages[slot(matchAt(index))];
+    }
+    
+    LogLevel getLevelAt(int index) {
+        return levels[slot(matchAt(index))];
+    }
+    
+    /**
+     * Cantidad de registros en el buffer, sin aplicar el filtro.
+     */
+    int getRecordCount() {
+        return (int) Math.min(nextSequence, capacity);
+    }
+    
+    int getCapacity() {
+        return capacity;
+    }
+    
+    /**
+     * Agrega un registro, reemplazando al más antiguo si el buffer está lleno.
+     * No notifica a la lista: el llamador debe invocar {@link #fireAppended(int, int)} al terminar el lote.
+     *
+     * @return 1 si el registro reemplazado estaba visible y dejó de estarlo, 0 si no
+     */
+    int append(String message, LogLevel level) {
+        int removed = 0;
+        long evicted = nextSequence - capacity;
+        if (evicted >= 0 && matchCount > 0 && matches[matchHead] == evicted) {
+            matchHead = (matchHead + 1) % capacity;
+            matchCount--;
+            removed = 1;
+        }
+        long sequence = nextSequence++;
+        int slot = slot(sequence);
+        messages[slot] = message;
+        levels[slot] = level;
+        if (accepts(message, level)) {
+            matches[(matchHead + matchCount) % capacity] = sequence;
+            matchCount++;
+        }
+        return removed;
+    }
+    
+    /**
+     * Notifica a la lista un lote de {@link #append(String, LogLevel)}.
+     *
+     * @param removed      Filas visibles eliminadas del principio
+     * @param previousSize Tamaño visible antes del lote
+     */
+    void fireAppended(int removed, int previousSize) {
+        if (removed > 0) {
+            fireIntervalRemoved(this, 0, removed - 1);
+        }
+        int firstAdded = previousSize - removed;
+        if (matchCount > firstAdded) {
+            fireIntervalAdded(this, firstAdded, matchCount - 1);
+        }
+    }
+    
+    /**
+     * Cambia el filtro y recalcula las filas visibles recorriendo el buffer.
+     */
+    void setFilter(LogLevel minimumLevel, String filterText) {
+        this.minimumLevel = minimumLevel;
+        this.filterText = filterText == null ? "" : filterText;
+        
+        int previousSize = matchCount;
+        matchHead = 0;
+        matchCount = 0;
+        for (long sequence = Math.max(0, nextSequence - capacity); sequence < nextSequence; sequence++) {
+            int slot = slot(sequence);
+            if (accepts(messages[slot], levels[slot])) {
+                matches[matchCount++] = sequence;
+            }
+        }
+        if (previousSize > 0) {
+            fireIntervalRemoved(this, 0, previousSize - 1);
+        }
+        if (matchCount > 0) {
+            fireIntervalAdded(this, 0, matchCount - 1);
+        }
+    }
+    
+    void clear() {
+        int previousSize = matchCount;
+        Arrays.fill(messages, null);
+        Arrays.fill(levels, null);
+        nextSequence = 0;
+        matchHead = 0;
+        matchCount = 0;
+        if (previousSize > 0) {
+            fireIntervalRemoved(this, 0, previousSize - 1);
+        }
+    }
+    
+    private boolean accepts(String message, LogLevel level) {
+        return level.ordinal() >= minimumLevel.ordinal()
+                && (filterText.isEmpty() || containsIgnoreCase(message, filterText));
+    }
+    
+    private long matchAt(int index) {
+        if (index < 0 || index >= matchCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + matchCount);
+        }
+        return matches[(matchHead + index) % capacity];
+    }
+    
+    private int slot(long sequence) {
+        return (int) (sequence % capacity);
+    }
+    
+    /**
+     * Búsqueda sin distinguir mayúsculas y sin crear copias en minúsculas del mensaje.
+     */
+    private static boolean containsIgnoreCase(String text, String fragment) {
+        int last = text.length() - fragment.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, fragment, 0, fragment.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -3,38 +3,78 @@ package ui.panels;
 import util.Logger;
 import util.Logger.LogLevel;
 import util.Logger.LogListener;
+import util.logging.TimestampFormatter;
 
 import javax.swing.*;
-import javax.swing.text.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.util.ArrayDeque;
 
 /**
  * Panel para visualizar logs en tiempo real con colores según el nivel.
+ * Los registros se guardan en un ring buffer de capacidad fija ({@link LogListModel}) y se muestran
+ * en una {@link JList} que solo pinta las filas visibles, por lo que la memoria no crece sin importar
+ * cuánto tiempo lleve corriendo la aplicación. Los mensajes recibidos se acumulan y se aplican
+ * en un único lote por frame.
  */
 public class LogPanel extends JPanel implements LogListener {
     
-    private JTextPane logTextPane;
-    private StyledDocument document;
+    /** Cantidad de registros conservados por defecto. */
+    public static final int DEFAULT_CAPACITY = 10_000;
     
-    private Style infoStyle;
-    private Style warnStyle;
-    private Style errorStyle;
+    /** Intervalo entre lotes (~60 fps). */
+    private static final int FLUSH_INTERVAL_MS = 16;
+    
+    /**
+     * Fila de referencia para fijar alto y ancho de celda sin medir cada registro, con el mismo
+     * timestamp que escribe el Logger.
+     */
+    private static final String PROTOTYPE_ROW = "[" + TimestampFormatter.format(0) + "] [ERROR] " + "X".repeat(100);
+    
+    private static final Color DEBUG_COLOR = Color.GRAY;
+    private static final Color INFO_COLOR = new Color(0, 100, 200);
+    private static final Color WARN_COLOR = new Color(255, 140, 0);
+    private static final Color ERROR_COLOR = Color.RED;
+    
+    private final LogListModel model;
+    private final JList<String> logList;
+    private final JScrollPane scrollPane;
+    private final Font boldFont;
+    private JComboBox<LogLevel> levelFilter;
+    private JTextField textFilter;
+    
+    private final Object pendingLock = new Object();
+    private ArrayDeque<PendingLine> pending = new ArrayDeque<>();
+    private ArrayDeque<PendingLine> draining = new ArrayDeque<>();
+    private long skippedLines;
+    private final Timer flushTimer;
     
     public LogPanel() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * @param capacity Cantidad máxima de registros que conserva el panel
+     */
+    public LogPanel(int capacity) {
+        this.model = new LogListModel(capacity);
+        
         setLayout(new BorderLayout());
         setBorder(BorderFactory.createTitledBorder("Registro de Logs"));
         
-        // Crear el área de texto para logs
-        logTextPane = new JTextPane();
-        logTextPane.setEditable(false);
-        logTextPane.setFont(new Font("Monospaced", Font.PLAIN, 12));
-        document = logTextPane.getStyledDocument();
+        // Panel de filtros
+        add(createFilterPanel(), BorderLayout.NORTH);
         
-        // Configurar estilos de colores
-        setupStyles();
+        // Lista virtualizada: solo se pintan las filas visibles
+        logList = new JList<>(model);
+        logList.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        boldFont = logList.getFont().deriveFont(Font.BOLD);
+        logList.setPrototypeCellValue(PROTOTYPE_ROW);
+        logList.setCellRenderer(new LevelCellRenderer());
         
         // Scroll pane
-        JScrollPane scrollPane = new JScrollPane(logTextPane);
+        scrollPane = new JScrollPane(logList);
         scrollPane.setPreferredSize(new Dimension(600, 200));
         add(scrollPane, BorderLayout.CENTER);
         
@@ -45,61 +85,195 @@ public class LogPanel extends JPanel implements LogListener {
         buttonPanel.add(clearButton);
         add(buttonPanel, BorderLayout.SOUTH);
         
+        // Aplicar los mensajes pendientes una vez por frame en el EDT
+        flushTimer = new Timer(FLUSH_INTERVAL_MS, e -> flushPending());
+        flushTimer.start();
+        
         // Registrar este panel como listener del Logger
         Logger.getInstance().addLogListener(this);
     }
     
-    private void setupStyles() {
-        // Estilo INFO (azul)
-        infoStyle = logTextPane.addStyle("INFO", null);
-        StyleConstants.setForeground(infoStyle, new Color(0, 100, 200));
+    private JPanel createFilterPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        
+        panel.add(new JLabel("Nivel mínimo:"));
+        levelFilter = new JComboBox<>(new LogLevel[]{
+                LogLevel.TRACE, LogLevel.DEBUG, LogLevel.INFO, LogLevel.WARN, LogLevel.ERROR});
+        levelFilter.addActionListener(e -> applyFilter());
+        panel.add(levelFilter);
         
-        // Estilo WARN (naranja)
-        warnStyle = logTextPane.addStyle("WARN", null);
-        StyleConstants.setForeground(warnStyle, new Color(255, 140, 0));
-        StyleConstants.setBold(warnStyle, true);
+        panel.add(new JLabel("Buscar:"));
+        textFilter = new JTextField(20);
+        textFilter.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                applyFilter();
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                applyFilter();
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                applyFilter();
+            }
+        });
+        panel.add(textFilter);
         
-        // Estilo ERROR (rojo)
-        errorStyle = logTextPane.addStyle("ERROR", null);
-        StyleConstants.setForeground(errorStyle, Color.RED);
-        StyleConstants.setBold(errorStyle, true);
+        return panel;
     }
     
     @Override
     public void onLog(String message, LogLevel level) {
-        // Ejecutar en el Event Dispatch Thread
-        SwingUtilities.invokeLater(() -> {
-            try {
-                Style style = getStyleForLevel(level);
-                document.insertString(document.getLength(), message + "\n", style);
-                
-                // Auto-scroll al final
-                logTextPane.setCaretPosition(document.getLength());
-            } catch (BadLocationException e) {
-                e.printStackTrace();
+        // Solo encolar: el EDT aplica los mensajes en lotes
+        synchronized (pendingLock) {
+            if (pending.size() >= model.getCapacity()) {
+                // Se reemplazarían en el buffer de todos modos
+                pending.pollFirst();
+                skippedLines++;
             }
-        });
+            pending.addLast(new PendingLine(message, level));
+        }
+    }
+    
+    /**
+     * Aplica al modelo todos los mensajes pendientes. Se ejecuta en el EDT.
+     */
+    private void flushPending() {
+        ArrayDeque<PendingLine> batch;
+        synchronized (pendingLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = draining;
+            draining = batch;
+        }
+        boolean atBottom = isScrolledToBottom();
+        int previousSize = model.getSize();
+        int removed = 0;
+        for (PendingLine line : batch) {
+            removed += model.append(line.message, line.level);
+        }
+        batch.clear();
+        model.fireAppended(removed, previousSize);
+        
+        // Auto-scroll al final, salvo que el usuario se haya desplazado hacia arriba
+        if (atBottom && model.getSize() > 0) {
+            logList.ensureIndexIsVisible(model.getSize() - 1);
+        }
     }
     
-    private Style getStyleForLevel(LogLevel level) {
+    private boolean isScrolledToBottom() {
+        JScrollBar bar = scrollPane.getVerticalScrollBar();
+        return bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum();
+    }
+    
+    private void applyFilter() {
+        model.setFilter((LogLevel) levelFilter.getSelectedItem(), textFilter.getText().trim());
+    }
+    
+    private static Color getColorForLevel(LogLevel level) {
         switch (level) {
+            case TRACE:
+            case DEBUG:
+                return DEBUG_COLOR;
             case INFO:
-                return infoStyle;
+                return INFO_COLOR;
             case WARN:
-                return warnStyle;
+                return WARN_COLOR;
             case ERROR:
-                return errorStyle;
+                return ERROR_COLOR;
             default:
-                return infoStyle;
+                return INFO_COLOR;
+        }
+    }
+    
+    /**
+     * Cantidad de registros conservados, sin aplicar el filtro. Debe llamarse desde el EDT.
+     */
+    public int getRecordCount() {
+        return model.getRecordCount();
+    }
+    
+    /**
+     * Mensajes descartados antes de llegar al buffer porque se habrían reemplazado igual.
+     */
+    public long getSkippedLines() {
+        synchronized (pendingLock) {
+            return skippedLines;
+        }
+    }
+    
+    /**
+     * Detiene el timer de refresco y deja de escuchar al Logger. Después de llamarlo el panel ya no
+     * recibe mensajes; debe llamarse desde el EDT.
+     */
+    public void dispose() {
+        flushTimer.stop();
+        Logger.getInstance().removeLogListener(this);
+        synchronized (pendingLock) {
+            pending.clear();
         }
     }
     
     private void clearLogs() {
-        try {
-            document.remove(0, document.getLength());
-        } catch (BadLocationException e) {
-            e.printStackTrace();
+        synchronized (pendingLock) {
+            pending.clear();
+        }
+        model.clear();
+    }
+    
+    /**
+     * Pinta cada fila con el color de su nivel; WARN y ERROR en negrita.
+     */
+    private final class LevelCellRenderer extends DefaultListCellRenderer {
+        
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+            if (index < 0 || index >= model.getSize()) {
+                // Fila prototipo
+                return this;
+            }
+            showFirstLine(String.valueOf(value));
+            LogLevel level = model.getLevelAt(index);
+            if (!isSelected) {
+                setForeground(getColorForLevel(level));
+            }
+            if (level == LogLevel.WARN || level == LogLevel.ERROR) {
+                setFont(boldFont);
+            }
+            return this;
+        }
+        
+        /**
+         * Los registros con traza ocupan varias líneas: la fila muestra la primera y
+         * el tooltip el texto completo.
+         */
+        private void showFirstLine(String text) {
+            int lineEnd = text.indexOf('\n');
+            if (lineEnd < 0) {
+                setToolTipText(null);
+                return;
+            }
+            int firstLineEnd = lineEnd > 0 && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            setText(text.substring(0, firstLineEnd) + "  [+ traza]");
+            String escaped = text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+            setToolTipText("<html><pre>" + escaped + "</pre></html>");
+        }
+    }
+    
+    private static final class PendingLine {
+        private final String message;
+        private final LogLevel level;
+        
+        private PendingLine(String message, LogLevel level) {
+            this.message = message;
+            this.level = level;
         }
     }
 }
-
@@ -1,6 +1,10 @@
 package ui.panels;
 
 import domain.entity.Professor;
+import domain.entity.UniqueKeyListener;
+import domain.repository.EntityRepository;
+import domain.repository.Repositories;
+import util.LoggerHelper;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -8,7 +12,6 @@ import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,7 +19,7 @@ import java.util.List;
  */
 public class ProfessorPanel extends JPanel {
     
-    private List<Professor> professors = new ArrayList<>();
+    private final EntityRepository<Professor> professors = Repositories.professors();
     private DefaultTableModel tableModel;
     private JTable table;
     
@@ -185,11 +188,21 @@ public class ProfessorPanel extends JPanel {
                 JOptionPane.ERROR_MESSAGE);
             return;
         }
+        if (rejectDuplicate(UniqueKeyListener.EMAIL, "email", email, email)
+                || rejectDuplicate(UniqueKeyListener.PERSONAL_ID, "ID personal", personalId, email)) {
+            return;
+        }
         
         try {
             LocalDate enrollmentDate = LocalDate.parse(enrollmentDateStr, DateTimeFormatter.ISO_LOCAL_DATE);
             Professor professor = new Professor(name, email, personalId, enrollmentDate);
-            professors.add(professor);
+            try {
+                professors.add(professor);
+            } catch (IllegalArgumentException e) {
+                // Otro alta tomó el valor entre la comprobación y el add
+                LoggerHelper.errorCreationFailed("Professor", e.getMessage());
+                throw e;
+            }
             refreshTable();
             nameField.setText("");
             emailField.setText("");
@@ -213,6 +226,22 @@ public class ProfessorPanel extends JPanel {
         }
     }
     
+    /**
+     * Rechaza el alta si el valor ya está en uso en un campo único. Se comprueba antes de construir la
+     * entidad porque su constructor ya registra el alta en el log.
+     */
+    private boolean rejectDuplicate(String field, String label, String value, String identifier) {
+        if (!professors.contains(field, value)) {
+            return false;
+        }
+        LoggerHelper.warnDuplicateOperation("Professor", identifier, "create");
+        JOptionPane.showMessageDialog(this, 
+            "Error al crear profesor: ya existe un profesor con " + label + " '" + value + "'", 
+            "Error", 
+            JOptionPane.ERROR_MESSAGE);
+        return true;
+    }
+    
     private void updateProfessorEmail() {
         int selectedRow = table.getSelectedRow();
         if (selectedRow == -1) {
@@ -223,7 +252,8 @@ public class ProfessorPanel extends JPanel {
             return;
         }
         
-        Professor professor = professors.get(selectedRow);
+        // Por el ID de la fila: la tabla puede estar filtrada por una búsqueda
+        Professor professor = professors.findById((Long) tableModel.getValueAt(selectedRow, 0));
         String newEmail = JOptionPane.showInputDialog(this, 
             "Ingresa el nuevo email para " + professor.getName() + ":", 
             professor.getEmail());
@@ -256,7 +286,8 @@ public class ProfessorPanel extends JPanel {
             return;
         }
         
-        Professor professor = professors.get(selectedRow);
+        // Por el ID de la fila: la tabla puede estar filtrada por una búsqueda
+        Professor professor = professors.findById((Long) tableModel.getValueAt(selectedRow, 0));
         int confirm = JOptionPane.showConfirmDialog(this, 
             "¿Estás seguro de eliminar al profesor: " + professor.getName() + "?", 
             "Confirmar Eliminación", 
@@ -264,7 +295,7 @@ public class ProfessorPanel extends JPanel {
         
         if (confirm == JOptionPane.YES_OPTION) {
             professor.delete();
-            professors.remove(selectedRow);
+            professors.remove(professor);
             refreshTable();
             
             JOptionPane.showMessageDialog(this, 
@@ -275,7 +306,7 @@ public class ProfessorPanel extends JPanel {
     }
     
     private void searchProfessors() {
-        String searchTerm = searchField.getText().trim().toLowerCase();
+        String searchTerm = searchField.getText().trim();
         
         if (searchTerm.isEmpty()) {
             refreshTable();
@@ -283,24 +314,21 @@ public class ProfessorPanel extends JPanel {
         }
         
         tableModel.setRowCount(0);
-        for (Professor professor : professors) {
-            if (professor.getName().toLowerCase().contains(searchTerm) ||
-                professor.getEmail().toLowerCase().contains(searchTerm) ||
-                professor.getPersonalId().toLowerCase().contains(searchTerm)) {
-                tableModel.addRow(new Object[]{
-                    professor.getId(), 
-                    professor.getName(), 
-                    professor.getEmail(), 
-                    professor.getPersonalId(),
-                    professor.getEnrollmentDate()
-                });
-            }
+        // Índice de trigramas del repositorio: solo verifica los candidatos
+        for (Professor professor : professors.search(searchTerm)) {
+            tableModel.addRow(new Object[]{
+                professor.getId(), 
+                professor.getName(), 
+                professor.getEmail(), 
+                professor.getPersonalId(),
+                professor.getEnrollmentDate()
+            });
         }
     }
     
     private void refreshTable() {
         tableModel.setRowCount(0);
-        for (Professor professor : professors) {
+        for (Professor professor : professors.findAll()) {
             tableModel.addRow(new Object[]{
                 professor.getId(), 
                 professor.getName(), 
@@ -312,7 +340,7 @@ public class ProfessorPanel extends JPanel {
     }
     
     public List<Professor> getProfessors() {
-        return professors;
+        return professors.findAll();
     }
 }
 
@@ -1,6 +1,10 @@
 package ui.panels;
 
 import domain.entity.Student;
+import domain.entity.UniqueKeyListener;
+import domain.repository.EntityRepository;
+import domain.repository.Repositories;
+import util.LoggerHelper;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -8,7 +12,6 @@ import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,7 +19,7 @@ import java.util.List;
  */
 public class StudentPanel extends JPanel {
     
-    private List<Student> students = new ArrayList<>();
+    private final EntityRepository<Student> students = Repositories.students();
     private DefaultTableModel tableModel;
     private JTable table;
     
@@ -199,12 +202,22 @@ public class StudentPanel extends JPanel {
                 JOptionPane.ERROR_MESSAGE);
             return;
         }
+        if (rejectDuplicate(UniqueKeyListener.EMAIL, "email", email, email)
+                || rejectDuplicate(UniqueKeyListener.PERSONAL_ID, "ID personal", personalId, email)) {
+            return;
+        }
         
         try {
             LocalDate enrollmentDate = LocalDate.parse(enrollmentDateStr, DateTimeFormatter.ISO_LOCAL_DATE);
             Student student = new Student(firstName, lastName, email, personalId, enrollmentDate);
             
-            students.add(student);
+            try {
+                students.add(student);
+            } catch (IllegalArgumentException e) {
+                // Otro alta tomó el valor entre la comprobación y el add
+                LoggerHelper.errorCreationFailed("Student", e.getMessage());
+                throw e;
+            }
             refreshTable();
             firstNameField.setText("");
             lastNameField.setText("");
@@ -229,6 +242,22 @@ public class StudentPanel extends JPanel {
         }
     }
     
+    /**
+     * Rechaza el alta si el valor ya está en uso en un campo único. Se comprueba antes de construir la
+     * entidad porque su constructor ya registra el alta en el log.
+     */
+    private boolean rejectDuplicate(String field, String label, String value, String identifier) {
+        if (!students.contains(field, value)) {
+            return false;
+        }
+        LoggerHelper.warnDuplicateOperation("Student", identifier, "create");
+        JOptionPane.showMessageDialog(this, 
+            "Error al registrar estudiante: ya existe un estudiante con " + label + " '" + value + "'", 
+            "Error", 
+            JOptionPane.ERROR_MESSAGE);
+        return true;
+    }
+    
     private void modifyStudent() {
         int selectedRow = table.getSelectedRow();
         if (selectedRow == -1) {
@@ -239,7 +268,8 @@ public class StudentPanel extends JPanel {
             return;
         }
         
-        Student student = students.get(selectedRow);
+        // Por el ID de la fila: la tabla puede estar filtrada por una búsqueda
+        Student student = students.findById((Long) tableModel.getValueAt(selectedRow, 0));
         
         // Crear diálogo personalizado
         JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), 
@@ -341,19 +371,19 @@ public class StudentPanel extends JPanel {
                 
                 LocalDate newEnrollmentDate = LocalDate.parse(newEnrollmentDateStr, DateTimeFormatter.ISO_LOCAL_DATE);
                 
-                // Actualizar campos del estudiante
-                if (!newFirstName.equals(student.getFirstName())) {
-                    student.updateFirstName(newFirstName);
-                }
-                if (!newLastName.equals(student.getLastName())) {
-                    student.updateLastName(newLastName);
-                }
+                // Actualizar campos del estudiante (primero los únicos, que pueden rechazarse por duplicados)
                 if (!newEmail.equals(student.getEmail())) {
                     student.updateEmail(newEmail);
                 }
                 if (!newPersonalId.equals(student.getPersonalId())) {
                     student.updatePersonalId(newPersonalId);
                 }
+                if (!newFirstName.equals(student.getFirstName())) {
+                    student.updateFirstName(newFirstName);
+                }
+                if (!newLastName.equals(student.getLastName())) {
+                    student.updateLastName(newLastName);
+                }
                 if (!newEnrollmentDate.equals(student.getEnrollmentDate())) {
                     student.updateEnrollmentDate(newEnrollmentDate);
                 }
@@ -365,7 +395,7 @@ public class StudentPanel extends JPanel {
                     "Estudiante modificado exitosamente", 
                     "Éxito", 
                     JOptionPane.INFORMATION_MESSAGE);
-                    
+            
             } catch (DateTimeParseException ex) {
                 JOptionPane.showMessageDialog(dialog, 
                     "Formato de fecha inválido. Use YYYY-MM-DD", 
@@ -399,7 +429,8 @@ public class StudentPanel extends JPanel {
             return;
         }
         
-        Student student = students.get(selectedRow);
+        // Por el ID de la fila: la tabla puede estar filtrada por una búsqueda
+        Student student = students.findById((Long) tableModel.getValueAt(selectedRow, 0));
         int confirm = JOptionPane.showConfirmDialog(this, 
             "¿Estás seguro de eliminar al estudiante: " + student.getFullName() + "?", 
             "Confirmar Eliminación", 
@@ -407,7 +438,7 @@ public class StudentPanel extends JPanel {
         
         if (confirm == JOptionPane.YES_OPTION) {
             student.delete();
-            students.remove(selectedRow);
+            students.remove(student);
             refreshTable();
             
             JOptionPane.showMessageDialog(this, 
@@ -418,7 +449,7 @@ public class StudentPanel extends JPanel {
     }
     
     private void searchStudents() {
-        String searchTerm = searchField.getText().trim().toLowerCase();
+        String searchTerm = searchField.getText().trim();
         
         if (searchTerm.isEmpty()) {
             refreshTable();
@@ -426,24 +457,21 @@ public class StudentPanel extends JPanel {
         }
         
         tableModel.setRowCount(0);
-        for (Student student : students) {
-            if (student.getFullName().toLowerCase().contains(searchTerm) ||
-                student.getEmail().toLowerCase().contains(searchTerm) ||
-                student.getPersonalId().toLowerCase().contains(searchTerm)) {
-                tableModel.addRow(new Object[]{
-                    student.getId(), 
-                    student.getFullName(), 
-                    student.getEmail(), 
-                    student.getPersonalId(),
-                    student.getEnrollmentDate()
-                });
-            }
+        // Índice de trigramas del repositorio: solo verifica los candidatos
+        for (Student student : students.search(searchTerm)) {
+            tableModel.addRow(new Object[]{
+                student.getId(), 
+                student.getFullName(), 
+                student.getEmail(), 
+                student.getPersonalId(),
+                student.getEnrollmentDate()
+            });
         }
     }
     
     private void refreshTable() {
         tableModel.setRowCount(0);
-        for (Student student : students) {
+        for (Student student : students.findAll()) {
             tableModel.addRow(new Object[]{
                 student.getId(), 
                 student.getFullName(), 
@@ -455,7 +483,7 @@ public class StudentPanel extends JPanel {
     }
     
     public List<Student> getStudents() {
-        return students;
+        return students.findAll();
     }
 }
 
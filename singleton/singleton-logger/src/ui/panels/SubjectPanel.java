@@ -1,11 +1,14 @@
 package ui.panels;
 
 import domain.entity.Subject;
+import domain.entity.UniqueKeyListener;
+import domain.repository.EntityRepository;
+import domain.repository.Repositories;
+import util.LoggerHelper;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -13,7 +16,7 @@ import java.util.List;
  */
 public class SubjectPanel extends JPanel {
     
-    private List<Subject> subjects = new ArrayList<>();
+    private final EntityRepository<Subject> subjects = Repositories.subjects();
     private DefaultTableModel tableModel;
     private JTable table;
     
@@ -169,11 +172,20 @@ public class SubjectPanel extends JPanel {
                 JOptionPane.ERROR_MESSAGE);
             return;
         }
+        if (rejectDuplicate(UniqueKeyListener.CODE, "código", code, code)) {
+            return;
+        }
         
         try {
             Subject subject = new Subject(name, code, credits);
             
-            subjects.add(subject);
+            try {
+                subjects.add(subject);
+            } catch (IllegalArgumentException e) {
+                // Otro alta tomó el valor entre la comprobación y el add
+                LoggerHelper.errorCreationFailed("Subject", e.getMessage());
+                throw e;
+            }
             refreshTable();
             nameField.setText("");
             codeField.setText("");
@@ -191,6 +203,22 @@ public class SubjectPanel extends JPanel {
         }
     }
     
+    /**
+     * Rechaza el alta si el valor ya está en uso en un campo único. Se comprueba antes de construir la
+     * entidad porque su constructor ya registra el alta en el log.
+     */
+    private boolean rejectDuplicate(String field, String label, String value, String identifier) {
+        if (!subjects.contains(field, value)) {
+            return false;
+        }
+        LoggerHelper.warnDuplicateOperation("Subject", identifier, "create");
+        JOptionPane.showMessageDialog(this, 
+            "Error al crear materia: ya existe una materia con " + label + " '" + value + "'", 
+            "Error", 
+            JOptionPane.ERROR_MESSAGE);
+        return true;
+    }
+    
     private void updateSubject() {
         int selectedRow = table.getSelectedRow();
         if (selectedRow == -1) {
@@ -201,7 +229,8 @@ public class SubjectPanel extends JPanel {
             return;
         }
         
-        Subject subject = subjects.get(selectedRow);
+        // Por el ID de la fila: la tabla puede estar filtrada por una búsqueda
+        Subject subject = subjects.findById((Long) tableModel.getValueAt(selectedRow, 0));
         String newName = JOptionPane.showInputDialog(this, 
             "Ingresa el nuevo nombre para la materia:", 
             subject.getName());
@@ -234,7 +263,8 @@ public class SubjectPanel extends JPanel {
             return;
         }
         
-        Subject subject = subjects.get(selectedRow);
+        // Por el ID de la fila: la tabla puede estar filtrada por una búsqueda
+        Subject subject = subjects.findById((Long) tableModel.getValueAt(selectedRow, 0));
         int confirm = JOptionPane.showConfirmDialog(this, 
             "¿Estás seguro de eliminar la materia: " + subject.getName() + "?", 
             "Confirmar Eliminación", 
@@ -242,7 +272,7 @@ public class SubjectPanel extends JPanel {
         
         if (confirm == JOptionPane.YES_OPTION) {
             subject.delete();
-            subjects.remove(selectedRow);
+            subjects.remove(subject);
             refreshTable();
             
             JOptionPane.showMessageDialog(this, 
@@ -253,7 +283,7 @@ public class SubjectPanel extends JPanel {
     }
     
     private void searchSubjects() {
-        String searchTerm = searchField.getText().trim().toLowerCase();
+        String searchTerm = searchField.getText().trim();
         
         if (searchTerm.isEmpty()) {
             refreshTable();
@@ -261,22 +291,20 @@ public class SubjectPanel extends JPanel {
         }
         
         tableModel.setRowCount(0);
-        for (Subject subject : subjects) {
-            if (subject.getName().toLowerCase().contains(searchTerm) ||
-                subject.getCode().toLowerCase().contains(searchTerm)) {
-                tableModel.addRow(new Object[]{
-                    subject.getId(), 
-                    subject.getName(), 
-                    subject.getCode(), 
-                    subject.getCredits()
-                });
-            }
+        // Índice de trigramas del repositorio: solo verifica los candidatos
+        for (Subject subject : subjects.search(searchTerm)) {
+            tableModel.addRow(new Object[]{
+                subject.getId(), 
+                subject.getName(), 
+                subject.getCode(), 
+                subject.getCredits()
+            });
         }
     }
     
     private void refreshTable() {
         tableModel.setRowCount(0);
-        for (Subject subject : subjects) {
+        for (Subject subject : subjects.findAll()) {
             tableModel.addRow(new Object[]{
                 subject.getId(), 
                 subject.getName(), 
@@ -287,7 +315,7 @@ public class SubjectPanel extends JPanel {
     }
     
     public List<Subject> getSubjects() {
-        return subjects;
+        return subjects.findAll();
     }
 }
 
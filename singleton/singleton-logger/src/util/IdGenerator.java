@@ -1,14 +1,91 @@
 package util;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Generador de IDs único y thread-safe para entidades.
  * Utiliza un contador por tipo de entidad.
+ * <p>
+ * Con {@link AllocationMode#THREAD_LOCAL_BLOCKS} cada hilo reserva un bloque de IDs consecutivos con
+ * una sola operación sobre el contador compartido y los entrega sin volver a tocarlo. Sirve cuando
+ * muchos hilos crean entidades del mismo tipo a la vez (importaciones masivas), a cambio de que los
+ * IDs ya no sigan el orden de creación entre hilos y de que queden huecos con los bloques sin terminar.
+ * <p>
+ * Los contadores empiezan en 0 en cada JVM, así que dos instancias del sistema generan los mismos IDs.
+ * Los tipos registrados con {@link #useTimeOrderedIds(Class)} reciben en cambio IDs de 64 bits
+ * ordenados por tiempo, únicos entre nodos con distinto {@link #setNodeId(int) nodo}:
+ * <pre>
+ * 0 | milisegundos desde 2024-01-01T00:00Z (41 bits) | nodo (10 bits) | secuencia (12 bits)
+ * </pre>
+ * Con {@link #enablePersistence(Path)} los contadores sobreviven a un reinicio: cada tipo reserva IDs por
+ * adelantado en leases y guarda el final del lease en un archivo mapeado en memoria antes de entregarlos.
  */
 public class IdGenerator {
-    private static final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /** Ruta de cada clase, resuelta una sola vez por clase (sin {@code getSimpleName()} por llamada). */
+    private static final ClassValue<Route> routes = new ClassValue<Route>() {
+        @Override
+        protected Route computeValue(Class<?> type) {
+            return new Route(type, counters.computeIfAbsent(type.getSimpleName(), Counter::new));
+        }
+    };
+
+    /** Tamaño de bloque inicial y mínimo. */
+    static final int MIN_BLOCK_SIZE = 16;
+    /** Tamaño de bloque máximo, al que se llega solo con contención sostenida. */
+    static final int MAX_BLOCK_SIZE = 4096;
+    /** Reservas seguidas sin contención tras las que el bloque se achica a la mitad. */
+    private static final int SHRINK_AFTER = 8;
+
+    private static volatile AllocationMode allocationMode = AllocationMode.SHARED_COUNTER;
+
+    /** Propiedad de sistema con el nodo inicial de los IDs ordenados por tiempo. */
+    public static final String NODE_ID_PROPERTY = "idgenerator.nodeId";
+    /** Época de los IDs ordenados por tiempo. */
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+    /** Mayor nodo posible (10 bits). */
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 10;
+    private static final long EPOCH_MILLIS = EPOCH.toEpochMilli();
+
+    /** Tipos (y sus subclases) que usan IDs ordenados por tiempo. */
+    private static final Set<Class<?>> timeOrderedTypes = ConcurrentHashMap.newKeySet();
+    /** Cambia con cada registro, para que las rutas ya resueltas vuelvan a mirar {@link #timeOrderedTypes}. */
+    private static volatile int timeOrderedVersion = 1;
+    /**
+     * Último instante y secuencia entregados, {@code milisegundos << 12 | secuencia}. Nunca retrocede:
+     * es el reloj lógico de los IDs ordenados por tiempo.
+     */
+    private static final AtomicLong lastTimeOrdered = new AtomicLong(0);
+    private static volatile long nodeBits = (long) initialNodeId() << SEQUENCE_BITS;
+
+    /** Propiedad de sistema con la ruta del archivo de marcas de agua alta; ver {@code Main}. */
+    public static final String HIGH_WATER_MARKS_PROPERTY = "idgenerator.highWaterMarks";
+    /** IDs reservados por cada escritura al archivo de marcas. */
+    public static final int DEFAULT_LEASE_SIZE = 10_000;
+
+    /** Archivo de marcas de agua alta, o null si los contadores no se persisten. */
+    private static volatile IdHighWaterMarks highWaterMarks;
+    private static volatile int leaseSize = DEFAULT_LEASE_SIZE;
+
+    /**
+     * Cómo se reparten los IDs entre hilos.
+     */
+    public enum AllocationMode {
+        /** Un incremento atómico del contador del tipo por cada ID: IDs en orden de creación. */
+        SHARED_COUNTER,
+        /** Cada hilo reserva bloques de IDs; el tamaño del bloque crece con la contención. */
+        THREAD_LOCAL_BLOCKS
+    }
 
     private IdGenerator() {
         // Clase de utilidad: evita instanciación
@@ -18,9 +95,268 @@ public class IdGenerator {
      * Genera un ID único e incremental para la clase de entidad especificada.
      */
     public static long generateId(Class<?> entityClass) {
-        return counters
-                .computeIfAbsent(entityClass.getSimpleName(), k -> new AtomicLong(0))
-                .incrementAndGet();
+        Route route = routes.get(entityClass);
+        if (route.isTimeOrdered()) {
+            return nextTimeOrderedId();
+        }
+        Counter counter = route.counter;
+        if (allocationMode == AllocationMode.THREAD_LOCAL_BLOCKS) {
+            return counter.blocks.get().next(counter);
+        }
+        long id = counter.value.incrementAndGet();
+        if (id > counter.leaseLimit) {
+            counter.extendLease(id);
+        }
+        return id;
     }
-}
 
+    /**
+     * Cambia el modo de asignación. Se puede cambiar en cualquier momento: los dos modos toman IDs
+     * del mismo contador, así que no se repiten; los bloques a medio usar se abandonan (huecos).
+     */
+    public static void setAllocationMode(AllocationMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Allocation mode cannot be null");
+        }
+        allocationMode = mode;
+    }
+
+    public static AllocationMode getAllocationMode() {
+        return allocationMode;
+    }
+
+    /**
+     * Hace que el tipo y sus subclases reciban IDs ordenados por tiempo en lugar del contador.
+     * Por ejemplo {@code useTimeOrderedIds(User.class)} cubre a Student y Professor. Los IDs ordenados
+     * por tiempo son mucho mayores que los del contador, así que no se pisan con los ya entregados.
+     */
+    public static synchronized void useTimeOrderedIds(Class<?> entityType) {
+        if (entityType == null) {
+            throw new IllegalArgumentException("Entity type cannot be null");
+        }
+        if (timeOrderedTypes.add(entityType)) {
+            timeOrderedVersion++;
+        }
+    }
+
+    /**
+     * Nodo que se escribe en los IDs ordenados por tiempo, entre 0 y {@value #MAX_NODE_ID}. Cada instancia
+     * del sistema debe tener uno distinto; el inicial se toma de la propiedad {@value #NODE_ID_PROPERTY}.
+     */
+    public static void setNodeId(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    public static int getNodeId() {
+        return (int) (nodeBits >>> SEQUENCE_BITS);
+    }
+
+    /**
+     * Instante de creación codificado en un ID ordenado por tiempo.
+     */
+    public static Instant timestampOf(long timeOrderedId) {
+        return Instant.ofEpochMilli(EPOCH_MILLIS + (timeOrderedId >>> (NODE_BITS + SEQUENCE_BITS)));
+    }
+
+    /**
+     * Siguiente ID ordenado por tiempo. Sin locks: un CAS sobre el reloj lógico. En el mismo milisegundo
+     * se incrementa la secuencia; si se agotan las 4096 secuencias, o si el reloj del sistema retrocede,
+     * el reloj lógico sigue avanzando desde el último valor (el acarreo pasa al campo de milisegundos)
+     * hasta que el reloj real lo alcance. Así los IDs nunca se repiten ni retroceden y nadie espera.
+     */
+    static long nextTimeOrderedId() {
+        long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        long candidate = now << SEQUENCE_BITS;
+        while (true) {
+            long last = lastTimeOrdered.get();
+            long next = candidate > last ? candidate : last + 1;
+            if (lastTimeOrdered.compareAndSet(last, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return millis << (NODE_BITS + SEQUENCE_BITS) | nodeBits | sequence;
+            }
+        }
+    }
+
+    /**
+     * Persiste los contadores en {@code file} con leases de {@value #DEFAULT_LEASE_SIZE} IDs.
+     */
+    public static void enablePersistence(Path file) throws IOException {
+        enablePersistence(file, DEFAULT_LEASE_SIZE);
+    }
+
+    /**
+     * Persiste los contadores en {@code file}, un archivo mapeado en memoria con la marca de agua alta
+     * (último ID reservado) de cada tipo. Al llamarlo se leen todas las marcas de una vez y cada contador
+     * sigue desde la suya. Después, cada vez que un contador pasa el final de su lease reserva
+     * {@code leaseSize} IDs más y los sincroniza con el disco antes de entregar el primero: el disco se
+     * toca una vez por lease, y una caída solo pierde lo que quedaba del lease en curso (huecos, nunca
+     * IDs repetidos).
+     * <p>
+     * Llamarlo al arrancar, antes de crear entidades. El archivo queda bloqueado hasta que termina el proceso.
+     */
+    public static synchronized void enablePersistence(Path file, int leaseSize) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("High-water mark file cannot be null");
+        }
+        if (leaseSize < 1) {
+            throw new IllegalArgumentException("Lease size must be positive");
+        }
+        if (highWaterMarks != null) {
+            throw new IllegalStateException("Id persistence is already enabled");
+        }
+        IdHighWaterMarks marks = IdHighWaterMarks.open(file);
+        Map<String, Long> recovered;
+        try {
+            recovered = marks.readAll();
+        } catch (IOException e) {
+            marks.close();
+            throw e;
+        }
+        IdGenerator.leaseSize = leaseSize;
+        highWaterMarks = marks;
+        for (Map.Entry<String, Long> entry : recovered.entrySet()) {
+            long mark = entry.getValue();
+            counters.computeIfAbsent(entry.getKey(), Counter::new).value.accumulateAndGet(mark, Math::max);
+        }
+        // Sin lease vigente: el próximo ID de cada tipo reserva uno nuevo.
+        for (Counter counter : counters.values()) {
+            counter.leaseLimit = 0;
+        }
+    }
+
+    private static int initialNodeId() {
+        String value = System.getProperty(NODE_ID_PROPERTY);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            int nodeId = Integer.parseInt(value.trim());
+            if (nodeId >= 0 && nodeId <= MAX_NODE_ID) {
+                return nodeId;
+            }
+        } catch (NumberFormatException e) {
+            // se informa abajo
+        }
+        System.err.println("IdGenerator: invalid " + NODE_ID_PROPERTY + " '" + value + "', using 0");
+        return 0;
+    }
+
+    /**
+     * Cómo se resuelven los IDs de una clase: su contador y si está registrada para IDs ordenados por tiempo.
+     */
+    private static final class Route {
+        final Class<?> type;
+        final Counter counter;
+        /**
+         * {@code versión << 1 | ordenadoPorTiempo}. Un solo int para que una lectura concurrente vea
+         * siempre una versión con su propio valor; en una carrera, dos hilos recalculan lo mismo.
+         */
+        private int state;
+
+        Route(Class<?> type, Counter counter) {
+            this.type = type;
+            this.counter = counter;
+        }
+
+        boolean isTimeOrdered() {
+            int version = timeOrderedVersion;
+            int current = state;
+            if ((current >>> 1) != version) {
+                current = version << 1 | (resolveTimeOrdered() ? 1 : 0);
+                state = current;
+            }
+            return (current & 1) != 0;
+        }
+
+        private boolean resolveTimeOrdered() {
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                if (timeOrderedTypes.contains(c)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Contador de un tipo de entidad: el último ID entregado o reservado, el final del lease persistido
+     * y el bloque de cada hilo.
+     */
+    private static final class Counter {
+        final String name;
+        final AtomicLong value = new AtomicLong(0);
+        final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+        /** Mayor ID que se puede entregar sin escribir al archivo; sin persistencia, sin límite. */
+        volatile long leaseLimit;
+
+        Counter(String name) {
+            this.name = name;
+            this.leaseLimit = highWaterMarks != null ? 0 : Long.MAX_VALUE;
+        }
+
+        /**
+         * Extiende el lease hasta cubrir {@code id}. Los hilos que pasaron el límite esperan acá a que la
+         * nueva marca esté en disco; los que quedaron dentro del lease no se enteran.
+         */
+        synchronized void extendLease(long id) {
+            if (id <= leaseLimit) {
+                return;
+            }
+            IdHighWaterMarks marks = highWaterMarks;
+            long limit = id + leaseSize - 1;
+            marks.store(name, limit);
+            leaseLimit = limit;
+        }
+    }
+
+    /**
+     * Bloque reservado por un hilo: entrega {@code next..limit} y luego reserva otro. Solo lo usa su hilo.
+     */
+    private static final class Block {
+        private long next;
+        private long limit;
+        private int size = MIN_BLOCK_SIZE;
+        private int uncontended;
+
+        long next(Counter counter) {
+            if (next >= limit) {
+                reserve(counter);
+            }
+            return next++;
+        }
+
+        /**
+         * Reserva el siguiente bloque con un CAS. Si el CAS falla, otro hilo reservó en el medio:
+         * el bloque se duplica para pasar menos veces por el contador. Tras varias reservas sin
+         * contención se achica, para no dejar huecos grandes cuando un hilo deja de crear entidades.
+         */
+        private void reserve(Counter counter) {
+            AtomicLong value = counter.value;
+            boolean contended = false;
+            long start;
+            while (true) {
+                start = value.get();
+                if (value.compareAndSet(start, start + size)) {
+                    break;
+                }
+                contended = true;
+            }
+            if (start + size > counter.leaseLimit) {
+                counter.extendLease(start + size);
+            }
+            next = start + 1;
+            limit = start + size + 1;
+            if (contended) {
+                uncontended = 0;
+                size = Math.min(MAX_BLOCK_SIZE, size * 2);
+            } else if (++uncontended >= SHRINK_AFTER) {
+                uncontended = 0;
+                size = Math.max(MIN_BLOCK_SIZE, size / 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Archivo mapeado en memoria con la marca de agua alta (el mayor ID reservado) de cada tipo de entidad.
+ * Tamaño fijo, {@value #SLOTS} ranuras de {@value #SLOT_SIZE} bytes:
+ * <pre>
+ * "IDHW" versión:byte  ranuras:int32  (relleno hasta 64 bytes)
+ * ranura: marca:int64  largo:byte  nombre:UTF-8 (hasta 55 bytes)
+ * </pre>
+ * Una ranura nueva se escribe completa y se sincroniza antes de contarla en el encabezado, así que una
+ * caída a la mitad deja la ranura sin contar y el tipo empieza de nuevo desde 0 (nunca entregó IDs,
+ * porque el ID sale recién después de sincronizar). Las marcas se actualizan con una escritura alineada
+ * de 8 bytes y un {@code force()}, una vez por lease.
+ * <p>
+ * El archivo queda bloqueado mientras está abierto: dos procesos con el mismo archivo repetirían IDs.
+ */
+final class IdHighWaterMarks {
+
+    static final byte[] MAGIC = {'I', 'D', 'H', 'W'};
+    static final byte VERSION = 1;
+    static final int SLOT_SIZE = 64;
+    static final int SLOTS = 1023;
+    static final int MAX_NAME_BYTES = SLOT_SIZE - Long.BYTES - 1;
+
+    private static final int HEADER_SIZE = SLOT_SIZE;
+    private static final int COUNT_OFFSET = MAGIC.length + 1;
+    private static final int FILE_SIZE = HEADER_SIZE + SLOTS * SLOT_SIZE;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer buffer;
+    /** Ranura de cada tipo, por nombre. Solo se modifica bajo el monitor de esta clase. */
+    private final Map<String, Integer> slots = new LinkedHashMap<>();
+
+    private IdHighWaterMarks(Path file, FileChannel channel, FileLock lock, MappedByteBuffer buffer) {
+        this.file = file;
+        this.channel = channel;
+        this.lock = lock;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Abre (o crea) el archivo y lo bloquea.
+     */
+    static IdHighWaterMarks open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                throw new IOException(file + ": already in use by another process");
+            }
+            boolean created = channel.size() == 0;
+            if (!created && channel.size() != FILE_SIZE) {
+                throw new IOException(file + ": not an id high-water mark file");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            IdHighWaterMarks marks = new IdHighWaterMarks(file, channel, lock, buffer);
+            // Encabezado en cero: el proceso que lo creó cayó antes de escribirlo
+            if (created || buffer.getInt(0) == 0) {
+                buffer.put(MAGIC);
+                buffer.put(VERSION);
+                buffer.putInt(COUNT_OFFSET, 0);
+                buffer.force();
+            } else {
+                marks.checkHeader();
+            }
+            return marks;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void checkHeader() throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        buffer.duplicate().get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException(file + ": not an id high-water mark file");
+        }
+        int version = buffer.get(MAGIC.length);
+        if (version != VERSION) {
+            throw new IOException(file + ": unsupported version " + version);
+        }
+    }
+
+    /**
+     * Todas las marcas guardadas, por nombre de tipo, en una sola pasada sobre el archivo.
+     */
+    synchronized Map<String, Long> readAll() throws IOException {
+        int count = buffer.getInt(COUNT_OFFSET);
+        if (count < 0 || count > SLOTS) {
+            throw new IOException(file + ": corrupt slot count " + count);
+        }
+        Map<String, Long> marks = new LinkedHashMap<>();
+        for (int slot = 0; slot < count; slot++) {
+            int base = HEADER_SIZE + slot * SLOT_SIZE;
+            int length = buffer.get(base + Long.BYTES) & 0xFF;
+            if (length > MAX_NAME_BYTES) {
+                throw new IOException(file + ": corrupt slot " + slot);
+            }
+            byte[] name = new byte[length];
+            ByteBuffer nameRegion = buffer.duplicate();
+            nameRegion.position(base + Long.BYTES + 1);
+            nameRegion.get(name);
+            String type = new String(name, StandardCharsets.UTF_8);
+            slots.put(type, slot);
+            marks.put(type, buffer.getLong(base));
+        }
+        return marks;
+    }
+
+    /**
+     * Guarda la marca del tipo y la sincroniza con el disco antes de volver. Lanza
+     * {@link IllegalStateException} si el tipo no entra en el archivo: seguir sin persistir
+     * repetiría IDs en el próximo arranque.
+     */
+    synchronized void store(String type, long mark) {
+        Integer slot = slots.get(type);
+        if (slot == null) {
+            slot = addSlot(type, mark);
+        } else {
+            buffer.putLong(HEADER_SIZE + slot * SLOT_SIZE, mark);
+        }
+        buffer.force();
+    }
+
+    private int addSlot(String type, long mark) {
+        byte[] name = type.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) {
+            throw new IllegalStateException("Entity type name too long for " + file + ": " + type);
+        }
+        int slot = slots.size();
+        if (slot == SLOTS) {
+            throw new IllegalStateException(file + " is full: cannot persist ids for " + type);
+        }
+        int base = HEADER_SIZE + slot * SLOT_SIZE;
+        buffer.putLong(base, mark);
+        buffer.put(base + Long.BYTES, (byte) name.length);
+        ByteBuffer nameRegion = buffer.duplicate();
+        nameRegion.position(base + Long.BYTES + 1);
+        nameRegion.put(name);
+        buffer.force();
+        buffer.putInt(COUNT_OFFSET, slot + 1);
+        slots.put(type, slot);
+        return slot;
+    }
+
+    synchronized void close() throws IOException {
+        buffer.force();
+        try {
+            lock.release();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -1,92 +1,737 @@
 package util;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import util.logging.AsyncLogDispatcher;
+import util.logging.LogAppender;
+import util.logging.ListenerRegistry;
+import util.logging.ListenerSubscription;
+import util.logging.LogCategory;
+import util.logging.LogContext;
+import util.logging.LineEncoder;
+import util.logging.LogEvent;
+import util.logging.LoggerConfig;
+import util.logging.LoggerMetrics;
+import util.logging.OverflowPolicy;
+import util.logging.StackTraceDeduplicator;
+import util.logging.TimestampFormatter;
+import util.logging.WaitStrategy;
+
+import java.io.PrintStream;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Singleton Logger para centralizar el logging de la aplicación.
- * Implementa el patrón Singleton con sincronización thread-safe.
+ * Implementa el patrón Singleton con inicialización perezosa en una clase holder: la JVM crea la
+ * instancia una sola vez al usarla por primera vez y después {@link #getInstance()} no sincroniza.
+ * La configuración inicial se lee en ese momento de un archivo de propiedades ({@link LoggerConfig}).
  * Soporta listeners para notificar a la GUI de nuevos logs.
+ * Cada evento pertenece a una {@link LogCategory} cuyo umbral se puede cambiar en caliente;
+ * los eventos por debajo del umbral se descartan antes de cualquier otro trabajo.
+ * Opcionalmente delega el formateo, la escritura y la notificación a un hilo
+ * consumidor a través de un ring buffer acotado (modo asíncrono).
  */
 public class Logger {
-    private static Logger instance;
-    private List<LogListener> listeners = new ArrayList<>();
-    private static final DateTimeFormatter TIMESTAMP_FORMATTER = 
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private final ListenerRegistry listeners = new ListenerRegistry();
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final List<LogAppender> appenders = new CopyOnWriteArrayList<>();
+    private volatile boolean durableAppenders;
+    private volatile AsyncLogDispatcher asyncDispatcher;
+    private volatile boolean consoleOutput = true;
+    private volatile boolean garbageFree;
+    private final ThreadLocal<LogEvent> reusableEvents = ThreadLocal.withInitial(LogEvent::new);
+    private final ThreadLocal<LineEncoder> lineEncoders = ThreadLocal.withInitial(LineEncoder::new);
+    private final StackTraceDeduplicator stackTraces = new StackTraceDeduplicator();
+    private boolean shutdownHookRegistered;
+    private final LoggerMetrics metrics = new LoggerMetrics(
+            this::isAsync,
+            () -> {
+                AsyncLogDispatcher dispatcher = asyncDispatcher;
+                return dispatcher == null ? 0 : dispatcher.getQueueDepth();
+            },
+            () -> {
+                AsyncLogDispatcher dispatcher = asyncDispatcher;
+                return dispatcher == null ? 0 : dispatcher.getCapacity();
+            },
+            listeners::getSubscriptions);
 
-    private Logger() {
-        System.out.println("Logger inicializado");
+    private Logger(LoggerConfig config) {
+        config.applyTo(this);
+        if (config.isJmxEnabled()) {
+            // Crear el servidor JMX de la plataforma lleva cientos de milisegundos: fuera del arranque
+            Thread registration = new Thread(metrics::registerMBean, "logger-jmx-registration");
+            registration.setDaemon(true);
+            registration.start();
+        }
+        debug("Logger initialized from {}", config.getSource());
     }
 
     /**
-     * Obtiene la única instancia del Logger (Singleton thread-safe).
+     * Inicialización perezosa y thread-safe a cargo de la JVM: la clase se inicializa (y crea la
+     * instancia) la primera vez que se lee {@code INSTANCE}.
      */
-    public static synchronized Logger getInstance() {
-        if (instance == null) {
-            instance = new Logger();
-        }
-        return instance;
+    private static final class Holder {
+        static final Logger INSTANCE = new Logger(LoggerConfig.load());
+    }
+
+    /**
+     * Obtiene la única instancia del Logger (Singleton thread-safe). Tras la primera llamada
+     * es solo la lectura de un campo final, sin sincronización.
+     */
+    public static Logger getInstance() {
+        return Holder.INSTANCE;
     }
 
     /**
      * Registra un listener para recibir notificaciones de logs.
+     * Cada listener recibe los mensajes en su propio hilo a través de una cola acotada;
+     * si se llena, los mensajes para ese listener se descartan sin frenar a quien loguea.
      */
-    public void addLogListener(LogListener listener) {
-        listeners.add(listener);
+    public ListenerSubscription addLogListener(LogListener listener) {
+        return addLogListener(listener, ListenerRegistry.DEFAULT_CAPACITY, ListenerRegistry.DEFAULT_POLICY);
     }
 
     /**
-     * Elimina un listener.
+     * Registra un listener con capacidad de cola y política de desborde propias.
+     *
+     * @return La suscripción, que expone el retraso y los descartes del listener
+     */
+    public ListenerSubscription addLogListener(LogListener listener, int queueCapacity, OverflowPolicy overflowPolicy) {
+        ListenerSubscription subscription = listeners.add(listener, queueCapacity, overflowPolicy);
+        registerShutdownHook();
+        return subscription;
+    }
+
+    /**
+     * Elimina un listener tras entregarle los mensajes ya encolados.
      */
     public void removeLogListener(LogListener listener) {
         listeners.remove(listener);
     }
 
     /**
-     * Obtiene el timestamp actual formateado.
+     * Suscripciones de listeners activas, con sus contadores.
+     */
+    public List<ListenerSubscription> getListenerSubscriptions() {
+        return listeners.getSubscriptions();
+    }
+
+    /**
+     * Agrega un destino adicional a la salida por consola (por ejemplo un archivo).
+     * Los appenders se vacían y cierran al apagarse la JVM.
+     */
+    public synchronized void addAppender(LogAppender appender) {
+        appenders.add(appender);
+        durableAppenders |= appender.isDurable();
+        registerShutdownHook();
+    }
+
+    /**
+     * Activa o desactiva la escritura de cada evento en la consola (activada por defecto).
+     * Sin consola, el mensaje solo se formatea si algún appender o listener lo necesita.
+     */
+    public void setConsoleOutput(boolean enabled) {
+        this.consoleOutput = enabled;
+    }
+
+    public boolean isConsoleOutput() {
+        return consoleOutput;
+    }
+
+    /**
+     * Activa el modo sin basura: en modo síncrono cada hilo reutiliza su propio evento, y la línea
+     * se arma en un buffer reutilizado (con el timestamp cacheado por segundo) que se pasa a los
+     * appenders y se escribe en consola codificada en su charset. Los listeners siguen recibiendo un String
+     * porque lo procesan en otro hilo.
+     * <p>
+     * Con este modo los appenders no deben guardar la línea recibida después de {@code append}.
+     */
+    public void setGarbageFree(boolean enabled) {
+        this.garbageFree = enabled;
+    }
+
+    public boolean isGarbageFree() {
+        return garbageFree;
+    }
+
+    /**
+     * Ventana de deduplicación de trazas: dentro de ella, una excepción con la misma traza que otra
+     * ya escrita se reduce a una línea que la referencia con un contador (un minuto por defecto).
+     * Con 0 todas las trazas se escriben completas.
+     */
+    public void setStackTraceWindow(long duration, TimeUnit unit) {
+        stackTraces.setWindowMillis(unit.toMillis(duration));
+    }
+
+    /**
+     * Quita un appender. No lo cierra: el llamador decide su ciclo de vida.
+     */
+    public synchronized void removeAppender(LogAppender appender) {
+        appenders.remove(appender);
+        durableAppenders = appenders.stream().anyMatch(LogAppender::isDurable);
+    }
+
+    /**
+     * Activa el modo asíncrono: los llamadores solo publican el evento en un ring buffer
+     * y un hilo dedicado realiza el formateo, la salida y la notificación a listeners.
+     * Los eventos pendientes se vacían al apagarse la JVM.
+     *
+     * @param bufferSize     Capacidad del ring buffer (potencia de 2)
+     * @param waitStrategy   Estrategia de espera del consumidor y de productores bloqueados
+     * @param overflowPolicy Qué hacer cuando el buffer está lleno
+     */
+    public synchronized void enableAsync(int bufferSize, WaitStrategy waitStrategy, OverflowPolicy overflowPolicy) {
+        if (asyncDispatcher != null) {
+            disableAsync();
+        }
+        asyncDispatcher = new AsyncLogDispatcher(bufferSize, waitStrategy, overflowPolicy, this::process);
+        registerShutdownHook();
+    }
+
+    private synchronized void registerShutdownHook() {
+        if (!shutdownHookRegistered) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "logger-shutdown"));
+            shutdownHookRegistered = true;
+        }
+    }
+
+    /**
+     * Procesa los eventos pendientes y cierra los appenders. Se ejecuta al apagarse la JVM.
+     */
+    private synchronized void shutdown() {
+        disableAsync();
+        for (LogAppender appender : appenders) {
+            appender.close();
+        }
+        listeners.shutdown();
+    }
+
+    /**
+     * Vuelve al modo síncrono procesando antes los eventos pendientes.
+     */
+    public synchronized void disableAsync() {
+        AsyncLogDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher == null) {
+            return;
+        }
+        asyncDispatcher = null;
+        dispatcher.shutdown(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public boolean isAsync() {
+        return asyncDispatcher != null;
+    }
+
+    /**
+     * Espera a que se procesen los eventos encolados en modo asíncrono, vacía los appenders
+     * y espera a que los listeners procesen sus colas.
+     *
+     * @return true si todo se vació dentro del tiempo indicado
      */
-    private String getCurrentTimestamp() {
-        return LocalDateTime.now().format(TIMESTAMP_FORMATTER);
+    public boolean flush(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        AsyncLogDispatcher dispatcher = asyncDispatcher;
+        boolean drained = dispatcher == null || dispatcher.flush(timeout, unit);
+        for (LogAppender appender : appenders) {
+            appender.flush();
+        }
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        return listeners.awaitIdle(remaining, TimeUnit.NANOSECONDS) && drained;
+    }
+
+    /**
+     * Bloquea hasta que los eventos registrados antes de la llamada estén en disco en los appenders
+     * que lo garantizan (por ejemplo {@link util.logging.DurableLogAppender}, que agrupa los fsync
+     * de todos los hilos que esperan a la vez). En modo asíncrono espera antes a que se procesen.
+     * Sin appenders durables vuelve enseguida, sin esperar al hilo consumidor.
+     *
+     * @return true si algún appender confirmó la escritura
+     */
+    public boolean awaitDurable() {
+        if (!durableAppenders) {
+            return false;
+        }
+        AsyncLogDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null && !dispatcher.flush(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            return false;
+        }
+        boolean durable = false;
+        for (LogAppender appender : appenders) {
+            durable |= appender.awaitDurable();
+        }
+        return durable;
+    }
+
+    /**
+     * Cantidad de eventos descartados por la política de desborde del modo asíncrono.
+     */
+    public long getDroppedEvents() {
+        AsyncLogDispatcher dispatcher = asyncDispatcher;
+        return dispatcher == null ? 0 : dispatcher.getDroppedEvents();
+    }
+
+    /**
+     * Métricas de eventos, descartes y latencias, también publicadas por JMX
+     * como {@value LoggerMetrics#OBJECT_NAME}.
+     */
+    public LoggerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Cambia en caliente el umbral raíz, que aplica a las categorías sin umbral propio.
+     */
+    public void setLevel(LogLevel level) {
+        LogCategory.setRootThreshold(level);
+    }
+
+    /**
+     * Cambia en caliente el umbral de una categoría.
+     */
+    public void setLevel(String category, LogLevel level) {
+        LogCategory.of(category).setThreshold(level);
+    }
+
+    /**
+     * Hace que la categoría vuelva a heredar el umbral raíz.
+     */
+    public void clearLevel(String category) {
+        LogCategory.of(category).clearThreshold();
+    }
+
+    /**
+     * Indica si un evento del nivel dado se registraría en la categoría general.
+     */
+    public boolean isEnabled(LogLevel level) {
+        return LogCategory.GENERAL.isEnabled(level);
+    }
+
+    /**
+     * Indica si un evento del nivel dado se registraría en la categoría indicada.
+     * Permite evitar el costo de armar argumentos costosos cuando el nivel está desactivado.
+     */
+    public boolean isEnabled(LogLevel level, LogCategory category) {
+        return category.isEnabled(level);
+    }
+
+    public void trace(String message) {
+        log(LogLevel.TRACE, LogCategory.GENERAL, message);
+    }
+
+    public void trace(String pattern, Object arg) {
+        logPattern(LogLevel.TRACE, LogCategory.GENERAL, pattern, 1, arg, null, null);
+    }
+
+    public void trace(String pattern, Object arg0, Object arg1) {
+        logPattern(LogLevel.TRACE, LogCategory.GENERAL, pattern, 2, arg0, arg1, null);
+    }
+
+    public void trace(String pattern, Object arg0, Object arg1, Object arg2) {
+        logPattern(LogLevel.TRACE, LogCategory.GENERAL, pattern, 3, arg0, arg1, arg2);
+    }
+
+    public void trace(String pattern, Object... args) {
+        log(LogLevel.TRACE, LogCategory.GENERAL, pattern, args);
+    }
+
+    public void trace(Supplier<String> messageSupplier) {
+        log(LogLevel.TRACE, LogCategory.GENERAL, messageSupplier);
+    }
+
+    public void debug(String message) {
+        log(LogLevel.DEBUG, LogCategory.GENERAL, message);
+    }
+
+    public void debug(String pattern, Object arg) {
+        logPattern(LogLevel.DEBUG, LogCategory.GENERAL, pattern, 1, arg, null, null);
+    }
+
+    public void debug(String pattern, Object arg0, Object arg1) {
+        logPattern(LogLevel.DEBUG, LogCategory.GENERAL, pattern, 2, arg0, arg1, null);
+    }
+
+    public void debug(String pattern, Object arg0, Object arg1, Object arg2) {
+        logPattern(LogLevel.DEBUG, LogCategory.GENERAL, pattern, 3, arg0, arg1, arg2);
+    }
+
+    public void debug(String pattern, Object... args) {
+        log(LogLevel.DEBUG, LogCategory.GENERAL, pattern, args);
+    }
+
+    public void debug(Supplier<String> messageSupplier) {
+        log(LogLevel.DEBUG, LogCategory.GENERAL, messageSupplier);
     }
 
     public void info(String message) {
-        String logMessage = "[" + getCurrentTimestamp() + "] [INFO] " + message;
-        System.out.println(logMessage);
-        notifyListeners(logMessage, LogLevel.INFO);
+        log(LogLevel.INFO, LogCategory.GENERAL, message);
+    }
+
+    public void info(String pattern, Object arg) {
+        logPattern(LogLevel.INFO, LogCategory.GENERAL, pattern, 1, arg, null, null);
+    }
+
+    public void info(String pattern, Object arg0, Object arg1) {
+        logPattern(LogLevel.INFO, LogCategory.GENERAL, pattern, 2, arg0, arg1, null);
+    }
+
+    public void info(String pattern, Object arg0, Object arg1, Object arg2) {
+        logPattern(LogLevel.INFO, LogCategory.GENERAL, pattern, 3, arg0, arg1, arg2);
+    }
+
+    public void info(String pattern, Object... args) {
+        log(LogLevel.INFO, LogCategory.GENERAL, pattern, args);
+    }
+
+    public void info(Supplier<String> messageSupplier) {
+        log(LogLevel.INFO, LogCategory.GENERAL, messageSupplier);
     }
 
     public void warn(String message) {
-        String logMessage = "[" + getCurrentTimestamp() + "] [WARN] " + message;
-        System.out.println(logMessage);
-        notifyListeners(logMessage, LogLevel.WARN);
+        log(LogLevel.WARN, LogCategory.GENERAL, message);
+    }
+
+    public void warn(String pattern, Object arg) {
+        logPattern(LogLevel.WARN, LogCategory.GENERAL, pattern, 1, arg, null, null);
+    }
+
+    public void warn(String pattern, Object arg0, Object arg1) {
+        logPattern(LogLevel.WARN, LogCategory.GENERAL, pattern, 2, arg0, arg1, null);
+    }
+
+    public void warn(String pattern, Object arg0, Object arg1, Object arg2) {
+        logPattern(LogLevel.WARN, LogCategory.GENERAL, pattern, 3, arg0, arg1, arg2);
+    }
+
+    public void warn(String pattern, Object... args) {
+        log(LogLevel.WARN, LogCategory.GENERAL, pattern, args);
+    }
+
+    public void warn(Supplier<String> messageSupplier) {
+        log(LogLevel.WARN, LogCategory.GENERAL, messageSupplier);
+    }
+
+    public void warn(String message, Throwable thrown) {
+        log(LogLevel.WARN, LogCategory.GENERAL, message, thrown);
     }
 
     public void error(String message) {
-        String logMessage = "[" + getCurrentTimestamp() + "] [ERROR] " + message;
-        System.err.println(logMessage);
-        notifyListeners(logMessage, LogLevel.ERROR);
+        log(LogLevel.ERROR, LogCategory.GENERAL, message);
+    }
+
+    public void error(String pattern, Object arg) {
+        logPattern(LogLevel.ERROR, LogCategory.GENERAL, pattern, 1, arg, null, null);
+    }
+
+    public void error(String pattern, Object arg0, Object arg1) {
+        logPattern(LogLevel.ERROR, LogCategory.GENERAL, pattern, 2, arg0, arg1, null);
+    }
+
+    public void error(String pattern, Object arg0, Object arg1, Object arg2) {
+        logPattern(LogLevel.ERROR, LogCategory.GENERAL, pattern, 3, arg0, arg1, arg2);
+    }
+
+    public void error(String pattern, Object... args) {
+        log(LogLevel.ERROR, LogCategory.GENERAL, pattern, args);
+    }
+
+    public void error(Supplier<String> messageSupplier) {
+        log(LogLevel.ERROR, LogCategory.GENERAL, messageSupplier);
+    }
+
+    public void error(String message, Throwable thrown) {
+        log(LogLevel.ERROR, LogCategory.GENERAL, message, thrown);
+    }
+
+    /**
+     * Registra un mensaje con el nivel indicado en la categoría general.
+     */
+    public void log(LogLevel level, String message) {
+        log(level, LogCategory.GENERAL, message);
+    }
+
+    /**
+     * Registra un mensaje con marcadores {@code {}} en la categoría general.
+     */
+    public void log(LogLevel level, String pattern, Object... args) {
+        log(level, LogCategory.GENERAL, pattern, args);
+    }
+
+    /**
+     * Registra un mensaje diferido en la categoría general.
+     */
+    public void log(LogLevel level, Supplier<String> messageSupplier) {
+        log(level, LogCategory.GENERAL, messageSupplier);
+    }
+
+    public void log(LogLevel level, LogCategory category, String pattern, Object arg) {
+        logPattern(level, category, pattern, 1, arg, null, null);
+    }
+
+    public void log(LogLevel level, LogCategory category, String pattern, Object arg0, Object arg1) {
+        logPattern(level, category, pattern, 2, arg0, arg1, null);
+    }
+
+    public void log(LogLevel level, LogCategory category, String pattern, Object arg0, Object arg1, Object arg2) {
+        logPattern(level, category, pattern, 3, arg0, arg1, arg2);
+    }
+
+    /**
+     * Registra un mensaje ya construido en la categoría indicada.
+     */
+    public void log(LogLevel level, LogCategory category, String message) {
+        if (!category.isEnabled(level)) {
+            return;
+        }
+        LogEvent event = stagingEvent();
+        event.set(level, category, System.currentTimeMillis(), message);
+        dispatch(event);
+    }
+
+    /**
+     * Registra un mensaje junto con una excepción. Quien loguea solo guarda la referencia:
+     * la traza se escribe al procesar el evento (en el hilo consumidor en modo asíncrono)
+     * y, si se repite dentro de la ventana de deduplicación, se reduce a una línea.
+     */
+    public void log(LogLevel level, LogCategory category, String message, Throwable thrown) {
+        if (!category.isEnabled(level)) {
+            return;
+        }
+        LogEvent event = stagingEvent();
+        event.set(level, category, System.currentTimeMillis(), message);
+        event.setThrown(thrown);
+        dispatch(event);
+    }
+
+    /**
+     * Registra un mensaje con marcadores {@code {}}. El formateo se difiere hasta que el
+     * evento se procesa, por lo que no ocurre si el nivel está desactivado o el evento se descarta.
+     */
+    public void log(LogLevel level, LogCategory category, String pattern, Object... args) {
+        logArray(level, category, null, null, null, pattern, args);
+    }
+
+    /**
+     * Registra un evento de entidad: además del mensaje lleva como campos propios el tipo de entidad,
+     * su identificador y la operación, que los appenders estructurados (por ejemplo
+     * {@link util.logging.JsonLogAppender}) escriben por separado.
+     */
+    public void logEntity(LogLevel level, LogCategory category, String entityType, String entityId, String operation,
+                          String pattern, Object arg) {
+        logPattern(level, category, entityType, entityId, operation, pattern, 1, arg, null, null);
+    }
+
+    public void logEntity(LogLevel level, LogCategory category, String entityType, String entityId, String operation,
+                          String pattern, Object arg0, Object arg1) {
+        logPattern(level, category, entityType, entityId, operation, pattern, 2, arg0, arg1, null);
+    }
+
+    public void logEntity(LogLevel level, LogCategory category, String entityType, String entityId, String operation,
+                          String pattern, Object arg0, Object arg1, Object arg2) {
+        logPattern(level, category, entityType, entityId, operation, pattern, 3, arg0, arg1, arg2);
+    }
+
+    public void logEntity(LogLevel level, LogCategory category, String entityType, String entityId, String operation,
+                          String pattern, Object... args) {
+        logArray(level, category, entityType, entityId, operation, pattern, args);
+    }
+
+    /**
+     * Registra un evento de entidad de auditoría: nunca se descarta por la política de desborde del modo
+     * asíncrono (espera lugar en el ring buffer) y no vuelve hasta que está en disco en los appenders
+     * durables (ver {@link #awaitDurable()}).
+     *
+     * @return true si algún appender durable confirmó la escritura; false si el nivel está desactivado
+     *         o ningún appender la garantiza
+     */
+    public boolean logAudit(LogLevel level, LogCategory category, String entityType, String entityId, String operation,
+                            String pattern, Object... args) {
+        if (!category.isEnabled(level)) {
+            return false;
+        }
+        LogEvent event = stagingEvent();
+        event.setPattern(level, category, System.currentTimeMillis(), pattern, args);
+        event.setEntity(entityType, entityId, operation);
+        dispatch(event, false);
+        return awaitDurable();
+    }
+
+    private void logArray(LogLevel level, LogCategory category, String entityType, String entityId, String operation,
+                          String pattern, Object[] args) {
+        if (!category.isEnabled(level)) {
+            return;
+        }
+        LogEvent event = stagingEvent();
+        event.setPattern(level, category, System.currentTimeMillis(), pattern, args);
+        event.setEntity(entityType, entityId, operation);
+        dispatch(event);
+    }
+
+    /**
+     * Registra un mensaje construido por el proveedor solo si el evento llega a procesarse.
+     */
+    public void log(LogLevel level, LogCategory category, Supplier<String> messageSupplier) {
+        if (!category.isEnabled(level)) {
+            return;
+        }
+        LogEvent event = stagingEvent();
+        event.setSupplier(level, category, System.currentTimeMillis(), messageSupplier);
+        dispatch(event);
+    }
+
+    /**
+     * Variante sin arreglo varargs para hasta tres argumentos.
+     */
+    private void logPattern(LogLevel level, LogCategory category, String pattern, int count,
+                            Object arg0, Object arg1, Object arg2) {
+        logPattern(level, category, null, null, null, pattern, count, arg0, arg1, arg2);
+    }
+
+    private void logPattern(LogLevel level, LogCategory category, String entityType, String entityId, String operation,
+                            String pattern, int count, Object arg0, Object arg1, Object arg2) {
+        if (!category.isEnabled(level)) {
+            return;
+        }
+        LogEvent event = stagingEvent();
+        event.setPattern(level, category, System.currentTimeMillis(), pattern, count, arg0, arg1, arg2);
+        event.setEntity(entityType, entityId, operation);
+        dispatch(event);
+    }
+
+    /**
+     * Evento donde el llamador arma el registro antes de {@link #dispatch}: el propio del hilo si está
+     * libre (en modo asíncrono, donde solo se usa para copiarlo al ring buffer, y en modo sin basura),
+     * y si no uno nuevo.
+     */
+    private LogEvent stagingEvent() {
+        if (garbageFree || asyncDispatcher != null) {
+            LogEvent event = reusableEvents.get();
+            // Con nivel asignado está en uso: un appender o listener logueando desde process
+            if (event.getLevel() == null) {
+                return event;
+            }
+        }
+        return new LogEvent();
+    }
+
+    private void dispatch(LogEvent event) {
+        dispatch(event, true);
+    }
+
+    /**
+     * Único camino de un evento ya armado: métricas y contexto, y después lo copia a un slot reservado
+     * del ring buffer y lo publica, lo descarta según la política de desborde (solo si {@code mayDrop})
+     * o lo procesa en este hilo (modo síncrono, consumidor ya detenido, o el propio consumidor con el
+     * buffer lleno).
+     */
+    private void dispatch(LogEvent event, boolean mayDrop) {
+        long start = metrics.startTimer();
+        metrics.recordEvent(event.getLevel(), event.getCategory());
+        event.setStartNanos(start);
+        event.setContext(LogContext.current());
+        AsyncLogDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null) {
+            long sequence = mayDrop ? dispatcher.claim(event.getLevel()) : dispatcher.claimWithoutDropping();
+            if (sequence >= 0) {
+                dispatcher.eventAt(sequence).copyFrom(event);
+                event.clear();
+                dispatcher.publish(sequence);
+                metrics.recordEnqueued(start);
+                return;
+            }
+            if (sequence == AsyncLogDispatcher.DROPPED) {
+                event.clear();
+                metrics.recordDropped();
+                return;
+            }
+        }
+        processSync(event);
+        metrics.recordEnqueued(start);
+    }
+
+    private void processSync(LogEvent event) {
+        try {
+            process(event);
+        } finally {
+            event.clear();
+        }
     }
 
-    private void notifyListeners(String message, LogLevel level) {
-        for (LogListener listener : listeners) {
-            listener.onLog(message, level);
+    /**
+     * Formatea el evento, lo escribe en consola y en los appenders y notifica a los listeners.
+     * Se ejecuta en el hilo llamador (modo síncrono) o en el consumidor (modo asíncrono).
+     */
+    private void process(LogEvent event) {
+        LineEncoder encoder = garbageFree ? lineEncoders.get().acquire() : null;
+        try {
+            LogLevel level = event.getLevel();
+            if (event.getThrown() != null) {
+                event.setThrowableText(stackTraces.render(event.getThrown(), event.getTimestamp()));
+            }
+            // La línea de texto se construye solo si alguien la usa
+            CharSequence line = null;
+            if (consoleOutput) {
+                line = formatLine(event, encoder);
+                PrintStream console = level == LogLevel.ERROR ? System.err : System.out;
+                if (encoder != null) {
+                    encoder.println(console, line);
+                } else {
+                    console.println(line);
+                }
+            }
+            for (LogAppender appender : appenders) {
+                if (!appender.requiresFormattedLine()) {
+                    appender.append(event, null);
+                    continue;
+                }
+                if (line == null) {
+                    line = formatLine(event, encoder);
+                }
+                appender.append(event, line);
+            }
+            if (!listeners.isEmpty()) {
+                if (line == null) {
+                    line = formatLine(event, encoder);
+                }
+                listeners.publish(line.toString(), level);
+            }
+            metrics.recordProcessed(event);
+        } finally {
+            if (encoder != null) {
+                encoder.release();
+            }
         }
     }
 
+    /**
+     * Línea {@code [timestamp] [LEVEL] [contexto] mensaje} seguida de la traza si la hay, en el buffer del encoder si hay uno.
+     */
+    private CharSequence formatLine(LogEvent event, LineEncoder encoder) {
+        if (encoder != null) {
+            return encoder.render(event);
+        }
+        String line = "[" + TimestampFormatter.format(event.getTimestamp()) + "] [" + event.getLevel() + "] "
+                + (event.getContext().isEmpty() ? "" : event.getContext().toString() + " ") + event.getMessage();
+        if (event.getThrowableText() != null) {
+            return line + System.lineSeparator() + event.getThrowableText();
+        }
+        return line;
+    }
+
     /**
      * Interface para listeners de log.
+     * Se invoca desde el hilo de entrega propio de cada listener, nunca desde el que loguea.
      */
     public interface LogListener {
         void onLog(String message, LogLevel level);
     }
 
     /**
-     * Niveles de log.
+     * Niveles de log, de menor a mayor severidad.
+     * OFF solo se usa como umbral para desactivar por completo una categoría.
      */
     public enum LogLevel {
-        INFO, WARN, ERROR
+        TRACE, DEBUG, INFO, WARN, ERROR, OFF
     }
 }
-
@@ -1,96 +1,206 @@
 package util;
 
+import util.Logger.LogLevel;
+import util.logging.LogCategory;
+import util.logging.LogThrottle;
+
 /**
  * Helper para logging de operaciones CRUD de entidades.
  * Centraliza los mensajes de log usando el Logger singleton.
+ * Los mensajes se pasan como patrón con argumentos: el texto solo se arma si el evento se procesa.
+ * Cada mensaje se registra en la categoría de su entidad (o "validation") para poder filtrarlo,
+ * y lleva como campos propios el tipo de entidad, su identificador y la operación
+ * (ver {@link Logger#logEntity}), que los appenders estructurados escriben sin tener que parsear el texto.
+ * <p>
+ * El identificador es siempre el mismo campo por tipo, para que una consulta por entidad encuentre toda
+ * su historia: el email para {@code Student} y {@code Professor}, el código para {@code Subject} y
+ * {@code CareerPath}. Un cambio de ese campo se registra con el valor anterior; los eventos siguientes
+ * llevan el nuevo.
  */
 public final class LoggerHelper {
 
     private static final Logger logger = Logger.getInstance();
 
+    // Advertencias que una carga masiva con datos malos puede disparar miles de veces por segundo
+    private static final LogThrottle DUPLICATE_OPERATIONS = LogThrottle.builder("duplicate operation")
+            .ratePerSecond(20).burst(50).build();
+    private static final LogThrottle INVALID_VALUES = LogThrottle.builder("invalid value")
+            .ratePerSecond(20).burst(50).summaryAt(LogLevel.WARN, LogCategory.VALIDATION).build();
+    private static final LogThrottle VALIDATION_FAILURES = LogThrottle.builder("validation failed")
+            .ratePerSecond(20).burst(50).summaryAt(LogLevel.ERROR, LogCategory.VALIDATION).build();
+
     private LoggerHelper() {
         // Clase de utilidad: evita instanciación
     }
 
+    /**
+     * Categoría de log correspondiente a un tipo de entidad.
+     */
+    static LogCategory categoryFor(String entityType) {
+        if ("Student".equalsIgnoreCase(entityType)) {
+            return LogCategory.STUDENT;
+        }
+        if ("Professor".equalsIgnoreCase(entityType)) {
+            return LogCategory.PROFESSOR;
+        }
+        if ("Subject".equalsIgnoreCase(entityType)) {
+            return LogCategory.SUBJECT;
+        }
+        if ("CareerPath".equalsIgnoreCase(entityType) || "Career Path".equalsIgnoreCase(entityType)) {
+            return LogCategory.CAREER_PATH;
+        }
+        return LogCategory.GENERAL;
+    }
+
     // --- Student ---
-    public static void createStudent(String name, String email) {
-        logger.info("Student created: " + name + " (Email: " + email + ")");
+    public static void createStudent(String firstName, String lastName, String email) {
+        logger.logEntity(LogLevel.INFO, LogCategory.STUDENT, "Student", email, "create", "Student created: {} {} (Email: {})", firstName, lastName, email);
     }
 
-    public static void updateStudent(String identifier, String changes) {
-        logger.info("Student updated: " + identifier + " - " + changes);
+    public static void renameStudent(String email, String oldFirstName, String oldLastName, String newFirstName, String newLastName) {
+        if (logger.isEnabled(LogLevel.INFO, LogCategory.STUDENT)) {
+            logger.logEntity(LogLevel.INFO, LogCategory.STUDENT, "Student", email, "update", "Student updated: {} {} - {} {}", oldFirstName, oldLastName, newFirstName, newLastName);
+        }
     }
 
-    public static void deleteStudent(String name, String email) {
-        logger.info("Student deleted: " + name + " (Email: " + email + ")");
+    /**
+     * @param email Email del estudiante antes del cambio (identifica al estudiante en el log)
+     */
+    public static void updateStudentField(String email, String firstName, String lastName, String field, Object oldValue, Object newValue) {
+        if (logger.isEnabled(LogLevel.INFO, LogCategory.STUDENT)) {
+            logger.logEntity(LogLevel.INFO, LogCategory.STUDENT, "Student", email, "update", "Student updated: {} {} ({}) - {} -> {}", firstName, lastName, field, oldValue, newValue);
+        }
+    }
+
+    public static void deleteStudent(String firstName, String lastName, String email) {
+        logger.logEntity(LogLevel.INFO, LogCategory.STUDENT, "Student", email, "delete", "Student deleted: {} {} (Email: {})", firstName, lastName, email);
     }
 
     // --- Subject ---
     public static void createSubject(String name, String code) {
-        logger.info("Subject created: " + name + " (Code: " + code + ")");
+        logger.logEntity(LogLevel.INFO, LogCategory.SUBJECT, "Subject", code, "create", "Subject created: {} (Code: {})", name, code);
+    }
+
+    public static void renameSubject(String code, String oldName, String newName) {
+        logger.logEntity(LogLevel.INFO, LogCategory.SUBJECT, "Subject", code, "update", "Subject updated: {} - {}", oldName, newName);
     }
 
-    public static void updateSubject(String identifier, String changes) {
-        logger.info("Subject updated: " + identifier + " - " + changes);
+    /**
+     * @param code Código de la materia antes del cambio (identifica a la materia en el log)
+     */
+    public static void updateSubjectField(String code, String name, String field, Object oldValue, Object newValue) {
+        if (logger.isEnabled(LogLevel.INFO, LogCategory.SUBJECT)) {
+            logger.logEntity(LogLevel.INFO, LogCategory.SUBJECT, "Subject", code, "update", "Subject updated: {} ({}) - {} -> {}", name, field, oldValue, newValue);
+        }
     }
 
     public static void deleteSubject(String name, String code) {
-        logger.info("Subject deleted: " + name + " (Code: " + code + ")");
+        logger.logEntity(LogLevel.INFO, LogCategory.SUBJECT, "Subject", code, "delete", "Subject deleted: {} (Code: {})", name, code);
     }
 
     // --- Professor ---
-    public static void createProfessor(String name, String department) {
-        logger.info("Professor created: " + name + " (Department: " + department + ")");
+    public static void createProfessor(String name, String email) {
+        logger.logEntity(LogLevel.INFO, LogCategory.PROFESSOR, "Professor", email, "create", "Professor created: {} (Email: {})", name, email);
     }
 
-    public static void updateProfessor(String identifier, String changes) {
-        logger.info("Professor updated: " + identifier + " - " + changes);
+    public static void renameProfessor(String email, String oldName, String newName) {
+        logger.logEntity(LogLevel.INFO, LogCategory.PROFESSOR, "Professor", email, "update", "Professor updated: {} - {}", oldName, newName);
     }
 
-    public static void deleteProfessor(String name, String department) {
-        logger.info("Professor deleted: " + name + " (Department: " + department + ")");
+    /**
+     * @param email Email del profesor antes del cambio (identifica al profesor en el log)
+     */
+    public static void updateProfessorField(String email, String name, String field, Object oldValue, Object newValue) {
+        if (logger.isEnabled(LogLevel.INFO, LogCategory.PROFESSOR)) {
+            logger.logEntity(LogLevel.INFO, LogCategory.PROFESSOR, "Professor", email, "update", "Professor updated: {} ({}) - {} -> {}", name, field, oldValue, newValue);
+        }
+    }
+
+    public static void deleteProfessor(String name, String email) {
+        logger.logEntity(LogLevel.INFO, LogCategory.PROFESSOR, "Professor", email, "delete", "Professor deleted: {} (Email: {})", name, email);
     }
 
     // --- CareerPath ---
     public static void createCareerPath(String name, String code) {
-        logger.info("Career Path created: " + name + " (Code: " + code + ")");
+        logger.logEntity(LogLevel.INFO, LogCategory.CAREER_PATH, "CareerPath", code, "create", "Career Path created: {} (Code: {})", name, code);
+    }
+
+    public static void renameCareerPath(String code, String oldName, String newName) {
+        logger.logEntity(LogLevel.INFO, LogCategory.CAREER_PATH, "CareerPath", code, "update", "Career Path updated: {} - {}", oldName, newName);
+    }
+
+    /**
+     * @param code Código de la carrera antes del cambio (identifica a la carrera en el log)
+     */
+    public static void updateCareerPathField(String code, String name, String field, Object oldValue, Object newValue) {
+        if (logger.isEnabled(LogLevel.INFO, LogCategory.CAREER_PATH)) {
+            logger.logEntity(LogLevel.INFO, LogCategory.CAREER_PATH, "CareerPath", code, "update", "Career Path updated: {} ({}) - {} -> {}", name, field, oldValue, newValue);
+        }
+    }
+
+    public static void addCareerPathSubject(String code, String name, String subjectName) {
+        logger.logEntity(LogLevel.INFO, LogCategory.CAREER_PATH, "CareerPath", code, "addSubject", "Career Path updated: {} - Added subject: {}", name, subjectName);
     }
 
-    public static void updateCareerPath(String identifier, String changes) {
-        logger.info("Career Path updated: " + identifier + " - " + changes);
+    public static void removeCareerPathSubject(String code, String name, String subjectName) {
+        logger.logEntity(LogLevel.INFO, LogCategory.CAREER_PATH, "CareerPath", code, "removeSubject", "Career Path updated: {} - Removed subject: {}", name, subjectName);
     }
 
     public static void deleteCareerPath(String name, String code) {
-        logger.info("Career Path deleted: " + name + " (Code: " + code + ")");
+        logger.logEntity(LogLevel.INFO, LogCategory.CAREER_PATH, "CareerPath", code, "delete", "Career Path deleted: {} (Code: {})", name, code);
     }
 
     // --- Métodos de logging para warnings y errores ---
+    /**
+     * Limitada a 20 por segundo por tipo de entidad; las suprimidas se resumen cada 10 s.
+     */
     public static void warnDuplicateOperation(String entityType, String identifier, String operation) {
-        logger.warn("Duplicate " + operation + " attempted on " + entityType + ": " + identifier);
+        LogCategory category = categoryFor(entityType);
+        if (logger.isEnabled(LogLevel.WARN, category) && DUPLICATE_OPERATIONS.tryAcquire(category)) {
+            logger.logEntity(LogLevel.WARN, category, entityType, identifier, operation, "Duplicate {} attempted on {}: {}", operation, entityType, identifier);
+        }
     }
 
+    /**
+     * Limitada a 20 por segundo por campo; las suprimidas se resumen cada 10 s.
+     */
     public static void warnInvalidValue(String entityType, String field, String value) {
-        logger.warn("Invalid " + field + " value for " + entityType + ": '" + value + "'");
+        if (logger.isEnabled(LogLevel.WARN, LogCategory.VALIDATION) && INVALID_VALUES.tryAcquire(field)) {
+            logger.logEntity(LogLevel.WARN, LogCategory.VALIDATION, entityType, null, "validate", "Invalid {} value for {}: '{}'", field, entityType, value);
+        }
     }
 
     public static void warnOperationOnDeletedEntity(String entityType, String identifier) {
-        logger.warn("Operation attempted on deleted " + entityType + ": " + identifier);
+        logger.logEntity(LogLevel.WARN, categoryFor(entityType), entityType, identifier, null, "Operation attempted on deleted {}: {}", entityType, identifier);
     }
 
+    /**
+     * Registro de auditoría: nunca se descarta y no vuelve hasta que la línea esté en disco en los
+     * appenders durables (ver {@link Logger#logAudit}).
+     */
     public static void errorCreationFailed(String entityType, String reason) {
-        logger.error("Failed to create " + entityType + ": " + reason);
+        logger.logAudit(LogLevel.ERROR, categoryFor(entityType), entityType, null, "create", "Failed to create {}: {}", entityType, reason);
     }
 
     public static void errorUpdateFailed(String entityType, String identifier, String reason) {
-        logger.error("Failed to update " + entityType + " (" + identifier + "): " + reason);
+        logger.logEntity(LogLevel.ERROR, categoryFor(entityType), entityType, identifier, "update", "Failed to update {} ({}): {}", entityType, identifier, reason);
     }
 
+    /**
+     * Registro de auditoría: nunca se descarta y no vuelve hasta que la línea esté en disco en los
+     * appenders durables (ver {@link Logger#logAudit}).
+     */
     public static void errorDeletionFailed(String entityType, String identifier, String reason) {
-        logger.error("Failed to delete " + entityType + " (" + identifier + "): " + reason);
+        logger.logAudit(LogLevel.ERROR, categoryFor(entityType), entityType, identifier, "delete", "Failed to delete {} ({}): {}", entityType, identifier, reason);
     }
 
+    /**
+     * Limitada a 20 por segundo por campo; las suprimidas se resumen cada 10 s.
+     */
     public static void errorValidationFailed(String entityType, String field, String value) {
-        logger.error("Validation failed for " + entityType + ": " + field + " cannot be '" + value + "'");
+        if (logger.isEnabled(LogLevel.ERROR, LogCategory.VALIDATION) && VALIDATION_FAILURES.tryAcquire(field)) {
+            logger.logEntity(LogLevel.ERROR, LogCategory.VALIDATION, entityType, null, "validate", "Validation failed for {}: {} cannot be '{}'", entityType, field, value);
+        }
     }
 }
 
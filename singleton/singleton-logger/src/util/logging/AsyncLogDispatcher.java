@@ -0,0 +1,196 @@
+package util.logging;
+
+import util.Logger.LogLevel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Despachador asíncrono del Logger.
+ * Los hilos que loguean publican eventos en un {@link LogRingBuffer} y un único hilo
+ * consumidor dedicado realiza el formateo, la escritura y la notificación a listeners.
+ */
+public final class AsyncLogDispatcher {
+
+    /** El evento fue descartado por la política de desborde. */
+    public static final long DROPPED = -1L;
+
+    /**
+     * El despachador está detenido, o el buffer está lleno y quien reserva es el propio hilo consumidor
+     * (un appender o listener logueando): el llamador debe procesar el evento de forma síncrona.
+     */
+    public static final long REJECTED = -2L;
+
+    private static final long SHUTDOWN_DRAIN_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final LogRingBuffer ringBuffer;
+    private final WaitStrategy waitStrategy;
+    private final OverflowPolicy overflowPolicy;
+    private final Consumer<LogEvent> handler;
+    private final Thread consumerThread;
+    private final LongAdder droppedEvents = new LongAdder();
+    private final ErrorReporter errors = new ErrorReporter("AsyncLogDispatcher");
+
+    private volatile boolean running = true;
+
+    /**
+     * Crea el despachador e inicia su hilo consumidor.
+     *
+     * @param capacity       Capacidad del ring buffer (potencia de 2)
+     * @param waitStrategy   Estrategia de espera del consumidor y de productores bloqueados
+     * @param overflowPolicy Política a aplicar con el buffer lleno
+     * @param handler        Procesamiento de cada evento en el hilo consumidor
+     */
+    public AsyncLogDispatcher(int capacity, WaitStrategy waitStrategy, OverflowPolicy overflowPolicy,
+                              Consumer<LogEvent> handler) {
+        this.ringBuffer = new LogRingBuffer(capacity);
+        this.waitStrategy = waitStrategy;
+        this.overflowPolicy = overflowPolicy;
+        this.handler = handler;
+        this.consumerThread = new Thread(this::consumeLoop, "logger-async-consumer");
+        this.consumerThread.setDaemon(true);
+        this.consumerThread.start();
+    }
+
+    /**
+     * Reserva un slot para un evento del nivel dado aplicando la política de desborde.
+     *
+     * @return La secuencia reservada, {@link #DROPPED} o {@link #REJECTED}
+     */
+    public long claim(LogLevel level) {
+        return claim(level, true);
+    }
+
+    /**
+     * Reserva un slot esperando a que haya espacio aunque la política de desborde descartaría el evento.
+     * Para eventos que no se pueden perder, como los de auditoría.
+     *
+     * @return La secuencia reservada o {@link #REJECTED}
+     */
+    public long claimWithoutDropping() {
+        return claim(null, false);
+    }
+
+    private long claim(LogLevel level, boolean mayDrop) {
+        int attempt = 0;
+        while (running) {
+            long sequence = ringBuffer.tryClaim();
+            if (sequence != LogRingBuffer.FULL) {
+                return sequence;
+            }
+            if (mayDrop && overflowPolicy.shouldDrop(level)) {
+                droppedEvents.increment();
+                return DROPPED;
+            }
+            if (Thread.currentThread() == consumerThread) {
+                // Solo este hilo vacía el buffer: esperar lugar sería un deadlock
+                return REJECTED;
+            }
+            waitStrategy.idle(attempt++);
+        }
+        return REJECTED;
+    }
+
+    /**
+     * Evento preasignado correspondiente a una secuencia reservada.
+     */
+    public LogEvent eventAt(long sequence) {
+        return ringBuffer.get(sequence);
+    }
+
+    /**
+     * Publica un evento ya completado.
+     */
+    public void publish(long sequence) {
+        ringBuffer.publish(sequence);
+    }
+
+    /**
+     * Espera a que el consumidor procese todos los eventos reservados hasta el momento.
+     *
+     * @return true si se vació a tiempo
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long target = ringBuffer.claimedSequence();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        while (ringBuffer.consumedSequence() < target) {
+            if (!consumerThread.isAlive() || System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            waitStrategy.idle(attempt++);
+        }
+        return true;
+    }
+
+    /**
+     * Detiene el despachador tras procesar los eventos pendientes.
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        running = false;
+        try {
+            consumerThread.join(unit.toMillis(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    public int getQueueDepth() {
+        return ringBuffer.size();
+    }
+
+    public int getCapacity() {
+        return ringBuffer.capacity();
+    }
+
+    private void consumeLoop() {
+        long next = ringBuffer.consumedSequence() + 1;
+        int attempt = 0;
+        while (running) {
+            long processed = drain(next);
+            if (processed != next) {
+                next = processed;
+                attempt = 0;
+            } else {
+                waitStrategy.idle(attempt++);
+            }
+        }
+        // Vaciar lo que quedó publicado (o reservado y a punto de publicarse) al detenerse
+        long deadline = System.nanoTime() + SHUTDOWN_DRAIN_NANOS;
+        while (next <= ringBuffer.claimedSequence() && System.nanoTime() - deadline < 0) {
+            long processed = drain(next);
+            if (processed == next) {
+                Thread.onSpinWait();
+            }
+            next = processed;
+        }
+    }
+
+    private long drain(long next) {
+        long sequence = next;
+        while (ringBuffer.isPublished(sequence)) {
+            LogEvent event = ringBuffer.get(sequence);
+            try {
+                handler.accept(event);
+            } catch (RuntimeException e) {
+                errors.report("error processing event", e);
+            } finally {
+                event.clear();
+            }
+            sequence++;
+        }
+        if (sequence != next) {
+            ringBuffer.release(sequence - 1);
+        }
+        return sequence;
+    }
+}
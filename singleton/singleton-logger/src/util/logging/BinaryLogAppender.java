@@ -0,0 +1,432 @@
+package util.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Appender binario: en lugar de la línea de texto escribe el id de la plantilla del mensaje
+ * (el patrón {@code {}} de {@link LogEvent}), el timestamp y los argumentos, sin formatear nada.
+ * Cada plantilla y categoría se escribe completa una sola vez por archivo; los eventos siguientes
+ * solo la referencian por id. Los archivos se vuelven a texto con {@link BinaryLogDecoder}.
+ * <p>
+ * Los eventos se escriben en bloques de unos {@code blockSize} bytes que se decodifican por separado, y
+ * junto a cada archivo se mantiene un índice con el rango de tiempo, los niveles y las entidades de cada
+ * bloque, que {@link LogQueryEngine} usa para saltear los bloques que no pueden coincidir con una consulta.
+ * <p>
+ * Como no usa la línea formateada, combinado con {@link util.Logger#setConsoleOutput(boolean)}
+ * en false el Logger no formatea los mensajes salvo que haya listeners.
+ * El formato se describe en {@link BinaryLogFormat}.
+ */
+public final class BinaryLogAppender implements LogAppender {
+
+    private static final String SEGMENT_FORMAT = "%s-%05d";
+    private static final int MAX_VARINT_BYTES = 5;
+    /** Tag, plantilla, nivel, categoría, timestamp y cantidad de argumentos. */
+    private static final int MAX_EVENT_HEADER_BYTES = 1 + MAX_VARINT_BYTES + 1 + MAX_VARINT_BYTES + 8 + MAX_VARINT_BYTES;
+
+    private final Path directory;
+    private final String baseName;
+    private final long maxFileSize;
+    private final int blockSize;
+    private final boolean indexed;
+
+    private final Map<String, Integer> templateIds = new HashMap<>();
+    private final Map<LogCategory, Integer> categoryIds = new HashMap<>();
+    private final StringBuilder argument = new StringBuilder(64);
+    private final SegmentIndex.BlockStats block = new SegmentIndex.BlockStats();
+    private byte[] buffer;
+    private int position;
+    private OutputStream out;
+    private DataOutputStream indexOut;
+    private Path currentFile;
+    private long currentSize;
+    private int fileIndex;
+    private long events;
+    private boolean closed;
+
+    private BinaryLogAppender(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.baseName = builder.baseName;
+        this.maxFileSize = builder.maxFileSize;
+        this.blockSize = builder.blockSize;
+        this.indexed = builder.indexed;
+        this.buffer = new byte[builder.bufferSize];
+        Files.createDirectories(directory);
+        this.fileIndex = findLastIndex();
+        openNextFile();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public boolean requiresFormattedLine() {
+        return false;
+    }
+
+    @Override
+    public synchronized void append(LogEvent event, CharSequence line) {
+        if (closed) {
+            return;
+        }
+        try {
+            if (currentSize + position >= maxFileSize) {
+                roll();
+            } else if (currentSize + position - block.offset() >= blockSize) {
+                endBlock();
+                startBlock();
+            }
+            writeEvent(event);
+            events++;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            flushBuffer();
+            out.flush();
+            // El índice después de los datos: nunca apunta a bytes que no están en el archivo
+            if (indexOut != null) {
+                indexOut.flush();
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            endBlock();
+            flushBuffer();
+            out.close();
+            if (indexOut != null) {
+                indexOut.close();
+            }
+        } catch (IOException e) {
+            System.err.println("BinaryLogAppender: error closing " + currentFile + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized Path getCurrentFile() {
+        return currentFile;
+    }
+
+    /**
+     * Eventos escritos desde que se creó el appender.
+     */
+    public synchronized long getEventCount() {
+        return events;
+    }
+
+    private void writeEvent(LogEvent event) throws IOException {
+        String pattern = event.getPattern();
+        int templateId;
+        int argumentCount;
+        if (pattern != null) {
+            templateId = templateId(pattern);
+            argumentCount = event.getParameterCount();
+        } else {
+            templateId = BinaryLogFormat.LITERAL_TEMPLATE;
+            argumentCount = 1;
+        }
+        int categoryId = categoryId(event.getCategory() != null ? event.getCategory() : LogCategory.GENERAL);
+
+        ensureCapacity(MAX_EVENT_HEADER_BYTES);
+        buffer[position++] = BinaryLogFormat.TAG_EVENT;
+        writeVarint(templateId);
+        buffer[position++] = (byte) event.getLevel().ordinal();
+        writeVarint(categoryId);
+        writeLong(event.getTimestamp() * 1_000_000L);
+        writeVarint(argumentCount);
+        if (pattern != null) {
+            for (int i = 0; i < argumentCount; i++) {
+                // Misma conversión que hace MessageFormatter al formatear
+                argument.setLength(0);
+                MessageFormatter.appendArgument(argument, event.getParameter(i));
+                writeString(argument);
+            }
+        } else {
+            writeString(event.getMessage());
+        }
+        writeOptionalString(event.getEntityType());
+        writeOptionalString(event.getEntityId());
+        writeOptionalString(event.getOperation());
+        writeOptionalString(event.getThrowableText());
+        writeContext(event.getContext());
+        block.record(event.getLevel().ordinal(), event.getTimestamp() * 1_000_000L, event.getEntityId());
+    }
+
+    private void writeContext(LogContext context) throws IOException {
+        ensureCapacity(MAX_VARINT_BYTES);
+        writeVarint(context.size());
+        for (int i = 0; i < context.size(); i++) {
+            writeString(context.getKey(i));
+            writeOptionalString(context.getValue(i));
+        }
+    }
+
+    private int templateId(String pattern) throws IOException {
+        Integer id = templateIds.get(pattern);
+        if (id == null) {
+            id = templateIds.size() + 1;
+            templateIds.put(pattern, id);
+            ensureCapacity(1 + MAX_VARINT_BYTES);
+            buffer[position++] = BinaryLogFormat.TAG_TEMPLATE;
+            writeVarint(id);
+            writeString(pattern);
+        }
+        return id;
+    }
+
+    private int categoryId(LogCategory category) throws IOException {
+        Integer id = categoryIds.get(category);
+        if (id == null) {
+            id = categoryIds.size();
+            categoryIds.put(category, id);
+            ensureCapacity(1 + MAX_VARINT_BYTES);
+            buffer[position++] = BinaryLogFormat.TAG_CATEGORY;
+            writeVarint(id);
+            writeString(category.getName());
+        }
+        return id;
+    }
+
+    /**
+     * Escribe el largo en bytes y el texto en UTF-8 directamente en el buffer. Se reserva un byte
+     * para el largo y, si el texto codificado necesita más, se desplaza.
+     */
+    private void writeString(CharSequence text) throws IOException {
+        writeString(text, 0);
+    }
+
+    /**
+     * String que puede ser null: se guarda el largo más uno, y 0 para null.
+     */
+    private void writeOptionalString(CharSequence text) throws IOException {
+        if (text == null) {
+            ensureCapacity(1);
+            buffer[position++] = 0;
+        } else {
+            writeString(text, 1);
+        }
+    }
+
+    private void writeString(CharSequence text, int lengthBias) throws IOException {
+        ensureCapacity(MAX_VARINT_BYTES + Utf8.maxEncodedLength(text));
+        int start = position + 1;
+        int end = Utf8.encode(text, buffer, start, buffer.length);
+        int length = end - start;
+        int lengthBytes = varintSize(length + lengthBias);
+        if (lengthBytes > 1) {
+            System.arraycopy(buffer, start, buffer, start + lengthBytes - 1, length);
+        }
+        writeVarint(length + lengthBias);
+        position += length;
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Garantiza espacio libre en el buffer, vaciándolo o agrandándolo si hace falta.
+     */
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.length - position >= bytes) {
+            return;
+        }
+        flushBuffer();
+        if (buffer.length < bytes) {
+            buffer = Arrays.copyOf(buffer, Math.max(bytes, buffer.length * 2));
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            currentSize += position;
+            position = 0;
+        }
+    }
+
+    private void roll() throws IOException {
+        endBlock();
+        flushBuffer();
+        out.close();
+        if (indexOut != null) {
+            indexOut.close();
+        }
+        openNextFile();
+    }
+
+    private void openNextFile() throws IOException {
+        fileIndex++;
+        String segment = String.format(SEGMENT_FORMAT, baseName, fileIndex);
+        currentFile = directory.resolve(segment + BinaryLogFormat.FILE_SUFFIX);
+        out = Files.newOutputStream(currentFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        if (indexed) {
+            indexOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                    directory.resolve(segment + BinaryLogFormat.INDEX_SUFFIX),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), 8 * 1024));
+            SegmentIndex.writeHeader(indexOut);
+        }
+        currentSize = 0;
+        System.arraycopy(BinaryLogFormat.MAGIC, 0, buffer, position, BinaryLogFormat.MAGIC.length);
+        position += BinaryLogFormat.MAGIC.length;
+        buffer[position++] = BinaryLogFormat.VERSION;
+        startBlock();
+    }
+
+    /**
+     * Empieza un bloque: las plantillas y categorías se vuelven a definir dentro de él.
+     */
+    private void startBlock() throws IOException {
+        ensureCapacity(1);
+        block.start(currentSize + position);
+        buffer[position++] = BinaryLogFormat.TAG_BLOCK;
+        templateIds.clear();
+        categoryIds.clear();
+    }
+
+    /**
+     * Agrega al índice la entrada del bloque actual si tiene eventos.
+     */
+    private void endBlock() throws IOException {
+        if (indexOut != null && block.events() > 0) {
+            block.writeEntry(indexOut, currentSize + position);
+        }
+    }
+
+    private int findLastIndex() throws IOException {
+        int last = 0;
+        String prefix = baseName + "-";
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + BinaryLogFormat.FILE_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                String number = name.substring(prefix.length(), name.length() - BinaryLogFormat.FILE_SUFFIX.length());
+                try {
+                    last = Math.max(last, Integer.parseInt(number));
+                } catch (NumberFormatException e) {
+                    // No es un archivo de este appender
+                }
+            }
+        }
+        return last;
+    }
+
+    private void fail(IOException e) {
+        System.err.println("BinaryLogAppender: disabling after I/O error on " + currentFile + ": " + e.getMessage());
+        closed = true;
+    }
+
+    /**
+     * Builder para configurar el appender.
+     */
+    public static final class Builder {
+        private Path directory = Path.of("logs");
+        private String baseName = "app";
+        private long maxFileSize = 64L * 1024 * 1024;
+        private int bufferSize = 64 * 1024;
+        private int blockSize = 64 * 1024;
+        private boolean indexed = true;
+
+        private Builder() {
+        }
+
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public Builder baseName(String baseName) {
+            this.baseName = baseName;
+            return this;
+        }
+
+        /**
+         * Tamaño a partir del cual se pasa al siguiente archivo.
+         */
+        public Builder maxFileSize(long maxFileSize) {
+            this.maxFileSize = maxFileSize;
+            return this;
+        }
+
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Tamaño aproximado de cada bloque. Bloques más chicos permiten saltear más en las consultas
+         * a cambio de un índice más grande y de repetir más veces las plantillas.
+         */
+        public Builder blockSize(int blockSize) {
+            this.blockSize = blockSize;
+            return this;
+        }
+
+        /**
+         * Si se escribe el índice de bloques junto a cada archivo (activado por defecto).
+         */
+        public Builder indexed(boolean indexed) {
+            this.indexed = indexed;
+            return this;
+        }
+
+        public BinaryLogAppender build() throws IOException {
+            if (maxFileSize <= 0) {
+                throw new IllegalArgumentException("Max file size must be positive");
+            }
+            if (bufferSize < 1024) {
+                throw new IllegalArgumentException("Buffer size must be at least 1024 bytes");
+            }
+            if (blockSize < 1024) {
+                throw new IllegalArgumentException("Block size must be at least 1024 bytes");
+            }
+            if (baseName == null || baseName.isBlank()) {
+                throw new IllegalArgumentException("Base name cannot be empty");
+            }
+            return new BinaryLogAppender(this);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package util.logging;
+
+import util.Logger.LogLevel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Convierte archivos de {@link BinaryLogAppender} al mismo texto que escribe el Logger
+ * ({@code [yyyy-MM-dd HH:mm:ss] [LEVEL] [contexto] mensaje}), una línea por evento seguida de la traza
+ * de su excepción si la tiene.
+ * <p>
+ * Uso: {@code java -cp <classes> util.logging.BinaryLogDecoder logs/app-00001.blog [...] > app.log}
+ */
+public final class BinaryLogDecoder {
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private BinaryLogDecoder() {
+        // Clase de utilidad: evita instanciación
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: BinaryLogDecoder <file.blog> [file.blog ...]");
+            System.exit(2);
+        }
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        for (String file : args) {
+            decode(Path.of(file), out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Decodifica un archivo escribiendo una línea por evento. Si el archivo termina a mitad
+     * de un registro (por ejemplo tras una caída del proceso) se decodifica hasta el último completo.
+     *
+     * @return Cantidad de eventos decodificados
+     */
+    public static long decode(Path file, Appendable out) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return decode(in, out, file.toString());
+        }
+    }
+
+    private static long decode(InputStream input, Appendable out, String source) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+        readHeader(in, source);
+
+        List<String> templates = new ArrayList<>();
+        templates.add(null); // Id 0: mensaje literal
+        List<String> categories = new ArrayList<>();
+        StringBuilder line = new StringBuilder(256);
+        Object[] arguments = new Object[4];
+        long events = 0;
+
+        while (true) {
+            int tag = in.read();
+            if (tag < 0) {
+                return events;
+            }
+            try {
+                switch (tag) {
+                    case BinaryLogFormat.TAG_TEMPLATE:
+                        define(templates, readVarint(in), readString(in), source);
+                        break;
+                    case BinaryLogFormat.TAG_CATEGORY:
+                        define(categories, readVarint(in), readString(in), source);
+                        break;
+                    case BinaryLogFormat.TAG_BLOCK:
+                        templates.subList(1, templates.size()).clear();
+                        categories.clear();
+                        break;
+                    case BinaryLogFormat.TAG_EVENT:
+                        int templateId = readVarint(in);
+                        LogLevel level = LEVELS[in.readUnsignedByte()];
+                        readVarint(in); // Categoría: no forma parte de la línea de texto
+                        long epochNanos = in.readLong();
+                        int count = readVarint(in);
+                        if (arguments.length < count) {
+                            arguments = Arrays.copyOf(arguments, count);
+                        }
+                        for (int i = 0; i < count; i++) {
+                            arguments[i] = readString(in);
+                        }
+                        // Campos de entidad: no forman parte de la línea de texto
+                        for (int i = 0; i < 3; i++) {
+                            skipOptionalString(in);
+                        }
+                        String throwableText = readOptionalString(in);
+                        LogContext context = readContext(in);
+
+                        line.setLength(0);
+                        line.append('[').append(formatTimestamp(epochNanos)).append("] [").append(level).append("] ");
+                        context.formatTo(line);
+                        if (templateId == BinaryLogFormat.LITERAL_TEMPLATE) {
+                            line.append(arguments[0]);
+                        } else {
+                            MessageFormatter.formatTo(line, lookup(templates, templateId, source), arguments, count);
+                        }
+                        if (throwableText != null) {
+                            // Como LineEncoder: la traza en las líneas siguientes al mensaje
+                            line.append(System.lineSeparator()).append(throwableText);
+                        }
+                        out.append(line).append('\n');
+                        events++;
+                        break;
+                    default:
+                        throw new IOException(source + ": unknown record tag " + tag);
+                }
+            } catch (EOFException e) {
+                System.err.println("BinaryLogDecoder: " + source + " ends with a truncated record");
+                return events;
+            }
+        }
+    }
+
+    private static void readHeader(DataInputStream in, String source) throws IOException {
+        byte[] magic = new byte[BinaryLogFormat.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, BinaryLogFormat.MAGIC)) {
+            throw new IOException(source + ": not a binary log file");
+        }
+        int version = in.readUnsignedByte();
+        if (version != BinaryLogFormat.VERSION) {
+            throw new IOException(source + ": unsupported version " + version);
+        }
+    }
+
+    private static void define(List<String> table, int id, String value, String source) throws IOException {
+        if (id != table.size()) {
+            throw new IOException(source + ": unexpected definition id " + id);
+        }
+        table.add(value);
+    }
+
+    private static String lookup(List<String> table, int id, String source) throws IOException {
+        if (id <= 0 || id >= table.size()) {
+            throw new IOException(source + ": undefined template " + id);
+        }
+        return table.get(id);
+    }
+
+    private static String formatTimestamp(long epochNanos) {
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L),
+                Math.floorMod(epochNanos, 1_000_000_000L));
+        return TimestampFormatter.format(instant);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static void skipOptionalString(DataInputStream in) throws IOException {
+        int length = readVarint(in);
+        int remaining = length - 1;
+        while (remaining > 0) {
+            int skipped = in.skipBytes(remaining);
+            if (skipped == 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static LogContext readContext(DataInputStream in) throws IOException {
+        int size = readVarint(in);
+        if (size == 0) {
+            return LogContext.empty();
+        }
+        String[] entries = new String[size * 2];
+        for (int i = 0; i < entries.length; i += 2) {
+            entries[i] = readString(in);
+            entries[i + 1] = readOptionalString(in);
+        }
+        return LogContext.of(entries);
+    }
+
+    private static String readOptionalString(DataInputStream in) throws IOException {
+        int length = readVarint(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarint(in);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
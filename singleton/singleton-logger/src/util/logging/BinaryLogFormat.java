@@ -0,0 +1,48 @@
+package util.logging;
+
+/**
+ * Constantes del formato binario compartidas por {@link BinaryLogAppender}, {@link BinaryLogDecoder}
+ * y {@link LogQueryEngine}.
+ * <p>
+ * Un archivo empieza con {@code "SLOG"} y un byte de versión, seguido de registros:
+ * <pre>
+ * TEMPLATE  0x01  id:varint  patrón:string
+ * CATEGORY  0x02  id:varint  nombre:string
+ * EVENT     0x03  plantilla:varint  nivel:byte  categoría:varint  epochNanos:int64  n:varint  argumento:string × n
+ *                 tipo:string?  entidad:string?  operación:string?  traza:string?
+ *                 m:varint  (clave:string  valor:string?) × m
+ * BLOCK     0x04
+ * </pre>
+ * Los strings son UTF-8 precedidos por su largo en bytes (varint); los opcionales ({@code string?})
+ * guardan el largo más uno y {@code 0} para null. Cada archivo define sus propias plantillas y categorías
+ * antes del primer evento que las usa, por lo que se decodifica solo. La plantilla {@code 0} es un
+ * mensaje literal con un único argumento.
+ * <p>
+ * Los eventos se agrupan en bloques: cada bloque empieza con {@code BLOCK}, que
+ * descarta las plantillas y categorías definidas hasta ahí, así un bloque se decodifica sin leer los
+ * anteriores. Junto a cada archivo se escribe un índice ({@link #INDEX_SUFFIX}) con una entrada por
+ * bloque cerrado; ver {@link SegmentIndex}.
+ * <p>
+ * Además del tipo, identificador y operación de su entidad, cada evento guarda el texto de su excepción
+ * tal como lo escribe el Logger (la traza completa o la línea que referencia una traza anterior), o null
+ * si no tiene, y los pares de su {@link LogContext}, en orden ({@code m = 0} sin contexto).
+ */
+final class BinaryLogFormat {
+
+    static final byte[] MAGIC = {'S', 'L', 'O', 'G'};
+    static final byte VERSION = 1;
+
+    static final byte TAG_TEMPLATE = 0x01;
+    static final byte TAG_CATEGORY = 0x02;
+    static final byte TAG_EVENT = 0x03;
+    static final byte TAG_BLOCK = 0x04;
+
+    static final int LITERAL_TEMPLATE = 0;
+
+    static final String FILE_SUFFIX = ".blog";
+    static final String INDEX_SUFFIX = ".bidx";
+
+    private BinaryLogFormat() {
+        // Clase de utilidad: evita instanciación
+    }
+}
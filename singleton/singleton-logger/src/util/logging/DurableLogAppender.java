@@ -0,0 +1,364 @@
+package util.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appender de archivo con confirmación agrupada (group commit): {@link #awaitDurable()} bloquea hasta
+ * que todo lo escrito antes de la llamada esté en disco, pero el fsync lo hace un único hilo para
+ * todos los que esperan a la vez.
+ * <p>
+ * Cuando llega el primer pedido, el hilo de sincronización espera como máximo {@code maxLatency}
+ * a que se sumen otros (o hasta juntar {@code maxBatchSize} pedidos), pasa el buffer al archivo y
+ * hace un solo {@link FileChannel#force(boolean)}. Mientras tanto los demás hilos siguen escribiendo.
+ * La ventana solo se espera si el grupo anterior tuvo más de un pedido: con un único escritor no hay
+ * con quién agrupar y el fsync se hace de inmediato (los pedidos que llegan durante un fsync ya forman
+ * el siguiente grupo).
+ * Las líneas sin pedido de confirmación solo se escriben al llenarse el buffer o con {@link #flush()}.
+ */
+public final class DurableLogAppender implements LogAppender {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long maxLatencyNanos;
+    private final int maxBatchSize;
+    private final Thread syncThread;
+
+    // Protegidos por el monitor del appender
+    private final ByteBuffer buffer;
+    private byte[] scratch = new byte[512];
+    private long writtenSequence;
+    private boolean closed;
+
+    // Protegidos por commitLock
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final Condition commitRequested = commitLock.newCondition();
+    private final Condition commitDone = commitLock.newCondition();
+    private long requestedSequence;
+    private int pendingRequests;
+    private long firstRequestNanos;
+    private volatile long durableSequence;
+    private volatile boolean running = true;
+    private volatile boolean failed;
+    private long syncs;
+    private long committedRequests;
+
+    private DurableLogAppender(Builder builder) throws IOException {
+        this.file = builder.file;
+        this.maxLatencyNanos = builder.maxLatencyNanos;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.buffer = ByteBuffer.allocate(builder.bufferSize);
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.syncThread = new Thread(this::syncLoop, "logger-group-commit");
+        syncThread.setDaemon(true);
+        syncThread.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public synchronized void append(LogEvent event, CharSequence line) {
+        if (closed) {
+            return;
+        }
+        try {
+            int required = Utf8.maxEncodedLength(line) + 1;
+            if (scratch.length < required) {
+                scratch = new byte[Math.max(required, scratch.length * 2)];
+            }
+            int length = Utf8.encode(line, scratch, 0, scratch.length);
+            scratch[length++] = NEW_LINE;
+            if (length > buffer.remaining()) {
+                writeBuffer();
+            }
+            if (length > buffer.capacity()) {
+                channel.write(ByteBuffer.wrap(scratch, 0, length));
+            } else {
+                buffer.put(scratch, 0, length);
+            }
+            writtenSequence++;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    /**
+     * Bloquea hasta que todas las líneas escritas antes de la llamada estén en disco,
+     * compartiendo el fsync con los demás hilos que esperan en la misma ventana.
+     *
+     * @return false si el appender está cerrado o falló y no se puede garantizar la escritura
+     */
+    @Override
+    public boolean awaitDurable() {
+        long target;
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            target = writtenSequence;
+        }
+        if (durableSequence >= target) {
+            return true;
+        }
+        commitLock.lock();
+        try {
+            if (durableSequence >= target) {
+                return true;
+            }
+            if (target > requestedSequence) {
+                requestedSequence = target;
+            }
+            if (pendingRequests++ == 0) {
+                firstRequestNanos = System.nanoTime();
+            }
+            commitRequested.signal();
+            while (durableSequence < target && running && !failed) {
+                commitDone.awaitUninterruptibly();
+            }
+            return durableSequence >= target;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Pasa el buffer al sistema operativo, sin forzar a disco.
+     */
+    @Override
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            writeBuffer();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Confirma lo pendiente, detiene el hilo de sincronización y cierra el archivo.
+     */
+    @Override
+    public void close() {
+        awaitDurable();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        commitLock.lock();
+        try {
+            running = false;
+            commitRequested.signalAll();
+        } finally {
+            commitLock.unlock();
+        }
+        try {
+            syncThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            try {
+                writeBuffer();
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("DurableLogAppender: error closing " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Cantidad de fsync realizados.
+     */
+    public long getSyncCount() {
+        commitLock.lock();
+        try {
+            return syncs;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Pedidos de confirmación atendidos; dividido por {@link #getSyncCount()} da el tamaño medio de los grupos.
+     */
+    public long getCommittedRequests() {
+        commitLock.lock();
+        try {
+            return committedRequests;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    // --- Hilo de sincronización ---
+
+    private void syncLoop() {
+        int lastBatch = 0;
+        while (true) {
+            int batch;
+            commitLock.lock();
+            try {
+                while (running && requestedSequence <= durableSequence) {
+                    commitRequested.awaitUninterruptibly();
+                }
+                if (!running) {
+                    commitDone.signalAll();
+                    return;
+                }
+                // Ventana de agrupamiento: se espera a otros pedidos hasta la latencia máxima
+                long deadline = firstRequestNanos + maxLatencyNanos;
+                long remaining;
+                while (lastBatch > 1 && running && pendingRequests < maxBatchSize
+                        && (remaining = deadline - System.nanoTime()) > 0) {
+                    try {
+                        commitRequested.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        // Solo close() detiene el hilo
+                    }
+                }
+                batch = pendingRequests;
+                pendingRequests = 0;
+                lastBatch = batch;
+            } finally {
+                commitLock.unlock();
+            }
+
+            long target;
+            try {
+                synchronized (this) {
+                    writeBuffer();
+                    target = writtenSequence;
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                synchronized (this) {
+                    fail(e);
+                }
+                commitLock.lock();
+                try {
+                    commitDone.signalAll();
+                } finally {
+                    commitLock.unlock();
+                }
+                return;
+            }
+
+            commitLock.lock();
+            try {
+                durableSequence = target;
+                syncs++;
+                committedRequests += batch;
+                if (requestedSequence <= target) {
+                    // Los que llegaron durante el fsync ya quedaron cubiertos por él
+                    committedRequests += pendingRequests;
+                    lastBatch += pendingRequests;
+                    pendingRequests = 0;
+                }
+                commitDone.signalAll();
+            } finally {
+                commitLock.unlock();
+            }
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void fail(IOException e) {
+        System.err.println("DurableLogAppender: disabling after I/O error on " + file + ": " + e.getMessage());
+        closed = true;
+        failed = true;
+    }
+
+    /**
+     * Builder para configurar el appender.
+     */
+    public static final class Builder {
+        private Path file = Path.of("logs", "audit.log");
+        private long maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(2);
+        private int maxBatchSize = 64;
+        private int bufferSize = 64 * 1024;
+
+        private Builder() {
+        }
+
+        /**
+         * Archivo de salida; si existe se agrega al final.
+         */
+        public Builder file(Path file) {
+            this.file = file;
+            return this;
+        }
+
+        /**
+         * Cuánto puede esperar el primer pedido de un grupo a que se sumen otros antes del fsync.
+         */
+        public Builder maxLatency(long duration, TimeUnit unit) {
+            this.maxLatencyNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Pedidos a partir de los cuales se hace el fsync sin esperar la latencia máxima.
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public DurableLogAppender build() throws IOException {
+            if (file == null) {
+                throw new IllegalArgumentException("File cannot be null");
+            }
+            if (maxLatencyNanos < 0) {
+                throw new IllegalArgumentException("Max latency cannot be negative");
+            }
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("Max batch size must be at least 1");
+            }
+            if (bufferSize < 1024) {
+                throw new IllegalArgumentException("Buffer size must be at least 1024 bytes");
+            }
+            return new DurableLogAppender(this);
+        }
+    }
+}
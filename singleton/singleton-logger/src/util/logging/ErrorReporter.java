@@ -0,0 +1,46 @@
+package util.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Informa por {@code System.err} errores internos que pueden repetirse en cada evento, como un appender
+ * o listener que falla siempre. No pasa por el Logger, que es justamente lo que está fallando.
+ * <p>
+ * Escribe una línea con la excepción ({@link Throwable#toString()}, sin traza) y después a lo sumo
+ * una por intervalo, con la cantidad de errores omitidos desde la anterior.
+ */
+final class ErrorReporter {
+
+    private static final long DEFAULT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final String source;
+    private final long intervalNanos;
+    private final AtomicLong nextReport;
+    private final LongAdder omitted = new LongAdder();
+
+    /**
+     * @param source Prefijo de cada línea, por ejemplo {@code "AsyncLogDispatcher"}
+     */
+    ErrorReporter(String source) {
+        this.source = source;
+        this.intervalNanos = DEFAULT_INTERVAL_NANOS;
+        this.nextReport = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * @param what Qué falló, por ejemplo {@code "appender failed"}
+     */
+    void report(String what, Throwable error) {
+        long now = System.nanoTime();
+        long next = nextReport.get();
+        if (now - next < 0 || !nextReport.compareAndSet(next, now + intervalNanos)) {
+            omitted.increment();
+            return;
+        }
+        long skipped = omitted.sumThenReset();
+        System.err.println(source + ": " + what + ": " + error
+                + (skipped > 0 ? " (" + skipped + " similar errors omitted)" : ""));
+    }
+}
@@ -0,0 +1,77 @@
+package util.logging;
+
+/**
+ * Copia inmutable de un {@link LatencyHistogram}. Los valores están en nanosegundos; los percentiles
+ * son el límite superior del bucket correspondiente (acotado por el máximo observado).
+ */
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long count, long totalNanos, long max) {
+        this.counts = counts;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getP50() {
+        return getValueAtPercentile(50);
+    }
+
+    public long getP90() {
+        return getValueAtPercentile(90);
+    }
+
+    public long getP99() {
+        return getValueAtPercentile(99);
+    }
+
+    public long getP999() {
+        return getValueAtPercentile(99.9);
+    }
+
+    /**
+     * Valor por debajo del cual cae el porcentaje indicado de las muestras.
+     *
+     * @param percentile Entre 0 y 100
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.0fns p50=%dns p90=%dns p99=%dns p99.9=%dns max=%dns",
+                count, getMean(), getP50(), getP90(), getP99(), getP999(), max);
+    }
+}
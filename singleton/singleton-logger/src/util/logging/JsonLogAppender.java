@@ -0,0 +1,121 @@
+package util.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appender que escribe cada evento como una línea JSON (JSON Lines) con {@link JsonLogEncoder},
+ * incluidos los campos de entidad de {@link util.Logger#logEntity}. No usa la línea de texto
+ * formateada, así que el Logger no la arma para él.
+ */
+public final class JsonLogAppender implements LogAppender {
+
+    private final Path file;
+    private final JsonLogEncoder encoder = new JsonLogEncoder();
+    private final OutputStream out;
+    private boolean closed;
+
+    private JsonLogAppender(Builder builder) throws IOException {
+        this.file = builder.file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), builder.bufferSize);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public boolean requiresFormattedLine() {
+        return false;
+    }
+
+    @Override
+    public synchronized void append(LogEvent event, CharSequence line) {
+        if (closed) {
+            return;
+        }
+        try {
+            int length = encoder.encode(event);
+            out.write(encoder.buffer(), 0, length);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.err.println("JsonLogAppender: error closing " + file + ": " + e.getMessage());
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private void fail(IOException e) {
+        System.err.println("JsonLogAppender: disabling after I/O error on " + file + ": " + e.getMessage());
+        closed = true;
+    }
+
+    /**
+     * Builder para configurar el appender.
+     */
+    public static final class Builder {
+        private Path file = Path.of("logs", "app.jsonl");
+        private int bufferSize = 64 * 1024;
+
+        private Builder() {
+        }
+
+        /**
+         * Archivo de salida; si existe se agrega al final.
+         */
+        public Builder file(Path file) {
+            this.file = file;
+            return this;
+        }
+
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public JsonLogAppender build() throws IOException {
+            if (file == null) {
+                throw new IllegalArgumentException("File cannot be null");
+            }
+            if (bufferSize < 1024) {
+                throw new IllegalArgumentException("Buffer size must be at least 1024 bytes");
+            }
+            return new JsonLogAppender(this);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package util.logging;
+
+import java.util.Arrays;
+
+/**
+ * Codificador JSON escrito a mano: convierte un {@link LogEvent} en una línea JSON (JSON Lines)
+ * en un buffer de bytes reutilizado, sin reflexión ni Strings intermedios.
+ * <pre>
+ * {"timestamp":"2026-10-18T21:03:24.123Z","level":"INFO","category":"student","entityType":"Student",
+ *  "entityId":"maria.pena@example.com","operation":"create","message":"Student created: ..."}
+ * </pre>
+ * El timestamp va en UTC (ISO-8601 con milisegundos). Los campos {@code entityType}, {@code entityId},
+ * {@code operation}, {@code context} (objeto con el {@link LogContext}) y {@code exception} se omiten
+ * si el evento no los tiene. No es thread-safe: se usa una instancia por appender o por hilo.
+ */
+public final class JsonLogEncoder {
+
+    private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+    /** Peor caso por carácter: {@code \}{@code u00XX}. */
+    private static final int MAX_BYTES_PER_CHAR = 6;
+    private static final int SECOND_LENGTH = "yyyy-MM-ddTHH:mm:ss".length();
+
+    private byte[] buffer = new byte[1024];
+    private int position;
+    private final StringBuilder message = new StringBuilder(256);
+    private final byte[] second = new byte[SECOND_LENGTH];
+    private long cachedSecond = Long.MIN_VALUE;
+
+    /**
+     * Codifica el evento seguido de {@code '\n'}.
+     *
+     * @return Cantidad de bytes escritos al comienzo de {@link #buffer()}
+     */
+    public int encode(LogEvent event) {
+        position = 0;
+        writeAscii("{\"timestamp\":\"");
+        writeTimestamp(event.getTimestamp());
+        writeAscii("\",\"level\":\"");
+        writeAscii(event.getLevel().name());
+        writeAscii("\",\"category\":");
+        LogCategory category = event.getCategory() != null ? event.getCategory() : LogCategory.GENERAL;
+        writeString(category.getName());
+        writeField(",\"entityType\":", event.getEntityType());
+        writeField(",\"entityId\":", event.getEntityId());
+        writeField(",\"operation\":", event.getOperation());
+        writeContext(event.getContext());
+        writeAscii(",\"message\":");
+        message.setLength(0);
+        event.formatMessageTo(message);
+        writeString(message);
+        writeField(",\"exception\":", event.getThrowableText());
+        ensureCapacity(2);
+        buffer[position++] = '}';
+        buffer[position++] = '\n';
+        return position;
+    }
+
+    /**
+     * Buffer con la última línea codificada. Puede cambiar de instancia al crecer.
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    private void writeContext(LogContext context) {
+        if (context.isEmpty()) {
+            return;
+        }
+        writeAscii(",\"context\":{");
+        for (int i = 0; i < context.size(); i++) {
+            if (i > 0) {
+                writeAscii(",");
+            }
+            writeString(context.getKey(i));
+            writeAscii(":");
+            if (context.getValue(i) == null) {
+                writeAscii("null");
+            } else {
+                writeString(context.getValue(i));
+            }
+        }
+        writeAscii("}");
+    }
+
+    private void writeField(String name, CharSequence value) {
+        if (value != null) {
+            writeAscii(name);
+            writeString(value);
+        }
+    }
+
+    private void writeAscii(String text) {
+        int length = text.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[position++] = (byte) text.charAt(i);
+        }
+    }
+
+    /**
+     * Escribe el texto entre comillas, escapado y codificado en UTF-8.
+     */
+    private void writeString(CharSequence text) {
+        int length = text.length();
+        ensureCapacity(length * MAX_BYTES_PER_CHAR + 2);
+        byte[] out = buffer;
+        int pos = position;
+        out[pos++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x20 && c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    out[pos++] = '\\';
+                }
+                out[pos++] = (byte) c;
+            } else if (c < 0x20) {
+                out[pos++] = '\\';
+                switch (c) {
+                    case '\n':
+                        out[pos++] = 'n';
+                        break;
+                    case '\r':
+                        out[pos++] = 'r';
+                        break;
+                    case '\t':
+                        out[pos++] = 't';
+                        break;
+                    default:
+                        out[pos++] = 'u';
+                        out[pos++] = '0';
+                        out[pos++] = '0';
+                        out[pos++] = HEX[c >> 4];
+                        out[pos++] = HEX[c & 0xF];
+                }
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    out[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    out[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    out[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    out[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    out[pos++] = '?';
+                }
+            } else {
+                out[pos++] = (byte) (0xE0 | (c >> 12));
+                out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        out[pos++] = '"';
+        position = pos;
+    }
+
+    private void writeTimestamp(long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000L);
+        if (epochSecond != cachedSecond) {
+            formatSecond(epochSecond);
+            cachedSecond = epochSecond;
+        }
+        ensureCapacity(SECOND_LENGTH + 5);
+        System.arraycopy(second, 0, buffer, position, SECOND_LENGTH);
+        position += SECOND_LENGTH;
+        buffer[position++] = '.';
+        int millis = (int) Math.floorMod(epochMillis, 1000L);
+        buffer[position++] = (byte) ('0' + millis / 100);
+        buffer[position++] = (byte) ('0' + millis / 10 % 10);
+        buffer[position++] = (byte) ('0' + millis % 10);
+        buffer[position++] = 'Z';
+    }
+
+    /**
+     * Fecha y hora UTC de un segundo desde epoch, calculada sin objetos de java.time
+     * (algoritmo civil_from_days de H. Hinnant).
+     */
+    private void formatSecond(long epochSecond) {
+        long days = Math.floorDiv(epochSecond, 86_400L);
+        int secondOfDay = (int) Math.floorMod(epochSecond, 86_400L);
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        writeDigits(0, 4, year);
+        second[4] = '-';
+        writeDigits(5, 2, month);
+        second[7] = '-';
+        writeDigits(8, 2, day);
+        second[10] = 'T';
+        writeDigits(11, 2, secondOfDay / 3600);
+        second[13] = ':';
+        writeDigits(14, 2, secondOfDay / 60 % 60);
+        second[16] = ':';
+        writeDigits(17, 2, secondOfDay % 60);
+    }
+
+    private void writeDigits(int offset, int width, int value) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            second[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.length - position < bytes) {
+            buffer = Arrays.copyOf(buffer, Math.max(position + bytes, buffer.length * 2));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package util.logging;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Arma la línea {@code [timestamp] [LEVEL] mensaje} de un evento en un {@link StringBuilder} reutilizado
+ * y la escribe en consola codificada en el charset de la consola, sin crear Strings intermedios: con UTF-8
+ * la codifica directamente y con otro charset (por ejemplo cp850 en una consola de Windows) usa un
+ * {@link CharsetEncoder} reutilizado, igual que haría {@link PrintStream#println(String)}.
+ * Lo usa el modo sin basura del Logger, con una instancia por hilo que procesa eventos.
+ * <p>
+ * La línea devuelta por {@link #render(LogEvent)} es válida hasta el siguiente render: quien la
+ * reciba no debe guardarla.
+ */
+public final class LineEncoder {
+
+    private static final String SEPARATOR = System.lineSeparator();
+    private static final byte[] LINE_SEPARATOR = SEPARATOR.getBytes(StandardCharsets.UTF_8);
+    private static final Charset STDOUT_CHARSET = consoleCharset("stdout.encoding", "sun.stdout.encoding");
+    private static final Charset STDERR_CHARSET = consoleCharset("stderr.encoding", "sun.stderr.encoding");
+
+    private final StringBuilder line = new StringBuilder(256);
+    private final TimestampCache timestamp = new TimestampCache();
+    private byte[] bytes = new byte[512];
+    private ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+    private char[] chars = new char[256];
+    private CharBuffer charBuffer = CharBuffer.wrap(chars);
+    private CharsetEncoder stdoutEncoder;
+    private CharsetEncoder stderrEncoder;
+    private boolean busy;
+
+    /**
+     * Reserva el encoder para procesar un evento.
+     *
+     * @return Este encoder, o {@code null} si ya está en uso en este hilo (un appender que loguea)
+     */
+    public LineEncoder acquire() {
+        if (busy) {
+            return null;
+        }
+        busy = true;
+        return this;
+    }
+
+    public void release() {
+        busy = false;
+    }
+
+    /**
+     * Arma la línea del evento sin salto de línea final. Si el evento tiene excepción,
+     * su traza va en las líneas siguientes.
+     */
+    public CharSequence render(LogEvent event) {
+        line.setLength(0);
+        line.append('[');
+        timestamp.formatTo(event.getTimestamp(), line);
+        line.append("] [").append(event.getLevel().name()).append("] ");
+        event.getContext().formatTo(line);
+        event.formatMessageTo(line);
+        if (event.getThrowableText() != null) {
+            line.append(System.lineSeparator()).append(event.getThrowableText());
+        }
+        return line;
+    }
+
+    /**
+     * Escribe la línea seguida del separador de líneas del sistema, como {@link PrintStream#println(String)}:
+     * en {@code System.err} con el charset de stderr y en cualquier otro stream con el de stdout.
+     */
+    public void println(PrintStream out, CharSequence text) {
+        boolean stderr = out == System.err;
+        Charset charset = stderr ? STDERR_CHARSET : STDOUT_CHARSET;
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            int required = Utf8.maxEncodedLength(text) + LINE_SEPARATOR.length;
+            ensureBytes(required);
+            int length = Utf8.encode(text, bytes, 0, bytes.length);
+            System.arraycopy(LINE_SEPARATOR, 0, bytes, length, LINE_SEPARATOR.length);
+            out.write(bytes, 0, length + LINE_SEPARATOR.length);
+            return;
+        }
+        CharsetEncoder encoder = stderr ? stderrEncoder : stdoutEncoder;
+        if (encoder == null) {
+            // Los caracteres que el charset no tiene se reemplazan, como en PrintStream
+            encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            if (stderr) {
+                stderrEncoder = encoder;
+            } else {
+                stdoutEncoder = encoder;
+            }
+        }
+        int length = text.length() + SEPARATOR.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            charBuffer = CharBuffer.wrap(chars);
+        }
+        for (int i = 0; i < text.length(); i++) {
+            chars[i] = text.charAt(i);
+        }
+        SEPARATOR.getChars(0, SEPARATOR.length(), chars, text.length());
+        ensureBytes((int) Math.ceil(length * (double) encoder.maxBytesPerChar()));
+        charBuffer.clear().limit(length);
+        byteBuffer.clear();
+        encoder.reset();
+        encoder.encode(charBuffer, byteBuffer, true);
+        encoder.flush(byteBuffer);
+        out.write(bytes, 0, byteBuffer.position());
+    }
+
+    private void ensureBytes(int required) {
+        if (bytes.length < required) {
+            bytes = new byte[Math.max(required, bytes.length * 2)];
+            byteBuffer = ByteBuffer.wrap(bytes);
+        }
+    }
+
+    /**
+     * Charset con el que la JVM creó {@code System.out} o {@code System.err}: la propiedad de Java 19+,
+     * la de versiones anteriores (ambas solo existen con una consola real) o el charset por defecto.
+     */
+    private static Charset consoleCharset(String property, String legacyProperty) {
+        String name = System.getProperty(property, System.getProperty(legacyProperty));
+        if (name != null) {
+            try {
+                return Charset.forName(name);
+            } catch (IllegalArgumentException e) {
+                // Charset desconocido: el mismo respaldo que usa la JVM
+            }
+        }
+        return Charset.defaultCharset();
+    }
+}
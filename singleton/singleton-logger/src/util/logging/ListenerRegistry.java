@@ -0,0 +1,93 @@
+package util.logging;
+
+import util.Logger.LogLevel;
+import util.Logger.LogListener;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registro thread-safe de listeners del Logger.
+ * Registrar o quitar listeners mientras se loguea es seguro ({@link CopyOnWriteArrayList}),
+ * y publicar un mensaje solo lo encola en la {@link ListenerSubscription} de cada listener.
+ */
+public final class ListenerRegistry {
+
+    /** Capacidad por defecto de la cola de cada listener. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** Por defecto un listener lento pierde mensajes en lugar de frenar a quien loguea. */
+    public static final OverflowPolicy DEFAULT_POLICY = OverflowPolicy.DROP;
+
+    private static final long STOP_TIMEOUT_MILLIS = 1000;
+
+    private final List<ListenerSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    /**
+     * Registra un listener con su propia cola y su propio hilo de entrega.
+     */
+    public ListenerSubscription add(LogListener listener, int capacity, OverflowPolicy overflowPolicy) {
+        ListenerSubscription subscription = new ListenerSubscription(listener, capacity, overflowPolicy,
+                "log-listener-" + threadCounter.incrementAndGet());
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Quita el listener y detiene su hilo tras entregar lo ya encolado.
+     */
+    public void remove(LogListener listener) {
+        for (ListenerSubscription subscription : subscriptions) {
+            if (subscription.getListener() == listener && subscriptions.remove(subscription)) {
+                subscription.stop(STOP_TIMEOUT_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Encola el mensaje para cada listener registrado.
+     */
+    public void publish(String message, LogLevel level) {
+        long publishedNanos = System.nanoTime();
+        for (ListenerSubscription subscription : subscriptions) {
+            subscription.enqueue(message, level, publishedNanos);
+        }
+    }
+
+    public boolean isEmpty() {
+        return subscriptions.isEmpty();
+    }
+
+    /**
+     * Suscripciones activas, con sus contadores de retraso y descartes.
+     */
+    public List<ListenerSubscription> getSubscriptions() {
+        return Collections.unmodifiableList(subscriptions);
+    }
+
+    /**
+     * Espera a que todos los listeners procesen sus colas.
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean idle = true;
+        for (ListenerSubscription subscription : subscriptions) {
+            idle &= subscription.awaitIdle(deadline);
+        }
+        return idle;
+    }
+
+    /**
+     * Detiene todos los hilos de entrega tras vaciar sus colas.
+     */
+    public void shutdown() {
+        for (ListenerSubscription subscription : subscriptions) {
+            subscriptions.remove(subscription);
+            subscription.stop(STOP_TIMEOUT_MILLIS);
+        }
+    }
+}
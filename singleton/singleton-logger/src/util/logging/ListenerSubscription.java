@@ -0,0 +1,185 @@
+package util.logging;
+
+import util.Logger.LogLevel;
+import util.Logger.LogListener;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Suscripción de un {@link LogListener} con su propia cola acotada y su propio hilo de entrega.
+ * Un listener lento solo llena su cola: según su {@link OverflowPolicy} los llamadores esperan
+ * o los mensajes se descartan (y se contabilizan), sin afectar a los demás listeners.
+ */
+public final class ListenerSubscription {
+
+    private static final long POLL_MILLIS = 100;
+    private static final long IDLE_CHECK_NANOS = 100_000L;
+
+    private final LogListener listener;
+    private final BlockingQueue<Delivery> queue;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread deliveryThread;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final ErrorReporter errors = new ErrorReporter("ListenerSubscription");
+
+    private final LatencyHistogram deliveryLatency = new LatencyHistogram();
+    private volatile boolean active = true;
+
+    ListenerSubscription(LogListener listener, int capacity, OverflowPolicy overflowPolicy, String threadName) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Listener queue capacity must be positive: " + capacity);
+        }
+        this.listener = listener;
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.deliveryThread = new Thread(this::deliveryLoop, threadName);
+        this.deliveryThread.setDaemon(true);
+        this.deliveryThread.start();
+    }
+
+    /**
+     * Encola un mensaje para este listener aplicando su política de desborde.
+     */
+    void enqueue(String message, LogLevel level, long publishedNanos) {
+        if (!active) {
+            return;
+        }
+        Delivery delivery = new Delivery(message, level, publishedNanos);
+        if (queue.offer(delivery)) {
+            accepted.increment();
+            return;
+        }
+        if (overflowPolicy.shouldDrop(level)) {
+            dropped.increment();
+            return;
+        }
+        try {
+            queue.put(delivery);
+            accepted.increment();
+        } catch (InterruptedException e) {
+            dropped.increment();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Espera a que la cola se vacíe y la última entrega termine.
+     *
+     * @return true si quedó al día antes del plazo
+     */
+    boolean awaitIdle(long deadlineNanos) {
+        while (completed.sum() < accepted.sum()) {
+            if (!deliveryThread.isAlive() || System.nanoTime() - deadlineNanos > 0) {
+                return false;
+            }
+            LockSupport.parkNanos(IDLE_CHECK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Detiene la entrega tras procesar los mensajes ya encolados.
+     */
+    void stop(long timeoutMillis) {
+        active = false;
+        try {
+            deliveryThread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Nombre de la suscripción (el de su hilo de entrega).
+     */
+    public String getName() {
+        return deliveryThread.getName();
+    }
+
+    public LogListener getListener() {
+        return listener;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Mensajes pendientes de entregar (retraso del listener).
+     */
+    public int getLag() {
+        return queue.size();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Entregas en las que el listener lanzó una excepción.
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Latencia desde que el mensaje se publicó hasta que el listener terminó de procesarlo.
+     */
+    public HistogramSnapshot getDeliveryLatency() {
+        return deliveryLatency.snapshot();
+    }
+
+    private void deliveryLoop() {
+        while (active || !queue.isEmpty()) {
+            Delivery delivery;
+            try {
+                delivery = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (delivery == null) {
+                continue;
+            }
+            try {
+                listener.onLog(delivery.message, delivery.level);
+                delivered.increment();
+                deliveryLatency.record(System.nanoTime() - delivery.publishedNanos);
+            } catch (RuntimeException e) {
+                failed.increment();
+                errors.report("listener failed", e);
+            } finally {
+                completed.increment();
+            }
+        }
+    }
+
+    private static final class Delivery {
+        private final String message;
+        private final LogLevel level;
+        private final long publishedNanos;
+
+        private Delivery(String message, LogLevel level, long publishedNanos) {
+            this.message = message;
+            this.level = level;
+            this.publishedNanos = publishedNanos;
+        }
+    }
+}
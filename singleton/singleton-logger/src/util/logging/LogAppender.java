@@ -0,0 +1,56 @@
+package util.logging;
+
+/**
+ * Destino adicional para los eventos del Logger (archivo, socket, etc.).
+ * Se invoca desde el hilo que procesa el evento: el llamador en modo síncrono
+ * o el hilo consumidor en modo asíncrono, por lo que las implementaciones deben ser thread-safe.
+ */
+public interface LogAppender extends AutoCloseable {
+
+    /**
+     * Escribe un evento.
+     *
+     * @param event Evento a escribir
+     * @param line  Línea ya formateada ({@code [timestamp] [LEVEL] mensaje}), sin salto de línea;
+     *              {@code null} si {@link #requiresFormattedLine()} devuelve false. En el modo sin basura
+     *              del Logger es un buffer reutilizado, válido solo durante la llamada
+     */
+    void append(LogEvent event, CharSequence line);
+
+    /**
+     * Si el appender usa la línea formateada. Si devuelve false, {@link #append(LogEvent, CharSequence)}
+     * recibe {@code null} como línea y el Logger no formatea el mensaje cuando nadie más lo necesita.
+     */
+    default boolean requiresFormattedLine() {
+        return true;
+    }
+
+    /**
+     * Entrega al sistema operativo lo que esté pendiente en buffers propios.
+     */
+    default void flush() {
+    }
+
+    /**
+     * Si {@link #awaitDurable()} puede confirmar escrituras. El Logger solo espera (y vacía el modo
+     * asíncrono) cuando algún appender registrado lo hace.
+     */
+    default boolean isDurable() {
+        return false;
+    }
+
+    /**
+     * Bloquea hasta que lo escrito antes de la llamada esté en almacenamiento estable.
+     *
+     * @return false si el appender no ofrece esa garantía (comportamiento por defecto) o no pudo cumplirla
+     */
+    default boolean awaitDurable() {
+        return false;
+    }
+
+    /**
+     * Libera los recursos del appender. No debe lanzar excepciones verificadas.
+     */
+    @Override
+    void close();
+}
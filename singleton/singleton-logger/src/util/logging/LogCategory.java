@@ -0,0 +1,132 @@
+package util.logging;
+
+import util.Logger.LogLevel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Categoría de log con umbral de nivel configurable en tiempo de ejecución.
+ * <p>
+ * Las categorías se registran por nombre y son únicas: {@link #of(String)} siempre devuelve
+ * la misma instancia. Mientras no se le asigne un umbral propio, una categoría hereda el
+ * umbral raíz. El chequeo {@link #isEnabled(LogLevel)} es una única lectura volátil y una
+ * comparación de enteros, lo que permite al JIT inlinearlo en el llamador.
+ */
+public final class LogCategory {
+
+    private static final ConcurrentHashMap<String, LogCategory> REGISTRY = new ConcurrentHashMap<>();
+    private static final Object LOCK = new Object();
+    private static volatile LogLevel rootThreshold = LogLevel.INFO;
+
+    public static final LogCategory GENERAL = of("general");
+    public static final LogCategory STUDENT = of("student");
+    public static final LogCategory PROFESSOR = of("professor");
+    public static final LogCategory SUBJECT = of("subject");
+    public static final LogCategory CAREER_PATH = of("careerPath");
+    public static final LogCategory VALIDATION = of("validation");
+
+    private final String name;
+    private volatile int threshold;
+    private LogLevel explicitThreshold;
+    private final LongAdder eventCount = new LongAdder();
+
+    private LogCategory(String name, LogLevel threshold) {
+        this.name = name;
+        this.threshold = threshold.ordinal();
+    }
+
+    /**
+     * Obtiene (o registra) la categoría con el nombre indicado.
+     */
+    public static LogCategory of(String name) {
+        LogCategory category = REGISTRY.get(name);
+        if (category != null) {
+            return category;
+        }
+        synchronized (LOCK) {
+            return REGISTRY.computeIfAbsent(name, n -> new LogCategory(n, rootThreshold));
+        }
+    }
+
+    /**
+     * Categorías registradas hasta el momento.
+     */
+    public static Collection<LogCategory> all() {
+        return Collections.unmodifiableCollection(REGISTRY.values());
+    }
+
+    /**
+     * Cambia el umbral raíz, que aplica a todas las categorías sin umbral propio.
+     */
+    public static void setRootThreshold(LogLevel level) {
+        synchronized (LOCK) {
+            rootThreshold = level;
+            for (LogCategory category : REGISTRY.values()) {
+                if (category.explicitThreshold == null) {
+                    category.threshold = level.ordinal();
+                }
+            }
+        }
+    }
+
+    public static LogLevel getRootThreshold() {
+        return rootThreshold;
+    }
+
+    /**
+     * Asigna un umbral propio a esta categoría.
+     */
+    public void setThreshold(LogLevel level) {
+        synchronized (LOCK) {
+            explicitThreshold = level;
+            threshold = level.ordinal();
+        }
+    }
+
+    /**
+     * Elimina el umbral propio: la categoría vuelve a heredar el umbral raíz.
+     */
+    public void clearThreshold() {
+        synchronized (LOCK) {
+            explicitThreshold = null;
+            threshold = rootThreshold.ordinal();
+        }
+    }
+
+    /**
+     * Umbral efectivo de la categoría.
+     */
+    public LogLevel getThreshold() {
+        return LogLevel.values()[threshold];
+    }
+
+    /**
+     * Indica si un evento del nivel dado supera el umbral de la categoría.
+     */
+    public boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    /**
+     * Eventos registrados en esta categoría (que superaron su umbral).
+     */
+    public long getEventCount() {
+        return eventCount.sum();
+    }
+
+    void recordEvent() {
+        eventCount.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
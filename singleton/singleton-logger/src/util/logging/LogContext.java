@@ -0,0 +1,205 @@
+package util.logging;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * Contexto de diagnóstico (MDC): pares clave/valor, por ejemplo el id de un lote, que se agregan
+ * a todos los eventos registrados mientras está activo en el hilo.
+ * <p>
+ * Cada contexto es inmutable y guarda sus pares en un único arreglo {@code [k0, v0, k1, v1, ...]}:
+ * agregar una clave crea un contexto nuevo, y los eventos solo guardan la referencia al contexto
+ * vigente, sin copiarlo (también en modo asíncrono). Sin contexto, el costo por evento es una
+ * lectura de {@link ThreadLocal}.
+ * <pre>
+ * try (LogContext.Scope scope = LogContext.put("batchId", batchId)) {
+ *     ...                                  // cada línea lleva [batchId=...]
+ *     executor.execute(LogContext.wrap(task)); // la tarea hereda el contexto
+ * }
+ * </pre>
+ * Para pasar el contexto a otros hilos se captura explícitamente con {@link #wrap(Runnable)},
+ * {@link #wrap(Callable)} o {@link #wrap(Executor)}.
+ */
+public final class LogContext {
+
+    private static final ThreadLocal<LogContext> CURRENT = new ThreadLocal<>();
+    private static final LogContext EMPTY = new LogContext(new String[0]);
+
+    private final String[] entries;
+
+    private LogContext(String[] entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Contexto activo en el hilo actual (vacío si no hay ninguno).
+     */
+    public static LogContext current() {
+        LogContext context = CURRENT.get();
+        return context != null ? context : EMPTY;
+    }
+
+    public static LogContext empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Contexto con los pares {@code [k0, v0, k1, v1, ...]} ya armados, por ejemplo leídos de un archivo
+     * binario. Se queda con el arreglo, que no se debe modificar después.
+     */
+    static LogContext of(String[] entries) {
+        return entries.length == 0 ? EMPTY : new LogContext(entries);
+    }
+
+    /**
+     * Agrega (o reemplaza) una clave en el contexto del hilo hasta que se cierre el scope devuelto.
+     */
+    public static Scope put(String key, String value) {
+        return current().with(key, value).attach();
+    }
+
+    /**
+     * Tarea que se ejecuta con el contexto vigente al llamar a este método, en cualquier hilo.
+     */
+    public static Runnable wrap(Runnable task) {
+        LogContext captured = current();
+        return () -> {
+            Scope scope = captured.attach();
+            try {
+                task.run();
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        LogContext captured = current();
+        return () -> {
+            Scope scope = captured.attach();
+            try {
+                return task.call();
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    /**
+     * Executor que propaga a cada tarea el contexto vigente al momento de enviarla.
+     */
+    public static Executor wrap(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    /**
+     * Contexto nuevo con la clave agregada o reemplazada.
+     */
+    public LogContext with(String key, String value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Context key cannot be null");
+        }
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i].equals(key)) {
+                String[] copy = entries.clone();
+                copy[i + 1] = value;
+                return new LogContext(copy);
+            }
+        }
+        String[] copy = Arrays.copyOf(entries, entries.length + 2);
+        copy[entries.length] = key;
+        copy[entries.length + 1] = value;
+        return new LogContext(copy);
+    }
+
+    /**
+     * Contexto nuevo sin la clave indicada.
+     */
+    public LogContext without(String key) {
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i].equals(key)) {
+                if (entries.length == 2) {
+                    return EMPTY;
+                }
+                String[] copy = new String[entries.length - 2];
+                System.arraycopy(entries, 0, copy, 0, i);
+                System.arraycopy(entries, i + 2, copy, i, entries.length - i - 2);
+                return new LogContext(copy);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Activa este contexto en el hilo actual hasta que se cierre el scope, que restaura el anterior.
+     */
+    public Scope attach() {
+        LogContext previous = CURRENT.get();
+        CURRENT.set(isEmpty() ? null : this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public String get(String key) {
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i].equals(key)) {
+                return entries[i + 1];
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return entries.length / 2;
+    }
+
+    public boolean isEmpty() {
+        return entries.length == 0;
+    }
+
+    public String getKey(int index) {
+        return entries[index * 2];
+    }
+
+    public String getValue(int index) {
+        return entries[index * 2 + 1];
+    }
+
+    /**
+     * Agrega {@code [k0=v0 k1=v1] } al builder; no agrega nada si el contexto está vacío.
+     */
+    public void formatTo(StringBuilder builder) {
+        if (entries.length == 0) {
+            return;
+        }
+        builder.append('[');
+        for (int i = 0; i < entries.length; i += 2) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(entries[i]).append('=').append(entries[i + 1]);
+        }
+        builder.append("] ");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        formatTo(builder);
+        return builder.toString().trim();
+    }
+
+    /**
+     * Alcance de un contexto activo; se cierra con try-with-resources.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,91 @@
+package util.logging;
+
+import util.Logger.LogLevel;
+
+import java.time.Instant;
+
+/**
+ * Evento leído de un archivo binario por {@link LogQueryEngine}, con el mensaje ya formateado.
+ */
+public final class LogEntry {
+
+    private final long epochNanos;
+    private final LogLevel level;
+    private final String category;
+    private final String message;
+    private final String entityType;
+    private final String entityId;
+    private final String operation;
+    private final String throwableText;
+    private final LogContext context;
+
+    LogEntry(long epochNanos, LogLevel level, String category, String message,
+             String entityType, String entityId, String operation, String throwableText, LogContext context) {
+        this.epochNanos = epochNanos;
+        this.level = level;
+        this.category = category;
+        this.message = message;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.throwableText = throwableText;
+        this.context = context;
+    }
+
+    public Instant getTimestamp() {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L), Math.floorMod(epochNanos, 1_000_000_000L));
+    }
+
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Texto de la excepción del evento (traza completa o referencia a una anterior), o {@code null}.
+     */
+    public String getThrowableText() {
+        return throwableText;
+    }
+
+    /**
+     * Contexto de diagnóstico vigente al registrar el evento (vacío si no había).
+     */
+    public LogContext getContext() {
+        return context;
+    }
+
+    /**
+     * Lo mismo que escribe el Logger: {@code [yyyy-MM-dd HH:mm:ss] [LEVEL] [contexto] mensaje}, seguido de
+     * la traza en las líneas siguientes si la hay.
+     */
+    @Override
+    public String toString() {
+        String line = "[" + TimestampFormatter.format(getTimestamp()) + "] [" + level + "] "
+                + (context.isEmpty() ? "" : context.toString() + " ") + message;
+        return throwableText != null ? line + System.lineSeparator() + throwableText : line;
+    }
+}
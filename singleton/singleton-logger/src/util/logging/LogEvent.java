@@ -0,0 +1,260 @@
+package util.logging;
+
+import util.Logger.LogLevel;
+
+import java.util.function.Supplier;
+
+/**
+ * Evento de log mutable y reutilizable.
+ * En modo asíncrono cada slot del ring buffer contiene una instancia preasignada
+ * que el productor completa y el consumidor procesa y limpia.
+ * <p>
+ * El mensaje puede llegar ya construido, como patrón {@code {}} con argumentos o como
+ * {@link Supplier}; en los dos últimos casos solo se formatea al llamar a {@link #getMessage()}.
+ */
+public final class LogEvent {
+
+    private static final int INLINE_PARAMETERS = 3;
+
+    private LogLevel level;
+    private LogCategory category;
+    private long timestamp;
+    private String message;
+    private String pattern;
+    private Supplier<String> supplier;
+    private final Object[] inlineParameters = new Object[INLINE_PARAMETERS];
+    private Object[] parameters = inlineParameters;
+    private int parameterCount;
+    private long startNanos = LoggerMetrics.NOT_SAMPLED;
+    private Throwable thrown;
+    private String throwableText;
+    private String entityType;
+    private String entityId;
+    private String operation;
+    private LogContext context = LogContext.empty();
+
+    /**
+     * Completa el evento con un mensaje ya construido.
+     */
+    public void set(LogLevel level, LogCategory category, long timestamp, String message) {
+        this.level = level;
+        this.category = category;
+        this.timestamp = timestamp;
+        this.message = message;
+    }
+
+    /**
+     * Completa el evento con un patrón y hasta tres argumentos copiados a un arreglo propio del evento.
+     */
+    public void setPattern(LogLevel level, LogCategory category, long timestamp, String pattern, int count,
+                           Object arg0, Object arg1, Object arg2) {
+        this.level = level;
+        this.category = category;
+        this.timestamp = timestamp;
+        this.pattern = pattern;
+        this.parameters = inlineParameters;
+        this.parameterCount = count;
+        inlineParameters[0] = arg0;
+        inlineParameters[1] = arg1;
+        inlineParameters[2] = arg2;
+    }
+
+    /**
+     * Completa el evento con un patrón y un arreglo arbitrario de argumentos.
+     */
+    public void setPattern(LogLevel level, LogCategory category, long timestamp, String pattern, Object[] args) {
+        this.level = level;
+        this.category = category;
+        this.timestamp = timestamp;
+        this.pattern = pattern;
+        this.parameters = args != null ? args : inlineParameters;
+        this.parameterCount = args != null ? args.length : 0;
+    }
+
+    /**
+     * Completa el evento con un proveedor de mensaje que se evalúa al formatear.
+     */
+    public void setSupplier(LogLevel level, LogCategory category, long timestamp, Supplier<String> supplier) {
+        this.level = level;
+        this.category = category;
+        this.timestamp = timestamp;
+        this.supplier = supplier;
+    }
+
+    /**
+     * Copia todos los campos de {@code other}. Los argumentos en línea se copian al arreglo propio;
+     * un arreglo varargs se comparte porque el llamador no lo reutiliza.
+     */
+    public void copyFrom(LogEvent other) {
+        this.level = other.level;
+        this.category = other.category;
+        this.timestamp = other.timestamp;
+        this.message = other.message;
+        this.pattern = other.pattern;
+        this.supplier = other.supplier;
+        this.parameterCount = other.parameterCount;
+        if (other.parameters == other.inlineParameters) {
+            this.parameters = inlineParameters;
+            inlineParameters[0] = other.inlineParameters[0];
+            inlineParameters[1] = other.inlineParameters[1];
+            inlineParameters[2] = other.inlineParameters[2];
+        } else {
+            this.parameters = other.parameters;
+        }
+        this.startNanos = other.startNanos;
+        this.thrown = other.thrown;
+        this.throwableText = other.throwableText;
+        this.entityType = other.entityType;
+        this.entityId = other.entityId;
+        this.operation = other.operation;
+        this.context = other.context;
+    }
+
+    /**
+     * Libera las referencias para no retener objetos tras el procesamiento.
+     */
+    public void clear() {
+        this.level = null;
+        this.category = null;
+        this.message = null;
+        this.pattern = null;
+        this.supplier = null;
+        this.parameters = inlineParameters;
+        this.parameterCount = 0;
+        this.startNanos = LoggerMetrics.NOT_SAMPLED;
+        this.thrown = null;
+        this.throwableText = null;
+        this.entityType = null;
+        this.entityId = null;
+        this.operation = null;
+        this.context = LogContext.empty();
+        inlineParameters[0] = null;
+        inlineParameters[1] = null;
+        inlineParameters[2] = null;
+    }
+
+    /**
+     * Instante ({@link System#nanoTime()}) en que se registró el evento, si fue elegido para medir latencias;
+     * {@link LoggerMetrics#NOT_SAMPLED} si no.
+     */
+    public void setStartNanos(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Excepción asociada al evento. Solo se guarda la referencia: la traza se convierte
+     * a texto al procesar el evento, en el hilo consumidor si el Logger es asíncrono.
+     */
+    public void setThrown(Throwable thrown) {
+        this.thrown = thrown;
+    }
+
+    public Throwable getThrown() {
+        return thrown;
+    }
+
+    /**
+     * Traza ya convertida a texto (completa o como referencia a una anterior), sin salto de línea final;
+     * {@code null} si el evento no tiene excepción o todavía no se procesó.
+     */
+    public void setThrowableText(String throwableText) {
+        this.throwableText = throwableText;
+    }
+
+    public String getThrowableText() {
+        return throwableText;
+    }
+
+    /**
+     * Campos estructurados de un evento sobre una entidad; cualquiera puede ser {@code null}.
+     */
+    public void setEntity(String entityType, String entityId, String operation) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Contexto de diagnóstico vigente al registrar el evento. Es inmutable, así que se guarda la referencia.
+     */
+    public void setContext(LogContext context) {
+        this.context = context;
+    }
+
+    public LogContext getContext() {
+        return context;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public LogCategory getCategory() {
+        return category;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Patrón {@code {}} del evento, o {@code null} si el mensaje llegó construido o como {@link Supplier}.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    public int getParameterCount() {
+        return pattern != null ? parameterCount : 0;
+    }
+
+    public Object getParameter(int index) {
+        if (index < 0 || index >= getParameterCount()) {
+            throw new IndexOutOfBoundsException("Parameter index: " + index + ", count: " + getParameterCount());
+        }
+        return parameters[index];
+    }
+
+    /**
+     * Devuelve el mensaje, formateándolo la primera vez si era diferido.
+     */
+    public String getMessage() {
+        if (message == null) {
+            if (pattern != null) {
+                message = MessageFormatter.format(pattern, parameters, parameterCount);
+            } else if (supplier != null) {
+                message = String.valueOf(supplier.get());
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Agrega el mensaje al builder sin crear el String del mensaje. Si ya estaba formateado se copia.
+     */
+    public void formatMessageTo(StringBuilder builder) {
+        if (message != null) {
+            builder.append(message);
+        } else if (pattern != null) {
+            MessageFormatter.formatTo(builder, pattern, parameters, parameterCount);
+        } else if (supplier != null) {
+            builder.append(supplier.get());
+        }
+    }
+}
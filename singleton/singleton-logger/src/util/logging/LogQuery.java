@@ -0,0 +1,197 @@
+package util.logging;
+
+import util.Logger.LogLevel;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Criterios de una consulta de {@link LogQueryEngine}. Todos son opcionales y se combinan con AND:
+ * <pre>
+ * LogQuery query = LogQuery.builder()
+ *         .from(desde).to(hasta)
+ *         .entityId("maria.pena@example.com")
+ *         .minLevel(LogLevel.WARN)
+ *         .build();
+ * </pre>
+ * El rango de tiempo, el nivel y el identificador de entidad se resuelven con el índice de cada bloque;
+ * el resto se verifica evento por evento dentro de los bloques que no se pudieron descartar.
+ */
+public final class LogQuery {
+
+    private final long fromNanos;
+    private final long toNanos;
+    private final int levelMask;
+    private final Set<String> categories;
+    private final String entityType;
+    private final String entityId;
+    private final byte[] entityIdBytes;
+    private final long entityIdHash;
+    private final String operation;
+    private final String messageContains;
+
+    private LogQuery(Builder builder) {
+        this.fromNanos = builder.fromNanos;
+        this.toNanos = builder.toNanos;
+        int mask = 0;
+        for (LogLevel level : LogLevel.values()) {
+            if (level.ordinal() >= builder.minLevel.ordinal()) {
+                mask |= 1 << level.ordinal();
+            }
+        }
+        this.levelMask = mask;
+        this.categories = builder.categories;
+        this.entityType = builder.entityType;
+        this.entityId = builder.entityId;
+        this.entityIdBytes = entityId != null ? entityId.getBytes(StandardCharsets.UTF_8) : null;
+        this.entityIdHash = entityId != null ? SegmentIndex.hash(entityId) : 0;
+        this.operation = builder.operation;
+        this.messageContains = builder.messageContains;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Si el bloque del índice puede tener algún evento que cumpla la consulta.
+     */
+    boolean mayMatch(SegmentIndex.Entry block) {
+        if (block.maxNanos < fromNanos || block.minNanos >= toNanos) {
+            return false;
+        }
+        if ((block.levels & levelMask) == 0) {
+            return false;
+        }
+        return entityId == null || block.mightContainEntity(entityIdHash);
+    }
+
+    /**
+     * Filtro de los campos fijos del evento, antes de leer argumentos y entidad.
+     */
+    boolean matchesHeader(int level, long epochNanos, String category) {
+        return (levelMask & (1 << level)) != 0
+                && epochNanos >= fromNanos && epochNanos < toNanos
+                && (categories == null || categories.contains(category));
+    }
+
+    String getEntityType() {
+        return entityType;
+    }
+
+    String getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * El identificador en UTF-8, para compararlo con el archivo sin crear Strings.
+     */
+    byte[] getEntityIdBytes() {
+        return entityIdBytes;
+    }
+
+    String getOperation() {
+        return operation;
+    }
+
+    String getMessageContains() {
+        return messageContains;
+    }
+
+    /**
+     * Builder para armar la consulta.
+     */
+    public static final class Builder {
+        private long fromNanos = Long.MIN_VALUE;
+        private long toNanos = Long.MAX_VALUE;
+        private LogLevel minLevel = LogLevel.TRACE;
+        private Set<String> categories;
+        private String entityType;
+        private String entityId;
+        private String operation;
+        private String messageContains;
+
+        private Builder() {
+        }
+
+        /**
+         * Desde este instante, inclusive.
+         */
+        public Builder from(Instant from) {
+            this.fromNanos = toNanos(from);
+            return this;
+        }
+
+        /**
+         * Hasta este instante, exclusive.
+         */
+        public Builder to(Instant to) {
+            this.toNanos = toNanos(to);
+            return this;
+        }
+
+        public Builder minLevel(LogLevel minLevel) {
+            this.minLevel = minLevel;
+            return this;
+        }
+
+        /**
+         * Solo eventos de estas categorías (por nombre, ver {@link LogCategory#getName()}).
+         */
+        public Builder categories(String... names) {
+            this.categories = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(names)));
+            return this;
+        }
+
+        /**
+         * Tipo de entidad de {@link util.Logger#logEntity}, por ejemplo {@code "Student"}.
+         */
+        public Builder entityType(String entityType) {
+            this.entityType = entityType;
+            return this;
+        }
+
+        /**
+         * Identificador de entidad de {@link util.Logger#logEntity}, por ejemplo el email de un estudiante.
+         */
+        public Builder entityId(String entityId) {
+            this.entityId = entityId;
+            return this;
+        }
+
+        public Builder operation(String operation) {
+            this.operation = operation;
+            return this;
+        }
+
+        /**
+         * Texto que debe aparecer en el mensaje formateado. Es el único criterio que obliga a formatear
+         * todos los eventos que pasan los demás filtros.
+         */
+        public Builder messageContains(String text) {
+            this.messageContains = text;
+            return this;
+        }
+
+        public LogQuery build() {
+            if (minLevel == null) {
+                throw new IllegalArgumentException("Minimum level cannot be null");
+            }
+            if (fromNanos > toNanos) {
+                throw new IllegalArgumentException("Query range starts after it ends");
+            }
+            return new LogQuery(this);
+        }
+
+        private static long toNanos(Instant instant) {
+            if (instant == null) {
+                throw new IllegalArgumentException("Instant cannot be null");
+            }
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        }
+    }
+}
@@ -0,0 +1,547 @@
+package util.logging;
+
+import util.Logger.LogLevel;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Consultas sobre los archivos de {@link BinaryLogAppender} sin recorrerlos enteros: cada archivo se
+ * mapea en memoria y con su índice ({@link SegmentIndex}) se saltean los bloques cuyo rango de tiempo,
+ * niveles o entidades no pueden coincidir con la {@link LogQuery}. Los resultados se entregan de a uno
+ * con un {@link Iterator}, en el orden en que se escribieron, sin cargar los archivos en memoria.
+ * <p>
+ * Uso desde la línea de comandos:
+ * <pre>
+ * java -cp &lt;classes&gt; util.logging.LogQueryEngine --dir logs --name app \
+ *      --from "2026-10-17 14:00:00" --to "2026-10-17 15:00:00" --entity maria.pena@example.com
+ * </pre>
+ * Opciones: {@code --level}, {@code --category}, {@code --type}, {@code --operation} y {@code --grep}.
+ */
+public final class LogQueryEngine {
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+    private static final int HEADER_SIZE = BinaryLogFormat.MAGIC.length + 1;
+
+    private final Path directory;
+    private final String baseName;
+
+    /**
+     * @param directory Directorio de los archivos
+     * @param baseName  Nombre base configurado en {@link BinaryLogAppender.Builder#baseName(String)}
+     */
+    public LogQueryEngine(Path directory, String baseName) {
+        if (baseName == null || baseName.isBlank()) {
+            throw new IllegalArgumentException("Base name cannot be empty");
+        }
+        this.directory = directory;
+        this.baseName = baseName;
+    }
+
+    /**
+     * Ejecuta la consulta. Los archivos se abren a medida que se recorre el resultado; un error de
+     * lectura durante el recorrido se lanza como {@link UncheckedIOException}.
+     */
+    public Results query(LogQuery query) throws IOException {
+        return new Results(query, listSegments());
+    }
+
+    /**
+     * Archivos del nombre base, del más viejo al más nuevo.
+     */
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        String prefix = baseName + "-";
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + BinaryLogFormat.FILE_SUFFIX)) {
+            for (Path path : stream) {
+                if (segmentNumber(path, prefix) >= 0) {
+                    segments.add(path);
+                }
+            }
+        }
+        segments.sort(Comparator.comparingInt(path -> segmentNumber(path, prefix)));
+        return segments;
+    }
+
+    private static int segmentNumber(Path path, String prefix) {
+        String name = path.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring(prefix.length(), name.length() - BinaryLogFormat.FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Path indexFileOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return segment.resolveSibling(name.substring(0, name.length() - BinaryLogFormat.FILE_SUFFIX.length())
+                + BinaryLogFormat.INDEX_SUFFIX);
+    }
+
+    /**
+     * Resultado de una consulta. Además de los eventos informa cuánto se pudo saltear.
+     */
+    public static final class Results implements Iterator<LogEntry> {
+
+        private final LogQuery query;
+        private final List<Path> segments;
+        private int nextSegment;
+
+        private ByteBuffer data;
+        private long[] ranges = new long[0];
+        private int nextRange;
+
+        private final List<String> templates = new ArrayList<>();
+        private final List<String> categories = new ArrayList<>();
+        private final StringBuilder message = new StringBuilder(256);
+        private Object[] arguments = new Object[4];
+        private byte[] scratch = new byte[256];
+        private LogEntry next;
+
+        private long blocksRead;
+        private long blocksSkipped;
+        private long segmentsSkipped;
+        private long eventsScanned;
+
+        private Results(LogQuery query, List<Path> segments) {
+            this.query = query;
+            this.segments = segments;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = advance();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public LogEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            LogEntry entry = next;
+            next = null;
+            return entry;
+        }
+
+        /**
+         * Bloques leídos, incluido el bloque final de cada archivo que todavía no está en el índice.
+         */
+        public long getBlocksRead() {
+            return blocksRead;
+        }
+
+        /**
+         * Bloques descartados solo con el índice.
+         */
+        public long getBlocksSkipped() {
+            return blocksSkipped;
+        }
+
+        /**
+         * Archivos sin ningún bloque que leer, que ni siquiera se mapearon.
+         */
+        public long getSegmentsSkipped() {
+            return segmentsSkipped;
+        }
+
+        /**
+         * Eventos decodificados en los bloques leídos.
+         */
+        public long getEventsScanned() {
+            return eventsScanned;
+        }
+
+        private LogEntry advance() throws IOException {
+            while (true) {
+                if (data != null && data.hasRemaining()) {
+                    LogEntry entry = scan();
+                    if (entry != null) {
+                        return entry;
+                    }
+                    continue;
+                }
+                if (data != null && nextRange < ranges.length) {
+                    data.limit((int) ranges[nextRange + 1]).position((int) ranges[nextRange]);
+                    nextRange += 2;
+                    blocksRead++;
+                    continue;
+                }
+                if (nextSegment == segments.size()) {
+                    data = null;
+                    return null;
+                }
+                openSegment(segments.get(nextSegment++));
+            }
+        }
+
+        /**
+         * Calcula los rangos del archivo que hay que leer y, si hay alguno, lo mapea.
+         */
+        private void openSegment(Path segment) throws IOException {
+            data = null;
+            templates.clear();
+            templates.add(null); // Id 0: mensaje literal
+            categories.clear();
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException(segment + ": segment too large to map");
+                }
+                List<Long> selected = new ArrayList<>();
+                long indexedEnd = HEADER_SIZE;
+                for (SegmentIndex.Entry block : SegmentIndex.read(indexFileOf(segment))) {
+                    if (block.offset + block.length > size) {
+                        break; // Índice adelantado a los datos: el resto se lee sin índice
+                    }
+                    if (query.mayMatch(block)) {
+                        selected.add(block.offset);
+                        selected.add(block.offset + block.length);
+                    } else {
+                        blocksSkipped++;
+                    }
+                    indexedEnd = block.offset + block.length;
+                }
+                if (indexedEnd < size) {
+                    selected.add(indexedEnd);
+                    selected.add(size);
+                }
+                if (selected.isEmpty()) {
+                    segmentsSkipped++;
+                    return;
+                }
+                ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                readHeader(mapped, segment);
+                ranges = selected.stream().mapToLong(Long::longValue).toArray();
+                nextRange = 0;
+                data = mapped.limit(0);
+            }
+        }
+
+        private static void readHeader(ByteBuffer buffer, Path segment) throws IOException {
+            byte[] magic = new byte[BinaryLogFormat.MAGIC.length];
+            if (buffer.remaining() < HEADER_SIZE) {
+                throw new IOException(segment + ": not a binary log file");
+            }
+            buffer.get(magic);
+            if (!Arrays.equals(magic, BinaryLogFormat.MAGIC)) {
+                throw new IOException(segment + ": not a binary log file");
+            }
+            int version = buffer.get();
+            if (version != BinaryLogFormat.VERSION) {
+                throw new IOException(segment + ": unsupported version " + version);
+            }
+        }
+
+        /**
+         * Lee registros del rango actual hasta encontrar un evento que cumpla la consulta.
+         *
+         * @return El evento, o null si se terminó el rango
+         */
+        private LogEntry scan() throws IOException {
+            try {
+                while (data.hasRemaining()) {
+                    int tag = data.get();
+                    switch (tag) {
+                        case BinaryLogFormat.TAG_TEMPLATE:
+                            define(templates, readVarint(), readString());
+                            break;
+                        case BinaryLogFormat.TAG_CATEGORY:
+                            define(categories, readVarint(), readString());
+                            break;
+                        case BinaryLogFormat.TAG_BLOCK:
+                            templates.subList(1, templates.size()).clear();
+                            categories.clear();
+                            break;
+                        case BinaryLogFormat.TAG_EVENT:
+                            LogEntry entry = readEvent();
+                            if (entry != null) {
+                                return entry;
+                            }
+                            break;
+                        default:
+                            throw new IOException("Unknown record tag " + tag);
+                    }
+                }
+            } catch (BufferUnderflowException e) {
+                // Registro incompleto al final del archivo: se sigue con el próximo rango
+                data.position(data.limit());
+            }
+            return null;
+        }
+
+        /**
+         * Decodifica un evento aplicando primero los filtros baratos: los argumentos solo se
+         * convierten a String y se formatean si el evento cumple todo lo demás.
+         */
+        private LogEntry readEvent() throws IOException {
+            int templateId = readVarint();
+            int level = data.get() & 0xFF;
+            String category = lookup(categories, readVarint(), 0);
+            long epochNanos = data.getLong();
+            int count = readVarint();
+            eventsScanned++;
+
+            if (level >= LEVELS.length || !query.matchesHeader(level, epochNanos, category)) {
+                skipStrings(count);
+                skipOptionalStrings(4); // Tipo, entidad, operación y traza
+                skipContext();
+                return null;
+            }
+            int argumentsPosition = data.position();
+            skipStrings(count);
+
+            String entityType = readOptionalString();
+            if (query.getEntityIdBytes() != null && !optionalStringEquals(query.getEntityIdBytes())) {
+                skipOptionalStrings(2); // Operación y traza
+                skipContext();
+                return null;
+            }
+            String entityId;
+            if (query.getEntityId() != null) {
+                entityId = query.getEntityId();
+            } else {
+                entityId = readOptionalString();
+            }
+            String operation = readOptionalString();
+            // La traza y el contexto solo se convierten a String si el evento cumple la consulta
+            int throwablePosition = data.position();
+            skipOptionalStrings(1);
+            int contextPosition = data.position();
+            skipContext();
+            if (!matches(query.getEntityType(), entityType) || !matches(query.getEntityId(), entityId)
+                    || !matches(query.getOperation(), operation)) {
+                return null;
+            }
+
+            int end = data.position();
+            data.position(argumentsPosition);
+            if (arguments.length < count) {
+                arguments = Arrays.copyOf(arguments, count);
+            }
+            for (int i = 0; i < count; i++) {
+                arguments[i] = readString();
+            }
+            data.position(end);
+
+            String text;
+            if (templateId == BinaryLogFormat.LITERAL_TEMPLATE) {
+                text = (String) arguments[0];
+            } else {
+                message.setLength(0);
+                MessageFormatter.formatTo(message, lookup(templates, templateId, 1), arguments, count);
+                text = message.toString();
+            }
+            Arrays.fill(arguments, 0, count, null);
+            if (query.getMessageContains() != null && !text.contains(query.getMessageContains())) {
+                return null;
+            }
+            data.position(throwablePosition);
+            String throwableText = readOptionalString();
+            data.position(contextPosition);
+            LogContext context = readContext();
+            data.position(end);
+            return new LogEntry(epochNanos, LEVELS[level], category, text, entityType, entityId, operation,
+                    throwableText, context);
+        }
+
+        private static boolean matches(String expected, String actual) {
+            return expected == null || expected.equals(actual);
+        }
+
+        private static void define(List<String> table, int id, String value) throws IOException {
+            if (id != table.size()) {
+                throw new IOException("Unexpected definition id " + id);
+            }
+            table.add(value);
+        }
+
+        private static String lookup(List<String> table, int id, int first) throws IOException {
+            if (id < first || id >= table.size()) {
+                throw new IOException("Undefined table id " + id);
+            }
+            return table.get(id);
+        }
+
+        private int readVarint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = data.get() & 0xFF;
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        private String readString() throws IOException {
+            return readBytes(readVarint());
+        }
+
+        private LogContext readContext() throws IOException {
+            int size = readVarint();
+            if (size == 0) {
+                return LogContext.empty();
+            }
+            String[] entries = new String[size * 2];
+            for (int i = 0; i < entries.length; i += 2) {
+                entries[i] = readString();
+                entries[i + 1] = readOptionalString();
+            }
+            return LogContext.of(entries);
+        }
+
+        private String readOptionalString() throws IOException {
+            int length = readVarint();
+            return length == 0 ? null : readBytes(length - 1);
+        }
+
+        private String readBytes(int length) {
+            if (length > data.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            data.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Compara un string opcional del archivo con los bytes esperados, avanzando sobre él.
+         */
+        private boolean optionalStringEquals(byte[] expected) throws IOException {
+            int length = readVarint() - 1;
+            if (length != expected.length) {
+                skip(Math.max(length, 0));
+                return false;
+            }
+            int start = data.position();
+            skip(length);
+            for (int i = 0; i < length; i++) {
+                if (data.get(start + i) != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void skipStrings(int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                skip(readVarint());
+            }
+        }
+
+        private void skipOptionalStrings(int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                skip(Math.max(readVarint() - 1, 0));
+            }
+        }
+
+        private void skipContext() throws IOException {
+            int size = readVarint();
+            for (int i = 0; i < size; i++) {
+                skipStrings(1);
+                skipOptionalStrings(1);
+            }
+        }
+
+        private void skip(int length) {
+            if (length > data.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            data.position(data.position() + length);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of("logs");
+        String baseName = "app";
+        LogQuery.Builder query = LogQuery.builder();
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--dir":
+                        directory = Path.of(value);
+                        break;
+                    case "--name":
+                        baseName = value;
+                        break;
+                    case "--from":
+                        query.from(TimestampFormatter.parse(value));
+                        break;
+                    case "--to":
+                        query.to(TimestampFormatter.parse(value));
+                        break;
+                    case "--level":
+                        query.minLevel(LogLevel.valueOf(value.toUpperCase(Locale.ROOT)));
+                        break;
+                    case "--category":
+                        query.categories(value.split(","));
+                        break;
+                    case "--type":
+                        query.entityType(value);
+                        break;
+                    case "--entity":
+                        query.entityId(value);
+                        break;
+                    case "--operation":
+                        query.operation(value);
+                        break;
+                    case "--grep":
+                        query.messageContains(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: LogQueryEngine [--dir logs] [--name app] [--from \"yyyy-MM-dd HH:mm:ss\"] [--to ...]"
+                    + " [--level WARN] [--category a,b] [--type Student] [--entity id] [--operation create] [--grep text]");
+            System.exit(2);
+            return;
+        }
+
+        Results results = new LogQueryEngine(directory, baseName).query(query.build());
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        long matches = 0;
+        while (results.hasNext()) {
+            out.append(results.next().toString()).append('\n');
+            matches++;
+        }
+        out.flush();
+        System.err.printf("%d matches, %d events scanned, %d blocks read, %d blocks skipped, %d segments skipped%n",
+                matches, results.getEventsScanned(), results.getBlocksRead(), results.getBlocksSkipped(),
+                results.getSegmentsSkipped());
+    }
+}
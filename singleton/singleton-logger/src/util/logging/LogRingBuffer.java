@@ -0,0 +1,114 @@
+package util.logging;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ring buffer acotado multi-productor / consumidor único con eventos preasignados.
+ * <p>
+ * Los productores reservan una secuencia con un CAS sobre el cursor, completan el
+ * {@link LogEvent} del slot y lo publican marcando la vuelta correspondiente en
+ * {@code published}. El consumidor avanza {@code consumed} al terminar cada lote,
+ * lo que libera los slots para nuevas reservas.
+ */
+public final class LogRingBuffer {
+
+    /** Valor devuelto por {@link #tryClaim()} cuando no hay espacio. */
+    public static final long FULL = -1L;
+
+    private final LogEvent[] events;
+    private final AtomicIntegerArray published;
+    private final int mask;
+    private final int indexShift;
+
+    private final AtomicLong cursor = new AtomicLong(-1L);
+    private final AtomicLong consumed = new AtomicLong(-1L);
+
+    /**
+     * @param capacity Capacidad del buffer; debe ser potencia de 2
+     */
+    public LogRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of 2: " + capacity);
+        }
+        this.events = new LogEvent[capacity];
+        this.published = new AtomicIntegerArray(capacity);
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new LogEvent();
+            published.set(i, -1);
+        }
+    }
+
+    public int capacity() {
+        return events.length;
+    }
+
+    /**
+     * Reserva la siguiente secuencia si hay un slot libre.
+     *
+     * @return La secuencia reservada o {@link #FULL} si el buffer está lleno
+     */
+    public long tryClaim() {
+        long current;
+        long next;
+        do {
+            current = cursor.get();
+            next = current + 1;
+            if (next - events.length > consumed.get()) {
+                return FULL;
+            }
+        } while (!cursor.compareAndSet(current, next));
+        return next;
+    }
+
+    /**
+     * Devuelve el evento asociado a una secuencia reservada.
+     */
+    public LogEvent get(long sequence) {
+        return events[(int) sequence & mask];
+    }
+
+    /**
+     * Publica una secuencia reservada, haciéndola visible al consumidor.
+     */
+    public void publish(long sequence) {
+        published.lazySet((int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    /**
+     * Indica si la secuencia ya fue publicada por su productor.
+     */
+    public boolean isPublished(long sequence) {
+        return published.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    /**
+     * Marca como consumidas todas las secuencias hasta {@code sequence} inclusive.
+     */
+    public void release(long sequence) {
+        consumed.lazySet(sequence);
+    }
+
+    /**
+     * Última secuencia reservada por algún productor.
+     */
+    public long claimedSequence() {
+        return cursor.get();
+    }
+
+    /**
+     * Última secuencia liberada por el consumidor.
+     */
+    public long consumedSequence() {
+        return consumed.get();
+    }
+
+    /**
+     * Cantidad aproximada de eventos pendientes de consumir.
+     */
+    public int size() {
+        return (int) (cursor.get() - consumed.get());
+    }
+}
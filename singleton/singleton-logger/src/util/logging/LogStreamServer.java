@@ -0,0 +1,548 @@
+package util.logging;
+
+import util.Logger.LogLevel;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.ProtocolFamily;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appender que sirve el flujo de eventos en vivo por un socket local (TCP en loopback o socket Unix),
+ * para seguir los logs con {@code nc localhost 4560} en lugar del panel de Swing.
+ * <p>
+ * Todo el I/O de red lo hace un único hilo con un {@link Selector}. Quien loguea solo copia la línea
+ * al buffer de cada cliente cuyo filtro la acepta; si el buffer de un cliente se llena porque no lee
+ * lo suficientemente rápido, se lo desconecta en lugar de frenar a la aplicación. Sin clientes
+ * conectados, {@link #append(LogEvent, CharSequence)} no hace nada.
+ * <p>
+ * Cada cliente puede enviar en cualquier momento una línea de filtro que reemplaza la anterior:
+ * <pre>
+ * level=WARN categories=student,validation
+ * </pre>
+ * Sin filtro recibe todos los eventos que el Logger procesa (los que superan los umbrales de nivel).
+ * El servidor confirma cada filtro con una línea que empieza con {@code #}.
+ */
+public final class LogStreamServer implements LogAppender {
+
+    /** Puerto por defecto en loopback. */
+    public static final int DEFAULT_PORT = 4560;
+
+    private static final byte NEW_LINE = '\n';
+    private static final int INITIAL_CLIENT_BUFFER = 8 * 1024;
+    private static final int MAX_FILTER_LINE = 1024;
+
+    private final SocketAddress address;
+    private final Path socketFile;
+    private final int maxClientBuffer;
+    private final int maxClients;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Thread selectorThread;
+
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    /** Clientes con datos nuevos o a desconectar, que el hilo del selector debe atender. */
+    private final ConcurrentLinkedQueue<Client> pending = new ConcurrentLinkedQueue<>();
+    /** Si ya se despertó al selector y todavía no vació {@link #pending}. */
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final ThreadLocal<byte[]> scratch = ThreadLocal.withInitial(() -> new byte[512]);
+    private final LongAdder acceptedClients = new LongAdder();
+    private final LongAdder slowClients = new LongAdder();
+    private volatile boolean closed;
+
+    private LogStreamServer(Builder builder) throws IOException {
+        this.maxClientBuffer = builder.maxClientBuffer;
+        this.maxClients = builder.maxClients;
+        this.socketFile = builder.socketFile;
+        if (socketFile != null) {
+            serverChannel = openUnixChannel();
+        } else {
+            serverChannel = ServerSocketChannel.open();
+        }
+        try {
+            serverChannel.bind(builder.address);
+            serverChannel.configureBlocking(false);
+            selector = Selector.open();
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+        this.address = serverChannel.getLocalAddress();
+        this.selectorThread = new Thread(this::selectLoop, "logger-stream-server");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    /**
+     * {@code ServerSocketChannel.open(ProtocolFamily)} existe desde Java 15; se invoca por reflexión,
+     * como {@code UnixDomainSocketAddress.of} en {@link Builder#unixSocket(Path)}, para compilar con Java 11.
+     */
+    private static ServerSocketChannel openUnixChannel() throws IOException {
+        try {
+            return (ServerSocketChannel) ServerSocketChannel.class.getMethod("open", ProtocolFamily.class)
+                    .invoke(null, StandardProtocolFamily.valueOf("UNIX"));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new UnsupportedOperationException("Unix domain sockets require Java 16 or later", e.getCause());
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            throw new UnsupportedOperationException("Unix domain sockets require Java 16 or later", e);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void append(LogEvent event, CharSequence line) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        LogLevel level = event.getLevel();
+        LogCategory category = event.getCategory() != null ? event.getCategory() : LogCategory.GENERAL;
+        byte[] bytes = null;
+        int length = 0;
+        for (Client client : clients) {
+            if (!client.accepts(level, category)) {
+                continue;
+            }
+            if (bytes == null) {
+                // La línea se codifica una sola vez para todos los clientes
+                bytes = scratch.get();
+                int required = Utf8.maxEncodedLength(line) + 1;
+                if (bytes.length < required) {
+                    bytes = new byte[Math.max(required, bytes.length * 2)];
+                    scratch.set(bytes);
+                }
+                length = Utf8.encode(line, bytes, 0, bytes.length);
+                bytes[length++] = NEW_LINE;
+            }
+            offer(client, bytes, length);
+        }
+    }
+
+    /**
+     * Desconecta a todos los clientes y cierra el socket.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        selector.wakeup();
+        try {
+            selectorThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Dirección en la que escucha (con el puerto real si se pidió el 0).
+     */
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * Clientes conectados en este momento.
+     */
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * Clientes aceptados desde que se inició el servidor.
+     */
+    public long getAcceptedClients() {
+        return acceptedClients.sum();
+    }
+
+    /**
+     * Clientes desconectados por no leer a tiempo (su buffer se llenó).
+     */
+    public long getSlowClientsDisconnected() {
+        return slowClients.sum();
+    }
+
+    // --- Lado del productor ---
+
+    private void offer(Client client, byte[] bytes, int length) {
+        synchronized (client) {
+            if (client.disconnecting) {
+                return;
+            }
+            if (!client.reserve(length, maxClientBuffer)) {
+                client.disconnecting = true;
+                clients.remove(client);
+                slowClients.increment();
+                schedule(client);
+                return;
+            }
+            client.output.put(bytes, 0, length);
+        }
+        schedule(client);
+    }
+
+    /**
+     * Encola el cliente para el hilo del selector. Solo el primero que encola desde la última vuelta
+     * del selector lo despierta, así una ráfaga de eventos cuesta una llamada al sistema y no una por evento.
+     */
+    private void schedule(Client client) {
+        if (client.scheduled.compareAndSet(false, true)) {
+            pending.add(client);
+            if (wakeupPending.compareAndSet(false, true)) {
+                selector.wakeup();
+            }
+        }
+    }
+
+    // --- Hilo del selector ---
+
+    private void selectLoop() {
+        try {
+            while (!closed) {
+                selector.select();
+                wakeupPending.set(false);
+                Client client;
+                while ((client = pending.poll()) != null) {
+                    client.scheduled.set(false);
+                    if (client.key.isValid()) {
+                        if (client.disconnecting) {
+                            disconnect(client);
+                        } else {
+                            write(client);
+                        }
+                    }
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Client selected = (Client) key.attachment();
+                    if (key.isReadable()) {
+                        read(selected);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        write(selected);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            System.err.println("LogStreamServer: stopping after error: " + e.getMessage());
+        } finally {
+            shutdown();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        if (clients.size() >= maxClients) {
+            channel.close();
+            return;
+        }
+        channel.configureBlocking(false);
+        Client client = new Client(channel);
+        client.key = channel.register(selector, SelectionKey.OP_READ, client);
+        clients.add(client);
+        acceptedClients.increment();
+    }
+
+    private void read(Client client) {
+        try {
+            int read = client.channel.read(client.input);
+            if (read < 0) {
+                disconnect(client);
+                return;
+            }
+            ByteBuffer input = client.input;
+            int start = 0;
+            for (int i = 0; i < input.position(); i++) {
+                if (input.get(i) == NEW_LINE) {
+                    String line = new String(input.array(), start, i - start, StandardCharsets.UTF_8).trim();
+                    if (!line.isEmpty()) {
+                        reply(client, applyFilter(client, line));
+                    }
+                    start = i + 1;
+                }
+            }
+            input.flip().position(start);
+            input.compact();
+            if (!input.hasRemaining()) {
+                reply(client, "# filter line too long");
+                input.clear();
+            }
+        } catch (IOException e) {
+            disconnect(client);
+        }
+    }
+
+    /**
+     * Envía lo pendiente del cliente. El buffer que llenan los productores se intercambia por el que
+     * ya se terminó de enviar, así la escritura al socket se hace sin tener el monitor del cliente.
+     */
+    private void write(Client client) {
+        try {
+            ByteBuffer sending = client.sending;
+            if (!sending.hasRemaining()) {
+                synchronized (client) {
+                    sending = client.swapBuffers();
+                }
+            }
+            if (sending.hasRemaining()) {
+                client.channel.write(sending);
+            }
+            boolean drained;
+            synchronized (client) {
+                client.inFlight = sending.remaining();
+                drained = client.inFlight == 0 && client.output.position() == 0;
+            }
+            // OP_WRITE solo mientras queden datos: el socket casi siempre tiene lugar
+            int interest = drained ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+            if (client.key.interestOps() != interest) {
+                client.key.interestOps(interest);
+            }
+        } catch (IOException e) {
+            disconnect(client);
+        }
+    }
+
+    private void reply(Client client, String message) {
+        byte[] bytes = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        offer(client, bytes, bytes.length);
+    }
+
+    /**
+     * Interpreta una línea {@code level=NIVEL categories=a,b}; las claves omitidas vuelven al valor por defecto.
+     *
+     * @return Confirmación o error para el cliente
+     */
+    private static String applyFilter(Client client, String line) {
+        LogLevel level = LogLevel.TRACE;
+        Set<String> categories = null;
+        for (String token : line.split("\\s+")) {
+            int separator = token.indexOf('=');
+            if (separator <= 0) {
+                return "# invalid filter token: " + token;
+            }
+            String key = token.substring(0, separator);
+            String value = token.substring(separator + 1);
+            if ("level".equals(key)) {
+                try {
+                    level = LogLevel.valueOf(value.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    return "# unknown level: " + value;
+                }
+            } else if ("categories".equals(key)) {
+                categories = new HashSet<>();
+                for (String name : value.split(",")) {
+                    if (!name.isEmpty()) {
+                        categories.add(name);
+                    }
+                }
+                categories = Collections.unmodifiableSet(categories);
+            } else {
+                return "# unknown filter key: " + key;
+            }
+        }
+        client.setFilter(level, categories);
+        return "# filter level=" + level + " categories=" + (categories == null ? "*"
+                : String.join(",", categories.stream().sorted().toArray(String[]::new)));
+    }
+
+    private void disconnect(Client client) {
+        synchronized (client) {
+            client.disconnecting = true;
+        }
+        clients.remove(client);
+        client.key.cancel();
+        try {
+            client.channel.close();
+        } catch (IOException e) {
+            // El cliente ya no está: nada que hacer
+        }
+    }
+
+    private void shutdown() {
+        for (Client client : clients) {
+            disconnect(client);
+        }
+        try {
+            selector.close();
+            serverChannel.close();
+            if (socketFile != null) {
+                Files.deleteIfExists(socketFile);
+            }
+        } catch (IOException e) {
+            System.err.println("LogStreamServer: error closing " + address + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Estado de un cliente conectado. El buffer de salida se protege con el monitor del cliente;
+     * el filtro se reemplaza completo para que el productor lo lea sin bloquear.
+     */
+    private static final class Client {
+        final SocketChannel channel;
+        final ByteBuffer input = ByteBuffer.allocate(MAX_FILTER_LINE);
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        SelectionKey key;
+        /** Lo que escriben los productores. */
+        ByteBuffer output = ByteBuffer.allocate(INITIAL_CLIENT_BUFFER);
+        /** Lo que está enviando el hilo del selector (en modo lectura); solo él lo toca. */
+        ByteBuffer sending = ByteBuffer.allocate(INITIAL_CLIENT_BUFFER).flip();
+        /** Bytes de {@link #sending} sin enviar, para que los productores respeten el máximo. */
+        int inFlight;
+        boolean disconnecting;
+        private volatile int minLevel = LogLevel.TRACE.ordinal();
+        /** Nombres de categoría aceptados; null acepta todas. */
+        private volatile Set<String> categories;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        boolean accepts(LogLevel level, LogCategory category) {
+            Set<String> allowed = categories;
+            return level.ordinal() >= minLevel && (allowed == null || allowed.contains(category.getName()));
+        }
+
+        void setFilter(LogLevel level, Set<String> categories) {
+            this.categories = categories;
+            this.minLevel = level.ordinal();
+        }
+
+        /**
+         * Garantiza lugar para {@code length} bytes agrandando el buffer hasta {@code max}.
+         *
+         * @return false si no entran sin superar el máximo
+         */
+        boolean reserve(int length, int max) {
+            int required = output.position() + length;
+            if (required + inFlight > max) {
+                return false;
+            }
+            if (output.remaining() >= length) {
+                return true;
+            }
+            ByteBuffer larger = ByteBuffer.allocate(Math.min(max, Math.max(required, output.capacity() * 2)));
+            output.flip();
+            larger.put(output);
+            output = larger;
+            return true;
+        }
+
+        /**
+         * Pasa lo escrito por los productores a {@link #sending} y les devuelve el buffer ya enviado.
+         */
+        ByteBuffer swapBuffers() {
+            ByteBuffer filled = output;
+            output = sending.clear();
+            sending = filled.flip();
+            return sending;
+        }
+    }
+
+    /**
+     * Builder para configurar el servidor.
+     */
+    public static final class Builder {
+        private SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), DEFAULT_PORT);
+        private Path socketFile;
+        private int maxClientBuffer = 256 * 1024;
+        private int maxClients = 64;
+
+        private Builder() {
+        }
+
+        /**
+         * Puerto TCP en la interfaz de loopback (0 elige uno libre).
+         */
+        public Builder port(int port) {
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException("Invalid port: " + port);
+            }
+            this.address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+            this.socketFile = null;
+            return this;
+        }
+
+        /**
+         * Escucha en un socket Unix en lugar de TCP (requiere Java 16 o superior).
+         * El archivo se borra al cerrar el servidor.
+         */
+        public Builder unixSocket(Path file) {
+            try {
+                Class<?> type = Class.forName("java.net.UnixDomainSocketAddress");
+                this.address = (SocketAddress) type.getMethod("of", Path.class).invoke(null, file);
+            } catch (ReflectiveOperationException e) {
+                throw new UnsupportedOperationException("Unix domain sockets require Java 16 or later", e);
+            }
+            this.socketFile = file;
+            return this;
+        }
+
+        /**
+         * Bytes pendientes de envío por cliente a partir de los cuales se lo desconecta.
+         */
+        public Builder maxClientBuffer(int maxClientBuffer) {
+            this.maxClientBuffer = maxClientBuffer;
+            return this;
+        }
+
+        /**
+         * Clientes simultáneos; las conexiones que superan el límite se cierran al aceptarlas.
+         */
+        public Builder maxClients(int maxClients) {
+            this.maxClients = maxClients;
+            return this;
+        }
+
+        public LogStreamServer build() throws IOException {
+            if (maxClientBuffer < INITIAL_CLIENT_BUFFER) {
+                throw new IllegalArgumentException("Max client buffer must be at least " + INITIAL_CLIENT_BUFFER + " bytes");
+            }
+            if (maxClients < 1) {
+                throw new IllegalArgumentException("Max clients must be at least 1");
+            }
+            return new LogStreamServer(this);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package util.logging;
+
+import util.Logger;
+import util.Logger.LogLevel;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita cuántas veces se registra un mensaje repetitivo: muestreo probabilístico seguido
+ * de un token bucket, por sitio de llamada (una instancia por mensaje) o por clave.
+ * <p>
+ * El bucket se implementa como GCRA sobre un único {@link AtomicLong} con el instante teórico
+ * de la siguiente llegada: rechazar es solo una lectura, y las escrituras están acotadas por la
+ * tasa configurada, así que una ráfaga de muchos hilos no compite por la línea de caché.
+ * Los eventos suprimidos se cuentan con un {@link LongAdder} y se informan periódicamente
+ * con una línea de resumen en el Logger, hasta {@link #close()} o hasta que el throttle deja de
+ * ser alcanzable (la tarea periódica solo lo referencia de forma débil).
+ * <pre>
+ * if (logger.isEnabled(LogLevel.WARN, category) &amp;&amp; THROTTLE.tryAcquire()) {
+ *     logger.log(LogLevel.WARN, category, ...);
+ * }
+ * </pre>
+ */
+public final class LogThrottle implements AutoCloseable {
+
+    private static final int MAX_KEYS = 1024;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static volatile ScheduledExecutorService reporter;
+
+    private final String name;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final double sampleRate;
+    private final long summaryIntervalMillis;
+    private final LogLevel summaryLevel;
+    private final LogCategory summaryCategory;
+
+    private final AtomicLong theoreticalArrival;
+    private final ConcurrentHashMap<Object, AtomicLong> keyedArrivals = new ConcurrentHashMap<>();
+    private final LongAdder suppressedSinceSummary = new LongAdder();
+    private final LongAdder suppressedTotal = new LongAdder();
+    private final ErrorReporter errors = new ErrorReporter("LogThrottle");
+    private volatile ScheduledFuture<?> summaryTask;
+
+    private LogThrottle(Builder builder) {
+        this.name = builder.name;
+        this.intervalNanos = Math.max(1, (long) (NANOS_PER_SECOND / builder.ratePerSecond));
+        this.toleranceNanos = intervalNanos * (builder.burst - 1);
+        this.sampleRate = builder.sampleRate;
+        this.summaryIntervalMillis = builder.summaryIntervalMillis;
+        this.summaryLevel = builder.summaryLevel;
+        this.summaryCategory = builder.summaryCategory;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Indica si el evento debe registrarse, usando el bucket común del throttle.
+     * Si devuelve false el evento se cuenta como suprimido.
+     */
+    public boolean tryAcquire() {
+        return admit(theoreticalArrival);
+    }
+
+    /**
+     * Igual que {@link #tryAcquire()} pero con un bucket propio por clave (por ejemplo el tipo
+     * de entidad), para que una clave ruidosa no silencie a las demás. Las claves deben ser
+     * valores estables como Strings o enums; pasadas las primeras {@value #MAX_KEYS} se usa el bucket común.
+     */
+    public boolean tryAcquire(Object key) {
+        if (key == null) {
+            return admit(theoreticalArrival);
+        }
+        AtomicLong arrival = keyedArrivals.get(key);
+        if (arrival == null) {
+            if (keyedArrivals.size() >= MAX_KEYS) {
+                return admit(theoreticalArrival);
+            }
+            arrival = keyedArrivals.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+        }
+        return admit(arrival);
+    }
+
+    /**
+     * Eventos suprimidos desde que se creó el throttle.
+     */
+    public long getSuppressedCount() {
+        return suppressedTotal.sum();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Detiene el resumen periódico e informa los eventos suprimidos que quedaban sin informar.
+     */
+    @Override
+    public void close() {
+        ScheduledFuture<?> task = summaryTask;
+        if (task != null) {
+            task.cancel(false);
+            summaryTask = null;
+            reportSuppressed();
+        }
+    }
+
+    private boolean admit(AtomicLong arrival) {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return suppress();
+        }
+        while (true) {
+            long now = System.nanoTime();
+            long expected = arrival.get();
+            long base = expected - now > 0 ? expected : now;
+            if (base - now > toleranceNanos) {
+                return suppress();
+            }
+            if (arrival.compareAndSet(expected, base + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean suppress() {
+        suppressedSinceSummary.increment();
+        suppressedTotal.increment();
+        return false;
+    }
+
+    private void reportSuppressed() {
+        long suppressed = suppressedSinceSummary.sumThenReset();
+        if (suppressed == 0) {
+            return;
+        }
+        try {
+            Logger.getInstance().log(summaryLevel, summaryCategory, "Suppressed {} similar {} in last {}s ({})",
+                    suppressed, noun(summaryLevel), summaryIntervalMillis / 1000, name);
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría los resúmenes siguientes de este throttle
+            errors.report("could not log summary for " + name, e);
+        }
+    }
+
+    private static String noun(LogLevel level) {
+        if (level == LogLevel.WARN) {
+            return "warnings";
+        }
+        if (level == LogLevel.ERROR) {
+            return "errors";
+        }
+        return "messages";
+    }
+
+    /**
+     * Tarea del resumen periódico. Referencia al throttle de forma débil para que uno que nadie cierra
+     * no quede vivo (y programado) para siempre; cuando se recolecta, la tarea se cancela sola.
+     */
+    private static final class SummaryTask implements Runnable {
+        private final WeakReference<LogThrottle> throttle;
+        private volatile ScheduledFuture<?> future;
+
+        private SummaryTask(LogThrottle throttle) {
+            this.throttle = new WeakReference<>(throttle);
+        }
+
+        @Override
+        public void run() {
+            LogThrottle current = throttle.get();
+            if (current != null) {
+                current.reportSuppressed();
+            } else if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private static ScheduledExecutorService reporter() {
+        ScheduledExecutorService executor = reporter;
+        if (executor == null) {
+            synchronized (LogThrottle.class) {
+                executor = reporter;
+                if (executor == null) {
+                    executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "logger-throttle-summary");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    reporter = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Builder para configurar el throttle.
+     */
+    public static final class Builder {
+        private final String name;
+        private double ratePerSecond = 10;
+        private int burst = 10;
+        private double sampleRate = 1.0;
+        private long summaryIntervalMillis = 10_000L;
+        private LogLevel summaryLevel = LogLevel.WARN;
+        private LogCategory summaryCategory = LogCategory.GENERAL;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Eventos por segundo que se dejan pasar de forma sostenida.
+         */
+        public Builder ratePerSecond(double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+            return this;
+        }
+
+        /**
+         * Eventos que pueden pasar seguidos tras un período tranquilo.
+         */
+        public Builder burst(int burst) {
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Fracción de eventos (entre 0 y 1) que se conservan al azar antes de aplicar el bucket.
+         */
+        public Builder sampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Cada cuánto se registra la línea de resumen de eventos suprimidos.
+         */
+        public Builder summaryInterval(long duration, TimeUnit unit) {
+            this.summaryIntervalMillis = unit.toMillis(duration);
+            return this;
+        }
+
+        /**
+         * Nivel y categoría de la línea de resumen.
+         */
+        public Builder summaryAt(LogLevel level, LogCategory category) {
+            this.summaryLevel = level;
+            this.summaryCategory = category;
+            return this;
+        }
+
+        public LogThrottle build() {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Throttle name cannot be empty");
+            }
+            if (!(ratePerSecond > 0)) {
+                throw new IllegalArgumentException("Rate must be positive");
+            }
+            if (burst < 1) {
+                throw new IllegalArgumentException("Burst must be at least 1");
+            }
+            if (!(sampleRate > 0 && sampleRate <= 1)) {
+                throw new IllegalArgumentException("Sample rate must be in (0, 1]");
+            }
+            if (summaryIntervalMillis < 1000) {
+                throw new IllegalArgumentException("Summary interval must be at least one second");
+            }
+            if (summaryLevel == null || summaryLevel == LogLevel.OFF || summaryCategory == null) {
+                throw new IllegalArgumentException("Invalid summary level or category");
+            }
+            LogThrottle throttle = new LogThrottle(this);
+            SummaryTask task = new SummaryTask(throttle);
+            task.future = reporter().scheduleAtFixedRate(task,
+                    summaryIntervalMillis, summaryIntervalMillis, TimeUnit.MILLISECONDS);
+            throttle.summaryTask = task.future;
+            return throttle;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package util.logging;
+
+import util.Logger;
+import util.Logger.LogLevel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuración inicial del Logger leída de un archivo de propiedades. Se carga una sola vez,
+ * al crearse la instancia en el primer {@link Logger#getInstance()}, y se busca en este orden:
+ * <ol>
+ *     <li>el archivo de la propiedad de sistema {@code logger.config}</li>
+ *     <li>{@code logger.properties} en el directorio de trabajo</li>
+ *     <li>{@code logger.properties} en el classpath</li>
+ * </ol>
+ * Sin archivo se usan los valores por defecto. Claves reconocidas:
+ * <pre>
+ * logger.level=INFO                     # umbral raíz
+ * logger.level.student=DEBUG            # umbral de una categoría
+ * logger.console=true
+ * logger.garbageFree=false
+ * logger.stackTraceWindowSeconds=60
+ * logger.async=false
+ * logger.async.bufferSize=8192
+ * logger.async.waitStrategy=PARK
+ * logger.async.overflowPolicy=DROP_BELOW_WARN
+ * logger.jmx=true                       # registrar LoggerMetrics en el servidor JMX
+ * </pre>
+ * Un valor inválido se informa por {@code System.err} y se ignora: un error de configuración
+ * no impide loguear.
+ */
+public final class LoggerConfig {
+
+    /** Propiedad de sistema con la ruta del archivo de configuración. */
+    public static final String CONFIG_PROPERTY = "logger.config";
+    /** Nombre del archivo buscado en el directorio de trabajo y en el classpath. */
+    public static final String DEFAULT_FILE = "logger.properties";
+
+    private static final String PREFIX = "logger.";
+    private static final String LEVEL_PREFIX = "logger.level.";
+
+    private final Properties properties;
+    private final String source;
+
+    private LoggerConfig(Properties properties, String source) {
+        this.properties = properties;
+        this.source = source;
+    }
+
+    /**
+     * Busca y lee el archivo de configuración.
+     */
+    public static LoggerConfig load() {
+        String configured = System.getProperty(CONFIG_PROPERTY);
+        if (configured != null) {
+            return fromFile(Path.of(configured));
+        }
+        Path local = Path.of(DEFAULT_FILE);
+        if (Files.isRegularFile(local)) {
+            return fromFile(local);
+        }
+        try (InputStream in = LoggerConfig.class.getClassLoader().getResourceAsStream(DEFAULT_FILE)) {
+            if (in != null) {
+                Properties properties = new Properties();
+                properties.load(in);
+                return new LoggerConfig(properties, "classpath:" + DEFAULT_FILE);
+            }
+        } catch (IOException e) {
+            System.err.println("LoggerConfig: could not read classpath:" + DEFAULT_FILE + ": " + e.getMessage());
+        }
+        return defaults();
+    }
+
+    /**
+     * Configuración sin archivo: todos los valores por defecto.
+     */
+    public static LoggerConfig defaults() {
+        return new LoggerConfig(new Properties(), "defaults");
+    }
+
+    /**
+     * Configuración a partir de propiedades ya cargadas.
+     */
+    public static LoggerConfig of(Properties properties) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return new LoggerConfig(copy, "properties");
+    }
+
+    private static LoggerConfig fromFile(Path file) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            System.err.println("LoggerConfig: could not read " + file + ", using defaults: " + e.getMessage());
+            return defaults();
+        }
+        return new LoggerConfig(properties, file.toString());
+    }
+
+    /**
+     * De dónde se leyó la configuración (ruta, recurso del classpath o {@code "defaults"}).
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Si se debe registrar {@link LoggerMetrics} como MBean (true por defecto).
+     */
+    public boolean isJmxEnabled() {
+        return booleanValue("logger.jmx", true);
+    }
+
+    /**
+     * Aplica la configuración al Logger.
+     */
+    public void applyTo(Logger logger) {
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.startsWith(PREFIX)) {
+                continue;
+            }
+            if (key.startsWith(LEVEL_PREFIX)) {
+                LogLevel level = enumValue(key, LogLevel.class, null);
+                if (level != null) {
+                    logger.setLevel(key.substring(LEVEL_PREFIX.length()), level);
+                }
+            } else if (!isKnownKey(key)) {
+                System.err.println("LoggerConfig: unknown key " + key + " in " + source);
+            }
+        }
+        LogLevel root = enumValue("logger.level", LogLevel.class, null);
+        if (root != null) {
+            logger.setLevel(root);
+        }
+        logger.setConsoleOutput(booleanValue("logger.console", true));
+        logger.setGarbageFree(booleanValue("logger.garbageFree", false));
+        String window = properties.getProperty("logger.stackTraceWindowSeconds");
+        if (window != null) {
+            long seconds = longValue("logger.stackTraceWindowSeconds", -1);
+            if (seconds >= 0) {
+                logger.setStackTraceWindow(seconds, TimeUnit.SECONDS);
+            }
+        }
+        if (booleanValue("logger.async", false)) {
+            int bufferSize = (int) longValue("logger.async.bufferSize", 8192);
+            WaitStrategy waitStrategy = enumValue("logger.async.waitStrategy", WaitStrategy.class, WaitStrategy.PARK);
+            OverflowPolicy overflowPolicy = enumValue("logger.async.overflowPolicy", OverflowPolicy.class,
+                    OverflowPolicy.DROP_BELOW_WARN);
+            try {
+                logger.enableAsync(bufferSize, waitStrategy, overflowPolicy);
+            } catch (IllegalArgumentException e) {
+                System.err.println("LoggerConfig: async mode not enabled: " + e.getMessage());
+            }
+        }
+    }
+
+    private static boolean isKnownKey(String key) {
+        switch (key) {
+            case "logger.level":
+            case "logger.console":
+            case "logger.garbageFree":
+            case "logger.stackTraceWindowSeconds":
+            case "logger.async":
+            case "logger.async.bufferSize":
+            case "logger.async.waitStrategy":
+            case "logger.async.overflowPolicy":
+            case "logger.jmx":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean booleanValue(String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        value = value.trim();
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        invalid(key, value);
+        return defaultValue;
+    }
+
+    private long longValue(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            invalid(key, value);
+            return defaultValue;
+        }
+    }
+
+    private <E extends Enum<E>> E enumValue(String key, Class<E> type, E defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            invalid(key, value);
+            return defaultValue;
+        }
+    }
+
+    private void invalid(String key, String value) {
+        System.err.println("LoggerConfig: invalid value '" + value + "' for " + key + " in " + source);
+    }
+}
@@ -0,0 +1,194 @@
+package util.logging;
+
+import util.Logger.LogLevel;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Métricas del Logger: eventos por nivel y por categoría, descartes, profundidad de la cola
+ * asíncrona e histogramas de latencia.
+ * <p>
+ * Todo se registra con contadores striped ({@link LongAdder}), por lo que registrar desde muchos
+ * hilos no genera contención. Las latencias de encolado y de escritura se miden sobre una muestra
+ * de 1 de cada {@value #SAMPLE_RATE} eventos para no pagar {@link System#nanoTime()} en cada llamada.
+ */
+public final class LoggerMetrics implements LoggerMetricsMXBean {
+
+    public static final String OBJECT_NAME = "util.logging:type=LoggerMetrics";
+
+    /** Marca de un evento que no fue elegido para medir latencias. */
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private static final int SAMPLE_RATE = 64;
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private final LongAdder[] eventsByLevel = new LongAdder[LEVELS.length];
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LatencyHistogram enqueueLatency = new LatencyHistogram();
+    private final LatencyHistogram sinkLatency = new LatencyHistogram();
+
+    private final BooleanSupplier async;
+    private final IntSupplier queueDepth;
+    private final IntSupplier queueCapacity;
+    private final Supplier<List<ListenerSubscription>> subscriptions;
+
+    /**
+     * @param async         Si el Logger está en modo asíncrono
+     * @param queueDepth    Eventos pendientes en el ring buffer
+     * @param queueCapacity Capacidad del ring buffer
+     * @param subscriptions Suscripciones de listeners activas
+     */
+    public LoggerMetrics(BooleanSupplier async, IntSupplier queueDepth, IntSupplier queueCapacity,
+                         Supplier<List<ListenerSubscription>> subscriptions) {
+        for (int i = 0; i < eventsByLevel.length; i++) {
+            eventsByLevel[i] = new LongAdder();
+        }
+        this.async = async;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.subscriptions = subscriptions;
+    }
+
+    /**
+     * Registra este objeto en el MBeanServer de la plataforma. Si falla solo se informa por consola.
+     */
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("LoggerMetrics: could not register MBean: " + e.getMessage());
+        }
+    }
+
+    // --- Registro (camino caliente) ---
+
+    /**
+     * Decide si el evento se usa para medir latencias.
+     *
+     * @return {@link System#nanoTime()} si el evento fue elegido, {@link #NOT_SAMPLED} si no
+     */
+    public long startTimer() {
+        if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    public void recordEvent(LogLevel level, LogCategory category) {
+        eventsByLevel[level.ordinal()].increment();
+        category.recordEvent();
+    }
+
+    public void recordDropped() {
+        droppedEvents.increment();
+    }
+
+    /**
+     * Registra el tiempo que el llamador pasó en la llamada, si el evento fue elegido.
+     */
+    public void recordEnqueued(long startNanos) {
+        if (startNanos != NOT_SAMPLED) {
+            enqueueLatency.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Registra el tiempo hasta que el evento quedó escrito, si fue elegido.
+     */
+    public void recordProcessed(LogEvent event) {
+        long startNanos = event.getStartNanos();
+        if (startNanos != NOT_SAMPLED) {
+            sinkLatency.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    // --- Lectura ---
+
+    /**
+     * Copia de todas las métricas en este instante.
+     */
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(getEventsByLevel(), getEventsByCategory(), getDroppedEvents(),
+                isAsync(), getQueueDepth(), getQueueCapacity(), getEnqueueLatency(), getSinkLatency(),
+                getListenerLatency(), getListenerLag());
+    }
+
+    @Override
+    public Map<String, Long> getEventsByLevel() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (LogLevel level : LEVELS) {
+            if (level != LogLevel.OFF) {
+                counts.put(level.name(), eventsByLevel[level.ordinal()].sum());
+            }
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public Map<String, Long> getEventsByCategory() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (LogCategory category : LogCategory.all()) {
+            counts.put(category.getName(), category.getEventCount());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    @Override
+    public boolean isAsync() {
+        return async.getAsBoolean();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.getAsInt();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueCapacity.getAsInt();
+    }
+
+    @Override
+    public HistogramSnapshot getEnqueueLatency() {
+        return enqueueLatency.snapshot();
+    }
+
+    @Override
+    public HistogramSnapshot getSinkLatency() {
+        return sinkLatency.snapshot();
+    }
+
+    @Override
+    public Map<String, HistogramSnapshot> getListenerLatency() {
+        Map<String, HistogramSnapshot> latencies = new LinkedHashMap<>();
+        for (ListenerSubscription subscription : subscriptions.get()) {
+            latencies.put(subscription.getName(), subscription.getDeliveryLatency());
+        }
+        return Collections.unmodifiableMap(latencies);
+    }
+
+    @Override
+    public Map<String, Integer> getListenerLag() {
+        Map<String, Integer> lag = new LinkedHashMap<>();
+        for (ListenerSubscription subscription : subscriptions.get()) {
+            lag.put(subscription.getName(), subscription.getLag());
+        }
+        return Collections.unmodifiableMap(lag);
+    }
+}
@@ -0,0 +1,38 @@
+package util.logging;
+
+import java.util.Map;
+
+/**
+ * Métricas del Logger expuestas por JMX bajo {@value LoggerMetrics#OBJECT_NAME}.
+ * Las latencias están en nanosegundos.
+ */
+public interface LoggerMetricsMXBean {
+
+    /** Eventos registrados por nivel. */
+    Map<String, Long> getEventsByLevel();
+
+    /** Eventos registrados por categoría. */
+    Map<String, Long> getEventsByCategory();
+
+    /** Eventos descartados por la política de desborde del modo asíncrono. */
+    long getDroppedEvents();
+
+    boolean isAsync();
+
+    /** Eventos pendientes en el ring buffer (0 en modo síncrono). */
+    int getQueueDepth();
+
+    int getQueueCapacity();
+
+    /** Tiempo que el llamador pasa dentro de la llamada de log. */
+    HistogramSnapshot getEnqueueLatency();
+
+    /** Tiempo desde la llamada de log hasta que el evento quedó escrito en consola y appenders. */
+    HistogramSnapshot getSinkLatency();
+
+    /** Latencia de entrega de cada listener, por nombre de suscripción. */
+    Map<String, HistogramSnapshot> getListenerLatency();
+
+    /** Mensajes pendientes de cada listener, por nombre de suscripción. */
+    Map<String, Integer> getListenerLag();
+}
@@ -0,0 +1,265 @@
+package util.logging;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appender que codifica cada línea en UTF-8 (en un arreglo reutilizado) y la copia a una región
+ * de archivo mapeada en memoria ({@link MappedByteBuffer}). Escribir un registro es copiar bytes a memoria:
+ * no hay syscall por registro. Cuando la región se llena se pasa a un nuevo segmento.
+ * <p>
+ * Durabilidad:
+ * <ul>
+ *   <li>Lo escrito ya está en la caché de páginas del sistema operativo y sobrevive a la caída del proceso.</li>
+ *   <li>{@link #force()} sincroniza la región con el disco (msync) y sobrevive a la caída del sistema.</li>
+ *   <li>Con {@code forceOnFlush} cada {@link #flush()} también fuerza a disco.</li>
+ * </ul>
+ * Los segmentos se preasignan con ceros; al cerrarlos se intenta recortarlos a su tamaño real
+ * (en algunos sistemas no es posible mientras siguen mapeados, por lo que un lector debe
+ * detenerse en el primer byte {@code 0}).
+ */
+public final class MappedFileAppender implements LogAppender {
+
+    private static final byte NEW_LINE = '\n';
+    private static final String SEGMENT_FORMAT = "%s-%05d.log";
+
+    private final Path directory;
+    private final String baseName;
+    private final int segmentSize;
+    private final boolean forceOnFlush;
+
+    private byte[] scratch = new byte[512];
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private Path currentSegment;
+    private int segmentIndex;
+    private long segmentsRolled;
+    private boolean closed;
+
+    private MappedFileAppender(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.baseName = builder.baseName;
+        this.segmentSize = builder.segmentSize;
+        this.forceOnFlush = builder.forceOnFlush;
+        Files.createDirectories(directory);
+        this.segmentIndex = findLastSegmentIndex();
+        openNextSegment();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public synchronized void append(LogEvent event, CharSequence line) {
+        if (closed) {
+            return;
+        }
+        try {
+            if (!encodeRecord(line, false)) {
+                roll();
+                encodeRecord(line, true);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Con {@code forceOnFlush} fuerza la región a disco; si no, no hace nada porque
+     * los bytes escritos ya están en la caché de páginas.
+     */
+    @Override
+    public synchronized void flush() {
+        if (forceOnFlush && !closed) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Sincroniza la región mapeada con el dispositivo de almacenamiento.
+     */
+    public synchronized void force() {
+        if (!closed) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    /**
+     * Equivale a {@link #force()}: cada llamada sincroniza la región por separado.
+     */
+    @Override
+    public synchronized boolean awaitDurable() {
+        if (closed) {
+            return false;
+        }
+        buffer.force();
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            closeSegment();
+        } catch (IOException e) {
+            System.err.println("MappedFileAppender: error closing " + currentSegment + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized Path getCurrentSegment() {
+        return currentSegment;
+    }
+
+    public synchronized long getSegmentsRolled() {
+        return segmentsRolled;
+    }
+
+    /**
+     * Codifica la línea y un salto de línea en la región actual.
+     *
+     * @param truncate Si la línea no entra, escribir la parte que quepa en lugar de fallar
+     * @return false si la línea no entra y {@code truncate} es false
+     */
+    private boolean encodeRecord(CharSequence line, boolean truncate) {
+        int required = Utf8.maxEncodedLength(line) + 1;
+        if (scratch.length < required) {
+            scratch = new byte[Math.max(required, scratch.length * 2)];
+        }
+        int length = Utf8.encode(line, scratch, 0, scratch.length);
+        scratch[length++] = NEW_LINE;
+        if (length > buffer.remaining()) {
+            if (!truncate) {
+                return false;
+            }
+            // Se corta en un límite de carácter: sin bytes de continuación UTF-8 antes del salto de línea
+            length = buffer.remaining();
+            while (length > 1 && (scratch[length - 1] & 0xC0) == 0x80) {
+                length--;
+            }
+            scratch[length - 1] = NEW_LINE;
+        }
+        buffer.put(scratch, 0, length);
+        return true;
+    }
+
+    private void roll() throws IOException {
+        closeSegment();
+        openNextSegment();
+        segmentsRolled++;
+    }
+
+    private void openNextSegment() throws IOException {
+        segmentIndex++;
+        currentSegment = directory.resolve(String.format(SEGMENT_FORMAT, baseName, segmentIndex));
+        channel = FileChannel.open(currentSegment,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private void closeSegment() throws IOException {
+        int used = buffer.position();
+        if (forceOnFlush) {
+            buffer.force();
+        }
+        try {
+            channel.truncate(used);
+        } catch (IOException e) {
+            // Algunos sistemas no permiten recortar un archivo mapeado: queda con relleno de ceros
+        }
+        channel.close();
+    }
+
+    private int findLastSegmentIndex() throws IOException {
+        int last = 0;
+        String prefix = baseName + "-";
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*.log")) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                String number = name.substring(prefix.length(), name.length() - ".log".length());
+                try {
+                    last = Math.max(last, Integer.parseInt(number));
+                } catch (NumberFormatException e) {
+                    // No es un segmento de este appender
+                }
+            }
+        }
+        return last;
+    }
+
+    private void fail(IOException e) {
+        System.err.println("MappedFileAppender: disabling after I/O error on " + currentSegment + ": " + e.getMessage());
+        closed = true;
+        try {
+            // close() ya no lo hará: se libera el descriptor y se recorta el relleno de ceros
+            closeSegment();
+        } catch (IOException | UncheckedIOException closeError) {
+            // El error original ya se informó
+        }
+    }
+
+    /**
+     * Builder para configurar el appender.
+     */
+    public static final class Builder {
+        private static final int MIN_SEGMENT_SIZE = 4 * 1024;
+
+        private Path directory = Path.of("logs");
+        private String baseName = "app";
+        private int segmentSize = 64 * 1024 * 1024;
+        private boolean forceOnFlush;
+
+        private Builder() {
+        }
+
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public Builder baseName(String baseName) {
+            this.baseName = baseName;
+            return this;
+        }
+
+        /**
+         * Tamaño en bytes de cada segmento mapeado.
+         */
+        public Builder segmentSize(int segmentSize) {
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Si cada {@link MappedFileAppender#flush()} debe forzar los datos a disco.
+         */
+        public Builder forceOnFlush(boolean forceOnFlush) {
+            this.forceOnFlush = forceOnFlush;
+            return this;
+        }
+
+        public MappedFileAppender build() throws IOException {
+            if (segmentSize < MIN_SEGMENT_SIZE) {
+                throw new IllegalArgumentException("Segment size must be at least " + MIN_SEGMENT_SIZE + " bytes");
+            }
+            if (baseName == null || baseName.isBlank()) {
+                throw new IllegalArgumentException("Base name cannot be empty");
+            }
+            return new MappedFileAppender(this);
+        }
+    }
+}
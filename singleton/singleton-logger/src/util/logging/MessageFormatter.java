@@ -0,0 +1,73 @@
+package util.logging;
+
+/**
+ * Formateador de mensajes con marcadores {@code {}}.
+ * Cada {@code {}} se reemplaza por el siguiente argumento; {@code \{}} produce un {@code {}} literal.
+ * Los marcadores sin argumento se mantienen tal cual y los argumentos sobrantes se ignoran.
+ */
+public final class MessageFormatter {
+
+    private static final char ESCAPE = '\\';
+
+    private MessageFormatter() {
+        // Clase de utilidad: evita instanciación
+    }
+
+    /**
+     * Formatea el patrón con los primeros {@code count} argumentos.
+     */
+    public static String format(String pattern, Object[] args, int count) {
+        if (pattern.indexOf('{') < 0) {
+            return pattern;
+        }
+        // Aun sin argumentos hay que recorrerlo: "\{}" queda como "{}", igual que en formatTo
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * count);
+        formatTo(builder, pattern, args, count);
+        return builder.toString();
+    }
+
+    /**
+     * Formatea el patrón agregando el resultado al {@link StringBuilder} indicado.
+     */
+    public static void formatTo(StringBuilder builder, String pattern, Object[] args, int count) {
+        int length = pattern.length();
+        int start = 0;
+        int argIndex = 0;
+        while (start < length) {
+            int placeholder = pattern.indexOf("{}", start);
+            if (placeholder < 0) {
+                break;
+            }
+            if (placeholder > 0 && pattern.charAt(placeholder - 1) == ESCAPE) {
+                builder.append(pattern, start, placeholder - 1).append("{}");
+            } else if (argIndex < count) {
+                builder.append(pattern, start, placeholder);
+                appendArgument(builder, args[argIndex++]);
+            } else {
+                builder.append(pattern, start, placeholder + 2);
+            }
+            start = placeholder + 2;
+        }
+        builder.append(pattern, start, length);
+    }
+
+    /**
+     * Agrega un argumento como {@link String#valueOf(Object)}, pero sin crear el String
+     * intermedio para textos y números enteros.
+     */
+    static void appendArgument(StringBuilder builder, Object arg) {
+        if (arg instanceof String) {
+            builder.append((String) arg);
+        } else if (arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+            builder.append(((Number) arg).intValue());
+        } else if (arg instanceof Long) {
+            builder.append(((Long) arg).longValue());
+        } else if (arg instanceof Boolean) {
+            builder.append(((Boolean) arg).booleanValue());
+        } else if (arg instanceof Character) {
+            builder.append(((Character) arg).charValue());
+        } else {
+            builder.append(arg);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package util.logging;
+
+import java.util.Map;
+
+/**
+ * Copia inmutable de {@link LoggerMetrics} tomada con {@link LoggerMetrics#snapshot()}.
+ * Las latencias están en nanosegundos.
+ */
+public final class MetricsSnapshot {
+
+    private final Map<String, Long> eventsByLevel;
+    private final Map<String, Long> eventsByCategory;
+    private final long droppedEvents;
+    private final boolean async;
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final HistogramSnapshot enqueueLatency;
+    private final HistogramSnapshot sinkLatency;
+    private final Map<String, HistogramSnapshot> listenerLatency;
+    private final Map<String, Integer> listenerLag;
+
+    MetricsSnapshot(Map<String, Long> eventsByLevel, Map<String, Long> eventsByCategory, long droppedEvents,
+                    boolean async, int queueDepth, int queueCapacity, HistogramSnapshot enqueueLatency,
+                    HistogramSnapshot sinkLatency, Map<String, HistogramSnapshot> listenerLatency,
+                    Map<String, Integer> listenerLag) {
+        this.eventsByLevel = eventsByLevel;
+        this.eventsByCategory = eventsByCategory;
+        this.droppedEvents = droppedEvents;
+        this.async = async;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.enqueueLatency = enqueueLatency;
+        this.sinkLatency = sinkLatency;
+        this.listenerLatency = listenerLatency;
+        this.listenerLag = listenerLag;
+    }
+
+    public Map<String, Long> getEventsByLevel() {
+        return eventsByLevel;
+    }
+
+    public Map<String, Long> getEventsByCategory() {
+        return eventsByCategory;
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public HistogramSnapshot getEnqueueLatency() {
+        return enqueueLatency;
+    }
+
+    public HistogramSnapshot getSinkLatency() {
+        return sinkLatency;
+    }
+
+    public Map<String, HistogramSnapshot> getListenerLatency() {
+        return listenerLatency;
+    }
+
+    public Map<String, Integer> getListenerLag() {
+        return listenerLag;
+    }
+}
@@ -0,0 +1,32 @@
+package util.logging;
+
+import util.Logger.LogLevel;
+
+/**
+ * Política a aplicar cuando el ring buffer del modo asíncrono está lleno.
+ */
+public enum OverflowPolicy {
+
+    /** El productor espera hasta que haya espacio. No se pierden eventos. */
+    BLOCK,
+
+    /** El evento se descarta y se contabiliza. El productor nunca espera. */
+    DROP,
+
+    /** Se descartan los eventos por debajo de WARN; WARN y ERROR esperan espacio. */
+    DROP_BELOW_WARN;
+
+    /**
+     * Indica si un evento del nivel dado debe descartarse con el buffer lleno.
+     */
+    public boolean shouldDrop(LogLevel level) {
+        switch (this) {
+            case DROP:
+                return true;
+            case DROP_BELOW_WARN:
+                return level.compareTo(LogLevel.WARN) < 0;
+            default:
+                return false;
+        }
+    }
+}
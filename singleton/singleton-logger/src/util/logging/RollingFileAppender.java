@@ -0,0 +1,377 @@
+package util.logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Appender de archivo con rotación por tamaño y/o por tiempo.
+ * <p>
+ * Cada segmento se escribe con un nombre definitivo ({@code app-00001.log}, {@code app-00002.log}, ...),
+ * por lo que rotar solo implica cerrar el archivo actual y abrir el siguiente: el hilo que loguea
+ * nunca renombra ni comprime. Los segmentos terminados se comprimen a {@code .log.gz} en un hilo
+ * de baja prioridad, que además borra los más antiguos para no superar {@code maxRetainedFiles}.
+ * La escritura y la rotación ocurren bajo el monitor del appender, así que es seguro usarlo
+ * desde muchos hilos a la vez.
+ */
+public final class RollingFileAppender implements LogAppender {
+
+    private static final byte NEW_LINE = '\n';
+    private static final String SEGMENT_FORMAT = "%s-%05d.log";
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private final Path directory;
+    private final String baseName;
+    private final long maxFileSize;
+    private final ChronoUnit rolloverUnit;
+    private final int maxRetainedFiles;
+    private final boolean compress;
+    private final ExecutorService archiver;
+
+    private final byte[] buffer;
+    private byte[] scratch = new byte[512];
+    private int buffered;
+    private OutputStream out;
+    private Path currentFile;
+    private long currentSize;
+    private long nextRolloverMillis;
+    private int fileIndex;
+    private boolean closed;
+
+    private RollingFileAppender(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.baseName = builder.baseName;
+        this.maxFileSize = builder.maxFileSize;
+        this.rolloverUnit = builder.rolloverUnit;
+        this.maxRetainedFiles = builder.maxRetainedFiles;
+        this.compress = builder.compress;
+        this.buffer = new byte[builder.bufferSize];
+        this.archiver = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "logger-archiver");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        Files.createDirectories(directory);
+        this.fileIndex = findLastIndex();
+        openNextFile(System.currentTimeMillis());
+        // Archivos de ejecuciones anteriores que hayan quedado sin comprimir
+        archiver.execute(this::archivePending);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public synchronized void append(LogEvent event, CharSequence line) {
+        if (closed) {
+            return;
+        }
+        try {
+            long timestamp = event.getTimestamp();
+            if (timestamp >= nextRolloverMillis || currentSize >= maxFileSize) {
+                roll(timestamp);
+            }
+            int required = Utf8.maxEncodedLength(line) + 1;
+            if (scratch.length < required) {
+                scratch = new byte[Math.max(required, scratch.length * 2)];
+            }
+            int length = Utf8.encode(line, scratch, 0, scratch.length);
+            scratch[length++] = NEW_LINE;
+            write(scratch, length);
+            currentSize += length;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            flushBuffer();
+            out.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Cierra el archivo actual y espera a que terminen las compresiones pendientes.
+     */
+    @Override
+    public void close() {
+        Path last;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            last = currentFile;
+            try {
+                flushBuffer();
+                out.close();
+            } catch (IOException e) {
+                System.err.println("RollingFileAppender: error closing " + last + ": " + e.getMessage());
+            }
+        }
+        archiver.shutdown();
+        try {
+            archiver.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public synchronized Path getCurrentFile() {
+        return currentFile;
+    }
+
+    private void write(byte[] bytes, int length) throws IOException {
+        if (length > buffer.length - buffered) {
+            flushBuffer();
+            if (length > buffer.length) {
+                out.write(bytes, 0, length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, buffered, length);
+        buffered += length;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (buffered > 0) {
+            out.write(buffer, 0, buffered);
+            buffered = 0;
+        }
+    }
+
+    private void roll(long timestamp) throws IOException {
+        flushBuffer();
+        out.close();
+        Path finished = currentFile;
+        openNextFile(timestamp);
+        archiver.execute(() -> archive(finished));
+    }
+
+    private void openNextFile(long timestamp) throws IOException {
+        fileIndex++;
+        currentFile = directory.resolve(String.format(SEGMENT_FORMAT, baseName, fileIndex));
+        out = Files.newOutputStream(currentFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        currentSize = 0;
+        nextRolloverMillis = computeNextRollover(timestamp);
+    }
+
+    private long computeNextRollover(long timestamp) {
+        if (rolloverUnit == null) {
+            return Long.MAX_VALUE;
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), zone)
+                .truncatedTo(rolloverUnit)
+                .plus(1, rolloverUnit)
+                .atZone(zone)
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    // --- Hilo de archivado ---
+
+    private void archive(Path finished) {
+        if (compress) {
+            gzip(finished);
+        }
+        enforceRetention();
+    }
+
+    private void archivePending() {
+        if (compress) {
+            for (Path path : listSegments()) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(".log") && !path.equals(getCurrentFile())) {
+                    gzip(path);
+                }
+            }
+        }
+        enforceRetention();
+    }
+
+    private void gzip(Path source) {
+        if (!Files.exists(source)) {
+            return;
+        }
+        Path target = source.resolveSibling(source.getFileName() + GZIP_SUFFIX);
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream gz = new GZIPOutputStream(Files.newOutputStream(target), 64 * 1024)) {
+            in.transferTo(gz);
+        } catch (IOException e) {
+            System.err.println("RollingFileAppender: could not compress " + source + ": " + e.getMessage());
+            return;
+        }
+        try {
+            Files.delete(source);
+        } catch (IOException e) {
+            System.err.println("RollingFileAppender: could not delete " + source + ": " + e.getMessage());
+        }
+    }
+
+    private void enforceRetention() {
+        List<Path> segments = listSegments();
+        Path current = getCurrentFile();
+        int excess = segments.size() - maxRetainedFiles;
+        for (int i = 0; i < segments.size() && excess > 0; i++) {
+            Path path = segments.get(i);
+            if (path.equals(current)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(path);
+                excess--;
+            } catch (IOException e) {
+                System.err.println("RollingFileAppender: could not delete " + path + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Segmentos de este appender (comprimidos o no) ordenados del más antiguo al más nuevo.
+     */
+    private List<Path> listSegments() {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, baseName + "-*.log*")) {
+            for (Path path : stream) {
+                if (indexOf(path) > 0) {
+                    segments.add(path);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("RollingFileAppender: could not list " + directory + ": " + e.getMessage());
+        }
+        segments.sort((a, b) -> Integer.compare(indexOf(a), indexOf(b)));
+        return segments;
+    }
+
+    private int findLastIndex() {
+        int last = 0;
+        for (Path path : listSegments()) {
+            last = Math.max(last, indexOf(path));
+        }
+        return last;
+    }
+
+    private int indexOf(Path path) {
+        String name = path.getFileName().toString();
+        String prefix = baseName + "-";
+        int end = name.indexOf(".log");
+        if (!name.startsWith(prefix) || end < 0) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(prefix.length(), end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void fail(IOException e) {
+        System.err.println("RollingFileAppender: disabling after I/O error on " + currentFile + ": " + e.getMessage());
+        closed = true;
+    }
+
+    /**
+     * Builder para configurar el appender.
+     */
+    public static final class Builder {
+        private Path directory = Path.of("logs");
+        private String baseName = "app";
+        private long maxFileSize = 10L * 1024 * 1024;
+        private ChronoUnit rolloverUnit;
+        private int maxRetainedFiles = 10;
+        private boolean compress = true;
+        private int bufferSize = 64 * 1024;
+
+        private Builder() {
+        }
+
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public Builder baseName(String baseName) {
+            this.baseName = baseName;
+            return this;
+        }
+
+        /**
+         * Tamaño a partir del cual se rota al siguiente archivo.
+         */
+        public Builder maxFileSize(long maxFileSize) {
+            this.maxFileSize = maxFileSize;
+            return this;
+        }
+
+        /**
+         * Rotar además en cada frontera de tiempo (por ejemplo {@link ChronoUnit#HOURS} o {@link ChronoUnit#DAYS}).
+         */
+        public Builder rolloverEvery(ChronoUnit rolloverUnit) {
+            this.rolloverUnit = rolloverUnit;
+            return this;
+        }
+
+        /**
+         * Cantidad máxima de archivos conservados, incluyendo el actual y los comprimidos.
+         */
+        public Builder maxRetainedFiles(int maxRetainedFiles) {
+            this.maxRetainedFiles = maxRetainedFiles;
+            return this;
+        }
+
+        public Builder compress(boolean compress) {
+            this.compress = compress;
+            return this;
+        }
+
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public RollingFileAppender build() throws IOException {
+            if (maxFileSize <= 0) {
+                throw new IllegalArgumentException("Max file size must be positive");
+            }
+            if (maxRetainedFiles < 1) {
+                throw new IllegalArgumentException("At least one file must be retained");
+            }
+            if (bufferSize < 1024) {
+                throw new IllegalArgumentException("Buffer size must be at least 1024 bytes");
+            }
+            if (rolloverUnit != null && rolloverUnit.compareTo(ChronoUnit.DAYS) > 0) {
+                throw new IllegalArgumentException("Rollover unit must be DAYS or shorter: " + rolloverUnit);
+            }
+            if (baseName == null || baseName.isBlank()) {
+                throw new IllegalArgumentException("Base name cannot be empty");
+            }
+            return new RollingFileAppender(this);
+        }
+    }
+}
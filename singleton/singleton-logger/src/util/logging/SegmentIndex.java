@@ -0,0 +1,236 @@
+package util.logging;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Índice disperso de un archivo binario: una entrada por bloque con lo necesario para descartar
+ * el bloque entero sin leerlo.
+ * <pre>
+ * "SIDX" versión:byte
+ * offset:int64  largo:int32  minNanos:int64  maxNanos:int64  niveles:byte  eventos:int32  n:int16  bloom:int64 × n
+ * </pre>
+ * {@code niveles} tiene un bit por {@link util.Logger.LogLevel#ordinal()} presente en el bloque, y
+ * {@code bloom} es un filtro de Bloom de los identificadores de entidad (~10 bits por evento con entidad,
+ * {@value #HASHES} funciones: ~1 % de falsos positivos). Las entradas se agregan al cerrarse cada bloque;
+ * una entrada truncada al final (caída del proceso) se ignora y su bloque se lee sin índice.
+ */
+final class SegmentIndex {
+
+    static final byte[] MAGIC = {'S', 'I', 'D', 'X'};
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = MAGIC.length + 1;
+
+    private static final int HASHES = 7;
+    private static final int BITS_PER_ENTITY = 10;
+    private static final int MAX_BLOOM_WORDS = 1024;
+
+    private SegmentIndex() {
+        // Clase de utilidad: evita instanciación
+    }
+
+    /**
+     * Lee las entradas completas del índice de un archivo, o una lista vacía si no tiene índice.
+     */
+    static List<Entry> read(Path indexFile) throws IOException {
+        if (!Files.exists(indexFile)) {
+            return Collections.emptyList();
+        }
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                return Collections.emptyList();
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(indexFile + ": index too large to map");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException(indexFile + ": not a segment index");
+            }
+            int version = buffer.get();
+            if (version != VERSION) {
+                throw new IOException(indexFile + ": unsupported index version " + version);
+            }
+            List<Entry> entries = new ArrayList<>();
+            while (buffer.hasRemaining()) {
+                try {
+                    entries.add(readEntry(buffer));
+                } catch (BufferUnderflowException e) {
+                    break;
+                }
+            }
+            return entries;
+        }
+    }
+
+    private static Entry readEntry(ByteBuffer buffer) {
+        long offset = buffer.getLong();
+        int length = buffer.getInt();
+        long minNanos = buffer.getLong();
+        long maxNanos = buffer.getLong();
+        int levels = buffer.get() & 0xFF;
+        int events = buffer.getInt();
+        long[] bloom = new long[buffer.getShort() & 0xFFFF];
+        for (int i = 0; i < bloom.length; i++) {
+            bloom[i] = buffer.getLong();
+        }
+        return new Entry(offset, length, minNanos, maxNanos, levels, events, bloom);
+    }
+
+    static void writeHeader(DataOutputStream out) throws IOException {
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    /**
+     * Hash de 64 bits de un identificador (FNV-1a sobre los caracteres con mezcla final).
+     */
+    static long hash(CharSequence text) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            h ^= text.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static boolean mightContain(long[] bloom, long hash) {
+        if (bloom.length == 0) {
+            return false;
+        }
+        long bits = bloom.length * 64L;
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void add(long[] bloom, long hash) {
+        long bits = bloom.length * 64L;
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Entrada de un bloque leída del índice.
+     */
+    static final class Entry {
+        final long offset;
+        final int length;
+        final long minNanos;
+        final long maxNanos;
+        final int levels;
+        final int events;
+        private final long[] bloom;
+
+        Entry(long offset, int length, long minNanos, long maxNanos, int levels, int events, long[] bloom) {
+            this.offset = offset;
+            this.length = length;
+            this.minNanos = minNanos;
+            this.maxNanos = maxNanos;
+            this.levels = levels;
+            this.events = events;
+            this.bloom = bloom;
+        }
+
+        /**
+         * Si el bloque puede tener eventos con la entidad de ese hash (puede dar falsos positivos).
+         */
+        boolean mightContainEntity(long hash) {
+            return mightContain(bloom, hash);
+        }
+    }
+
+    /**
+     * Acumula los datos del bloque que se está escribiendo. Lo usa {@link BinaryLogAppender} bajo su monitor.
+     */
+    static final class BlockStats {
+        private long offset;
+        private long minNanos;
+        private long maxNanos;
+        private int levels;
+        private int events;
+        private long[] entityHashes = new long[256];
+        private int entities;
+
+        void start(long offset) {
+            this.offset = offset;
+            minNanos = Long.MAX_VALUE;
+            maxNanos = Long.MIN_VALUE;
+            levels = 0;
+            events = 0;
+            entities = 0;
+        }
+
+        long offset() {
+            return offset;
+        }
+
+        int events() {
+            return events;
+        }
+
+        void record(int level, long epochNanos, String entityId) {
+            minNanos = Math.min(minNanos, epochNanos);
+            maxNanos = Math.max(maxNanos, epochNanos);
+            levels |= 1 << level;
+            events++;
+            if (entityId != null) {
+                if (entities == entityHashes.length) {
+                    entityHashes = Arrays.copyOf(entityHashes, entities * 2);
+                }
+                entityHashes[entities++] = hash(entityId);
+            }
+        }
+
+        /**
+         * Escribe la entrada del bloque, que termina en {@code endOffset}.
+         */
+        void writeEntry(DataOutputStream out, long endOffset) throws IOException {
+            int words = 0;
+            if (entities > 0) {
+                words = (int) Math.min(MAX_BLOOM_WORDS, ((long) entities * BITS_PER_ENTITY + 63) / 64);
+            }
+            long[] bloom = new long[words];
+            for (int i = 0; i < entities; i++) {
+                add(bloom, entityHashes[i]);
+            }
+            out.writeLong(offset);
+            out.writeInt((int) (endOffset - offset));
+            out.writeLong(minNanos);
+            out.writeLong(maxNanos);
+            out.writeByte(levels);
+            out.writeInt(events);
+            out.writeShort(words);
+            for (long word : bloom) {
+                out.writeLong(word);
+            }
+        }
+    }
+}
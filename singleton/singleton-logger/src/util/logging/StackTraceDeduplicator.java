@@ -0,0 +1,136 @@
+package util.logging;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Convierte excepciones en texto evitando repetir trazas idénticas.
+ * <p>
+ * Cada traza se identifica por una huella calculada sobre las clases de la excepción y sus causas
+ * y sobre sus frames (clase, método y línea), sin incluir el mensaje. La primera aparición de una
+ * huella dentro de la ventana se escribe completa, etiquetada con la huella; las siguientes se
+ * reducen a una línea que la referencia con un contador. Al vencer la ventana se vuelve a escribir
+ * completa. Es thread-safe.
+ */
+public final class StackTraceDeduplicator {
+
+    /** Ventana por defecto: un minuto. */
+    public static final long DEFAULT_WINDOW_MILLIS = 60_000L;
+
+    private static final int MAX_FINGERPRINTS = 1024;
+    private static final int MAX_CAUSE_DEPTH = 32;
+
+    private final Map<Long, Occurrence> occurrences = new ConcurrentHashMap<>();
+    private volatile long windowMillis = DEFAULT_WINDOW_MILLIS;
+
+    /**
+     * Cambia la ventana de deduplicación. Con 0 todas las trazas se escriben completas.
+     */
+    public void setWindowMillis(long windowMillis) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("Window cannot be negative");
+        }
+        this.windowMillis = windowMillis;
+        occurrences.clear();
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Texto de la excepción para un evento con el timestamp indicado: la traza completa
+     * o, si se repite dentro de la ventana, una única línea con la referencia y el contador.
+     */
+    public String render(Throwable thrown, long timestamp) {
+        long window = windowMillis;
+        if (window == 0) {
+            return fullTrace(thrown, null, 0);
+        }
+        long fingerprint = fingerprint(thrown);
+        Occurrence occurrence = occurrences.get(fingerprint);
+        if (occurrence == null) {
+            if (occurrences.size() >= MAX_FINGERPRINTS) {
+                evictExpired(timestamp, window);
+            }
+            occurrence = occurrences.computeIfAbsent(fingerprint, key -> new Occurrence());
+        }
+        long repeats;
+        long firstSeen;
+        synchronized (occurrence) {
+            if (occurrence.count > 0 && timestamp - occurrence.firstSeen < window) {
+                repeats = ++occurrence.count - 1;
+                firstSeen = occurrence.firstSeen;
+            } else {
+                // Primera aparición o ventana vencida: se informa cuántas repeticiones se omitieron
+                repeats = -Math.max(0, occurrence.count - 1);
+                occurrence.firstSeen = timestamp;
+                occurrence.count = 1;
+                firstSeen = timestamp;
+            }
+        }
+        if (repeats > 0) {
+            return thrown + " [repeated trace " + toId(fingerprint) + ", " + repeats
+                    + (repeats == 1 ? " time" : " times") + " since " + TimestampFormatter.format(firstSeen) + "]";
+        }
+        return fullTrace(thrown, toId(fingerprint), -repeats);
+    }
+
+    /**
+     * Huella de la traza: clases de la excepción y sus causas y cada frame, sin los mensajes.
+     */
+    public static long fingerprint(Throwable thrown) {
+        long hash = 1125899906842597L;
+        Throwable current = thrown;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            hash = 31 * hash + current.getClass().getName().hashCode();
+            for (StackTraceElement frame : current.getStackTrace()) {
+                hash = 31 * hash + frame.getClassName().hashCode();
+                hash = 31 * hash + frame.getMethodName().hashCode();
+                hash = 31 * hash + frame.getLineNumber();
+            }
+            current = current.getCause();
+        }
+        return hash;
+    }
+
+    private static String toId(long fingerprint) {
+        return Long.toHexString(fingerprint);
+    }
+
+    private static String fullTrace(Throwable thrown, String id, long omitted) {
+        StringWriter writer = new StringWriter(1024);
+        thrown.printStackTrace(new PrintWriter(writer));
+        String trace = writer.toString().stripTrailing();
+        if (id == null) {
+            return trace;
+        }
+        // La etiqueta va al final de la primera línea, la del toString de la excepción
+        int firstLineEnd = trace.indexOf(System.lineSeparator());
+        if (firstLineEnd < 0) {
+            firstLineEnd = trace.length();
+        }
+        String tag = omitted > 0
+                ? " [trace " + id + ", repeated " + omitted + (omitted == 1 ? " time" : " times") + " in the previous window]"
+                : " [trace " + id + "]";
+        return trace.substring(0, firstLineEnd) + tag + trace.substring(firstLineEnd);
+    }
+
+    private void evictExpired(long now, long window) {
+        occurrences.entrySet().removeIf(entry -> {
+            synchronized (entry.getValue()) {
+                return now - entry.getValue().firstSeen >= window;
+            }
+        });
+        if (occurrences.size() >= MAX_FINGERPRINTS) {
+            occurrences.clear();
+        }
+    }
+
+    private static final class Occurrence {
+        private long firstSeen;
+        private long count;
+    }
+}
@@ -0,0 +1,61 @@
+package util.logging;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Versión sin asignaciones de {@link TimestampFormatter} para un único hilo.
+ * <p>
+ * Guarda el último segundo formateado en un {@code char[]}: dentro del mismo segundo solo se copia,
+ * al cambiar de segundo se reescriben los dos dígitos finales y solo al cambiar de minuto se vuelve
+ * a calcular la fecha con la zona horaria del sistema (un puñado de objetos por minuto).
+ */
+public final class TimestampCache {
+
+    private static final int LENGTH = "yyyy-MM-dd HH:mm:ss".length();
+    private static final int SECONDS_OFFSET = LENGTH - 2;
+
+    private final char[] chars = new char[LENGTH];
+    private long cachedSecond = Long.MIN_VALUE;
+    private long minuteStartSecond = Long.MIN_VALUE;
+
+    /**
+     * Agrega el timestamp formateado ({@code yyyy-MM-dd HH:mm:ss}) al builder.
+     */
+    public void formatTo(long epochMillis, StringBuilder out) {
+        long second = Math.floorDiv(epochMillis, 1000L);
+        if (second != cachedSecond) {
+            update(second);
+        }
+        out.append(chars, 0, LENGTH);
+    }
+
+    private void update(long second) {
+        long secondOfMinute = second - minuteStartSecond;
+        if (secondOfMinute < 0 || secondOfMinute >= 60) {
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault());
+            writeDigits(0, 4, time.getYear());
+            chars[4] = '-';
+            writeDigits(5, 2, time.getMonthValue());
+            chars[7] = '-';
+            writeDigits(8, 2, time.getDayOfMonth());
+            chars[10] = ' ';
+            writeDigits(11, 2, time.getHour());
+            chars[13] = ':';
+            writeDigits(14, 2, time.getMinute());
+            chars[16] = ':';
+            minuteStartSecond = second - time.getSecond();
+            secondOfMinute = time.getSecond();
+        }
+        writeDigits(SECONDS_OFFSET, 2, (int) secondOfMinute);
+        cachedSecond = second;
+    }
+
+    private void writeDigits(int offset, int width, int value) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
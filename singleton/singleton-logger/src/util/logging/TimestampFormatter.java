@@ -0,0 +1,73 @@
+package util.logging;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Formato de los timestamps de las líneas de log ({@code yyyy-MM-dd HH:mm:ss}, zona horaria del sistema).
+ * Los dígitos se escriben a mano: el {@link DateTimeFormatter} solo se crea si se usa {@link #parse(String)},
+ * porque construirlo agrega decenas de milisegundos al primer mensaje de la aplicación.
+ */
+public final class TimestampFormatter {
+
+    private static final int LENGTH = "yyyy-MM-dd HH:mm:ss".length();
+
+    private TimestampFormatter() {
+        // Clase de utilidad: evita instanciación
+    }
+
+    /**
+     * Formatea un timestamp en milisegundos desde epoch.
+     */
+    public static String format(long epochMillis) {
+        return format(Instant.ofEpochMilli(epochMillis));
+    }
+
+    public static String format(Instant instant) {
+        LocalDateTime time = LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        char[] chars = new char[LENGTH];
+        writeDigits(chars, 0, 4, time.getYear());
+        chars[4] = '-';
+        writeDigits(chars, 5, 2, time.getMonthValue());
+        chars[7] = '-';
+        writeDigits(chars, 8, 2, time.getDayOfMonth());
+        chars[10] = ' ';
+        writeDigits(chars, 11, 2, time.getHour());
+        chars[13] = ':';
+        writeDigits(chars, 14, 2, time.getMinute());
+        chars[16] = ':';
+        writeDigits(chars, 17, 2, time.getSecond());
+        return new String(chars);
+    }
+
+    private static void writeDigits(char[] chars, int offset, int width, int value) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Interpreta un timestamp con el mismo formato (los segundos se pueden omitir).
+     *
+     * @throws IllegalArgumentException si el texto no tiene el formato esperado
+     */
+    public static Instant parse(String text) {
+        String value = text.trim();
+        if (value.length() == "yyyy-MM-dd HH:mm".length()) {
+            value += ":00";
+        }
+        try {
+            return LocalDateTime.parse(value, Parser.FORMATTER).atZone(ZoneId.systemDefault()).toInstant();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid timestamp '" + text + "', expected yyyy-MM-dd HH:mm:ss");
+        }
+    }
+
+    private static final class Parser {
+        static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    }
+}
@@ -0,0 +1,71 @@
+package util.logging;
+
+/**
+ * Codificación UTF-8 directa de {@link CharSequence} a un arreglo de bytes, sin objetos intermedios.
+ * Los surrogates sin pareja se reemplazan por {@code '?'}.
+ */
+public final class Utf8 {
+
+    private static final byte REPLACEMENT = '?';
+
+    private Utf8() {
+        // Clase de utilidad: evita instanciación
+    }
+
+    /**
+     * Cota superior de bytes necesarios para codificar el texto.
+     */
+    public static int maxEncodedLength(CharSequence text) {
+        return text.length() * 3;
+    }
+
+    /**
+     * Codifica {@code text} en {@code buffer} a partir de {@code position} sin superar {@code limit}.
+     *
+     * @return La posición siguiente al último byte escrito si todo entró; si no entró,
+     *         {@code -(p + 1)} donde {@code p} es la posición tras el último carácter completo
+     */
+    public static int encode(CharSequence text, byte[] buffer, int position, int limit) {
+        int pos = position;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (pos >= limit) {
+                    return -(pos + 1);
+                }
+                buffer[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                if (pos + 2 > limit) {
+                    return -(pos + 1);
+                }
+                buffer[pos++] = (byte) (0xC0 | (c >> 6));
+                buffer[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    if (pos + 4 > limit) {
+                        return -(pos + 1);
+                    }
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    buffer[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    buffer[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buffer[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buffer[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    if (pos >= limit) {
+                        return -(pos + 1);
+                    }
+                    buffer[pos++] = REPLACEMENT;
+                }
+            } else {
+                if (pos + 3 > limit) {
+                    return -(pos + 1);
+                }
+                buffer[pos++] = (byte) (0xE0 | (c >> 12));
+                buffer[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,51 @@
+package util.logging;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Estrategias de espera cuando el ring buffer está vacío (consumidor) o lleno (productores).
+ */
+public enum WaitStrategy {
+
+    /** Espera activa: menor latencia, ocupa un núcleo completo. */
+    SPIN {
+        @Override
+        public void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+
+    /** Espera activa breve y luego cede el procesador. */
+    YIELD {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+
+    /** Espera activa breve y luego duerme unos microsegundos: menor consumo de CPU. */
+    PARK {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = 50_000L;
+
+    /**
+     * Espera un instante antes del siguiente intento.
+     *
+     * @param attempt Número de intentos consecutivos sin progreso
+     */
+    public abstract void idle(int attempt);
+}